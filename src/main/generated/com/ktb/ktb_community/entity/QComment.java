@@ -28,8 +28,18 @@ public class QComment extends EntityPathBase<Comment> {
 
     public final DateTimePath<java.sql.Timestamp> createdAt = createDateTime("createdAt", java.sql.Timestamp.class);
 
+    public final DateTimePath<java.sql.Timestamp> deletedAt = createDateTime("deletedAt", java.sql.Timestamp.class);
+
+    public final NumberPath<Integer> lastReplySeq = createNumber("lastReplySeq", Integer.class);
+
     public final QPost post;
 
+    public final NumberPath<Integer> replyCount = createNumber("replyCount", Integer.class);
+
+    public final NumberPath<Integer> replySeq = createNumber("replySeq", Integer.class);
+
+    public final NumberPath<Long> rootId = createNumber("rootId", Long.class);
+
     public final DateTimePath<java.sql.Timestamp> updatedAt = createDateTime("updatedAt", java.sql.Timestamp.class);
 
     public final QUser user;
@@ -22,12 +22,18 @@ public class QPost extends EntityPathBase<Post> {
 
     public static final QPost post = new QPost("post");
 
-    public final StringPath content = createString("content");
+    public final NumberPath<Integer> commentCount = createNumber("commentCount", Integer.class);
 
     public final DateTimePath<java.sql.Timestamp> createdAt = createDateTime("createdAt", java.sql.Timestamp.class);
 
+    public final DateTimePath<java.sql.Timestamp> deletedAt = createDateTime("deletedAt", java.sql.Timestamp.class);
+
+    public final NumberPath<Integer> likeCount = createNumber("likeCount", Integer.class);
+
     public final NumberPath<Long> postId = createNumber("postId", Long.class);
 
+    public final StringPath preview = createString("preview");
+
     public final StringPath title = createString("title");
 
     public final DateTimePath<java.sql.Timestamp> updatedAt = createDateTime("updatedAt", java.sql.Timestamp.class);
@@ -0,0 +1,55 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.common.cache.CommentPageCache;
+import com.ktb.ktb_community.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//스레드 도입 전 댓글은 root_id 가 null 이라 (post_id, root_id, reply_seq) 순서의 댓글 목록에서 빠짐
+//기동 시 root_id = comment_id 로 보정 (이미 보정됐으면 대상 없음, 여러 노드가 동시에 실행해도 결과가 같음)
+@Slf4j
+@Component
+public class CommentRootIdBackfill {
+
+    private final CommentRepository commentRepository;
+    private final CommentPageCache commentPageCache;
+    private final int batchSize;
+
+    public CommentRootIdBackfill(CommentRepository commentRepository,
+                                 CommentPageCache commentPageCache,
+                                 @Value("${comment.root-id-backfill.batch-size:1000}") int batchSize) {
+        this.commentRepository = commentRepository;
+        this.commentPageCache = commentPageCache;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+
+        try {
+            List<Long> postIds = commentRepository.findPostIdsWithoutRootId();
+            if (postIds.isEmpty()) {
+                return;
+            }
+
+            long total = 0;
+            int updated;
+            do {
+                updated = commentRepository.backfillRootIds(batchSize);
+                total += updated;
+            } while (updated == batchSize);
+
+            //보정 전에 적재된 댓글 페이지에는 기존 댓글이 빠져 있음
+            postIds.forEach(commentPageCache::evict);
+            log.info("comment root id backfilled: comments={}, posts={}", total, postIds.size());
+        } catch (DataAccessException e) {
+            log.error("comment root id backfill failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ktb.ktb_community.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+//게시글마다 JobInstance 가 하나씩 생기므로 끝난 인스턴스의 BATCH_* 메타데이터를 주기적으로 삭제
+//완료된 인스턴스는 다시 실행되지 않으므로 (재시작 대상은 FAILED, STOPPED 뿐) 지워도 안전
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobMetadataRetention {
+
+    //실행 중인 실행이 없고, 완료된 실행이 있으며, 마지막 실행이 completedBefore 이전에 끝난 인스턴스
+    private static final String COMPLETED_INSTANCE_IDS = """
+            select i.JOB_INSTANCE_ID
+            from BATCH_JOB_INSTANCE i
+            join BATCH_JOB_EXECUTION e on e.JOB_INSTANCE_ID = i.JOB_INSTANCE_ID
+            where i.JOB_NAME = ?
+            group by i.JOB_INSTANCE_ID
+            having sum(case when e.STATUS = 'COMPLETED' then 1 else 0 end) > 0
+               and sum(case when e.END_TIME is null then 1 else 0 end) = 0
+               and max(e.END_TIME) < ?
+            order by i.JOB_INSTANCE_ID
+            limit ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+
+    //한 번에 limit 개까지 삭제하고 삭제한 인스턴스 수 반환
+    public int purgeCompletedInstances(String jobName, LocalDateTime completedBefore, int limit) {
+        List<Long> instanceIds = jdbcTemplate.queryForList(
+                COMPLETED_INSTANCE_IDS, Long.class, jobName, Timestamp.valueOf(completedBefore), limit);
+
+        int purged = 0;
+        for (Long instanceId : instanceIds) {
+            JobInstance instance = jobExplorer.getJobInstance(instanceId);
+            if (instance == null) {
+                continue;
+            }
+            //하나가 실패해도 나머지는 계속 삭제
+            try {
+                jobRepository.deleteJobInstance(instance);
+                purged++;
+            } catch (Exception e) {
+                log.warn("job instance purge failed: job={}, instanceId={}, error={}", jobName, instanceId, e.getMessage());
+            }
+        }
+        if (purged > 0) {
+            log.info("{} metadata purged: {} instances completed before {}", jobName, purged, completedBefore);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,187 @@
+package com.ktb.ktb_community.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+//삭제 요청된 게시글(post.deleted_at)의 댓글, 좋아요, 이미지 연결을 chunk 단위로 지운 뒤 게시글 행 삭제
+//jobParameters 의 postId 가 같으면 같은 JobInstance 이므로 실패, 중단된 실행은 마지막 commit 된 chunk 이후부터 재시작
+//reader 는 키 순서로 (key > 마지막 키) 페이징하므로 앞에서 지운 행 때문에 페이지가 밀리지 않음
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class PostCascadeDeleteJobConfig {
+
+    public static final String JOB_NAME = "postCascadeDeleteJob";
+    public static final String POST_ID = "postId";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    @Value("${batch.post-delete.chunk-size:500}")
+    private int chunkSize;
+
+    @Bean
+    public Job postCascadeDeleteJob() {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(postCommentDeleteStep())
+                .next(postLikeDeleteStep())
+                .next(postImageDeleteStep())
+                .next(postRowDeleteStep())
+                .build();
+    }
+
+    @Bean
+    public Step postCommentDeleteStep() {
+        return new StepBuilder("postCommentDeleteStep", jobRepository)
+                .<PostChildKey, PostChildKey>chunk(chunkSize, transactionManager)
+                .reader(postCommentKeyReader(null))
+                .writer(postCommentDeleter())
+                .listener(postCascadeDeleteProgressListener())
+                .build();
+    }
+
+    @Bean
+    public Step postLikeDeleteStep() {
+        return new StepBuilder("postLikeDeleteStep", jobRepository)
+                .<PostChildKey, PostChildKey>chunk(chunkSize, transactionManager)
+                .reader(postLikeKeyReader(null))
+                .writer(postLikeDeleter())
+                .listener(postCascadeDeleteProgressListener())
+                .build();
+    }
+
+    @Bean
+    public Step postImageDeleteStep() {
+        return new StepBuilder("postImageDeleteStep", jobRepository)
+                .<PostChildKey, PostChildKey>chunk(chunkSize, transactionManager)
+                .reader(postImageKeyReader(null))
+                .writer(postImageDeleter())
+                .listener(postCascadeDeleteProgressListener())
+                .build();
+    }
+
+    //하위 행이 모두 지워진 뒤 본문과 게시글 행 삭제 (다시 실행돼도 결과가 같음)
+    @Bean
+    public Step postRowDeleteStep() {
+        return new StepBuilder("postRowDeleteStep", jobRepository)
+                .tasklet(postRowDeleteTasklet(), transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<PostChildKey> postCommentKeyReader(
+            @Value("#{jobParameters['" + POST_ID + "']}") Long postId) {
+        return childKeyReader("postCommentKeyReader", "comment", "comment_id", postId);
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<PostChildKey> postLikeKeyReader(
+            @Value("#{jobParameters['" + POST_ID + "']}") Long postId) {
+        return childKeyReader("postLikeKeyReader", "post_like", "user_id", postId);
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<PostChildKey> postImageKeyReader(
+            @Value("#{jobParameters['" + POST_ID + "']}") Long postId) {
+        return childKeyReader("postImageKeyReader", "post_image", "image_id", postId);
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<PostChildKey> postCommentDeleter() {
+        return childDeleter("delete from comment where post_id = ? and comment_id = ?");
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<PostChildKey> postLikeDeleter() {
+        return childDeleter("delete from post_like where post_id = ? and user_id = ?");
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<PostChildKey> postImageDeleter() {
+        return childDeleter("delete from post_image where post_id = ? and image_id = ?");
+    }
+
+    @Bean
+    public Tasklet postRowDeleteTasklet() {
+        return (contribution, chunkContext) -> {
+            Long postId = chunkContext.getStepContext().getStepExecution().getJobParameters().getLong(POST_ID);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("delete from post_body where post_id = ?", postId);
+            int deleted = jdbcTemplate.update("delete from post where post_id = ? and deleted_at is not null", postId);
+            contribution.incrementWriteCount(deleted);
+            log.info("post cascade delete finished: postId={}", postId);
+            return RepeatStatus.FINISHED;
+        };
+    }
+
+    //chunk 가 commit 될 때마다 진행 상황 기록
+    @Bean
+    public ChunkListener postCascadeDeleteProgressListener() {
+        return new ChunkListener() {
+            @Override
+            public void afterChunk(ChunkContext context) {
+                StepExecution stepExecution = context.getStepContext().getStepExecution();
+                log.info("post cascade delete progress: postId={}, step={}, deleted={}, commits={}",
+                        stepExecution.getJobParameters().getLong(POST_ID),
+                        stepExecution.getStepName(),
+                        stepExecution.getWriteCount(),
+                        stepExecution.getCommitCount());
+            }
+        };
+    }
+
+    private JdbcPagingItemReader<PostChildKey> childKeyReader(String name, String table, String keyColumn, Long postId) {
+        return new JdbcPagingItemReaderBuilder<PostChildKey>()
+                .name(name)
+                .dataSource(dataSource)
+                .pageSize(chunkSize)
+                .selectClause("select post_id, " + keyColumn)
+                .fromClause("from " + table)
+                .whereClause("where post_id = :postId")
+                .parameterValues(Map.of("postId", postId))
+                .sortKeys(Map.of(keyColumn, Order.ASCENDING))
+                .rowMapper((rs, rowNum) -> new PostChildKey(rs.getLong("post_id"), rs.getLong(keyColumn)))
+                .build();
+    }
+
+    private JdbcBatchItemWriter<PostChildKey> childDeleter(String sql) {
+        return new JdbcBatchItemWriterBuilder<PostChildKey>()
+                .dataSource(dataSource)
+                .sql(sql)
+                .itemPreparedStatementSetter((key, ps) -> {
+                    ps.setLong(1, key.postId());
+                    ps.setLong(2, key.childId());
+                })
+                //재시작 시 이미 지워진 행이 있을 수 있음
+                .assertUpdates(false)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+//게시글 삭제 요청 스레드 밖에서 PostCascadeDeleteJob 실행
+//큐가 가득 차거나 실행 중 프로세스가 죽으면 PostCascadeDeleteSweeper 가 다시 실행
+@Slf4j
+@Component
+public class PostCascadeDeleteLauncher {
+
+    private final JobLauncher jobLauncher;
+    private final Job postCascadeDeleteJob;
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    public PostCascadeDeleteLauncher(JobLauncher jobLauncher,
+                                     Job postCascadeDeleteJob,
+                                     @Value("${batch.post-delete.concurrency:2}") int concurrency,
+                                     @Value("${batch.post-delete.queue-capacity:100}") int queueCapacity) {
+        this.jobLauncher = jobLauncher;
+        this.postCascadeDeleteJob = postCascadeDeleteJob;
+
+        this.taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(concurrency);
+        taskExecutor.setMaxPoolSize(concurrency);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setThreadNamePrefix("post-delete-");
+        taskExecutor.initialize();
+    }
+
+    //tombstone 이 commit 된 뒤에 실행
+    public void launchAfterCommit(Long postId) {
+        TransactionUtils.runAfterCommit(() -> launch(postId));
+    }
+
+    //job 은 요청 트랜잭션과 무관한 별도 스레드에서 실행
+    public void launch(Long postId) {
+        try {
+            taskExecutor.execute(() -> run(postId));
+        } catch (TaskRejectedException e) {
+            log.warn("post cascade delete queue is full, left to sweeper: postId={}", postId);
+        }
+    }
+
+    private void run(Long postId) {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong(PostCascadeDeleteJobConfig.POST_ID, postId)
+                .toJobParameters();
+        try {
+            jobLauncher.run(postCascadeDeleteJob, jobParameters);
+        } catch (JobExecutionAlreadyRunningException | JobInstanceAlreadyCompleteException e) {
+            log.debug("post cascade delete already running or completed: postId={}", postId);
+        } catch (Exception e) {
+            log.error("post cascade delete job failed: postId={}, {}", postId, e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskExecutor.shutdown();
+    }
+}
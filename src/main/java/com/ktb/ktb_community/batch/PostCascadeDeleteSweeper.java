@@ -0,0 +1,66 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+//삭제 요청 후 일정 시간이 지나도 남아 있는 게시글의 삭제 job 을 다시 실행
+//실패한 실행은 같은 JobInstance 로 재시작되어 이어서 삭제
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCascadeDeleteSweeper {
+
+    private final PostRepository postRepository;
+    private final StaleJobExecutionCleaner staleJobExecutionCleaner;
+    private final PostCascadeDeleteLauncher postCascadeDeleteLauncher;
+    private final JobMetadataRetention jobMetadataRetention;
+
+    //요청 직후 실행 중인 job 과 겹치지 않도록
+    @Value("${batch.post-delete.grace-minutes:10}")
+    private long graceMinutes;
+
+    //이 시간 동안 chunk commit 이 없는 실행은 프로세스가 죽은 것으로 판단
+    @Value("${batch.post-delete.stale-minutes:60}")
+    private long staleMinutes;
+
+    @Value("${batch.post-delete.sweep-size:100}")
+    private int sweepSize;
+
+    //완료된 job 메타데이터 보관 기간
+    @Value("${batch.post-delete.retention-days:7}")
+    private long retentionDays;
+
+    @Value("${batch.post-delete.purge-size:1000}")
+    private int purgeSize;
+
+    @Scheduled(fixedDelayString = "${batch.post-delete.sweep-interval-ms:600000}")
+    public void sweep() {
+        staleJobExecutionCleaner.failStaleExecutions(PostCascadeDeleteJobConfig.JOB_NAME, staleMinutes);
+
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minusMinutes(graceMinutes));
+        List<Long> postIds = postRepository.findDeletedPostIdsBefore(before, sweepSize);
+        if (!postIds.isEmpty()) {
+            log.info("post cascade delete sweep: {} posts", postIds.size());
+        }
+        postIds.forEach(postCascadeDeleteLauncher::launch);
+    }
+
+    @Scheduled(cron = "${batch.post-delete.purge-cron:0 30 4 * * *}")
+    public void purge() {
+        LocalDateTime completedBefore = LocalDateTime.now().minusDays(retentionDays);
+        //한 번에 purgeSize 개씩, 더 지울 것이 없을 때까지
+        int purged;
+        do {
+            purged = jobMetadataRetention.purgeCompletedInstances(
+                    PostCascadeDeleteJobConfig.JOB_NAME, completedBefore, purgeSize);
+        } while (purged == purgeSize);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ktb.ktb_community.batch;
+
+//삭제 대상 게시글의 하위 행 키 (comment_id, user_id, image_id)
+public record PostChildKey(
+        Long postId,
+        Long childId
+) {
+}
@@ -0,0 +1,117 @@
+package com.ktb.ktb_community.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+//post 의 like_count, comment_count 를 실제 COUNT(*) 와 비교해 어긋난 값을 보정하는 배치
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class PostCounterReconcileJobConfig {
+
+    public static final String JOB_NAME = "postCounterReconcileJob";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    @Value("${batch.post-counter.chunk-size:500}")
+    private int chunkSize;
+
+    @Bean
+    public Job postCounterReconcileJob() {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(postCounterReconcileStep())
+                .build();
+    }
+
+    @Bean
+    public Step postCounterReconcileStep() {
+        return new StepBuilder("postCounterReconcileStep", jobRepository)
+                .<PostCounterRow, PostCounterRow>chunk(chunkSize, transactionManager)
+                .reader(postCounterReader())
+                .processor(postCounterDriftFilter())
+                .writer(postCounterWriter())
+                .build();
+    }
+
+    //post_id 순서로 chunk 단위 페이징
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<PostCounterRow> postCounterReader() {
+        return new JdbcPagingItemReaderBuilder<PostCounterRow>()
+                .name("postCounterReader")
+                .dataSource(dataSource)
+                .pageSize(chunkSize)
+                .selectClause("""
+                        select p.post_id, p.like_count, p.comment_count,
+                               (select count(*) from post_like pl where pl.post_id = p.post_id) as actual_like_count,
+                               (select count(*) from comment c where c.post_id = p.post_id and c.deleted_at is null) as actual_comment_count
+                        """)
+                .fromClause("from post p")
+                .sortKeys(Map.of("post_id", Order.ASCENDING))
+                .rowMapper((rs, rowNum) -> new PostCounterRow(
+                        rs.getLong("post_id"),
+                        rs.getInt("like_count"),
+                        rs.getInt("comment_count"),
+                        rs.getInt("actual_like_count"),
+                        rs.getInt("actual_comment_count")
+                ))
+                .build();
+    }
+
+    //어긋나지 않은 행은 writer 로 넘기지 않음
+    @Bean
+    public ItemProcessor<PostCounterRow, PostCounterRow> postCounterDriftFilter() {
+        return row -> {
+            if (!row.hasDrift()) {
+                return null;
+            }
+            log.info("post counter drift: postId={}, like {} -> {}, comment {} -> {}",
+                    row.postId(), row.likeCount(), row.actualLikeCount(), row.commentCount(), row.actualCommentCount());
+            return row;
+        };
+    }
+
+    //읽은 시점의 값과 같을 때만 덮어씀 (compare-and-set)
+    //읽은 뒤 들어온 증감은 보존되고, 다음 실행에서 다시 비교
+    @Bean
+    public JdbcBatchItemWriter<PostCounterRow> postCounterWriter() {
+        return new JdbcBatchItemWriterBuilder<PostCounterRow>()
+                .dataSource(dataSource)
+                .sql("""
+                        update post
+                        set like_count = case when like_count = ? then ? else like_count end,
+                            comment_count = case when comment_count = ? then ? else comment_count end
+                        where post_id = ?
+                        """)
+                .itemPreparedStatementSetter((row, ps) -> {
+                    ps.setInt(1, row.likeCount());
+                    ps.setInt(2, row.actualLikeCount());
+                    ps.setInt(3, row.commentCount());
+                    ps.setInt(4, row.actualCommentCount());
+                    ps.setLong(5, row.postId());
+                })
+                .assertUpdates(false)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ktb.ktb_community.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconcileScheduler {
+
+    private final JobLauncher jobLauncher;
+    private final Job postCounterReconcileJob;
+
+    @Scheduled(cron = "${batch.post-counter.cron:0 0 4 * * *}")
+    public void run() {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("requestedAt", System.currentTimeMillis())
+                .toJobParameters();
+        try {
+            jobLauncher.run(postCounterReconcileJob, jobParameters);
+        } catch (Exception e) {
+            log.error("post counter reconcile job failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ktb.ktb_community.batch;
+
+//post 에 저장된 카운터와 실제 COUNT(*) 값
+public record PostCounterRow(
+        Long postId,
+        int likeCount,
+        int commentCount,
+        int actualLikeCount,
+        int actualCommentCount
+) {
+
+    public boolean hasDrift() {
+        return likeCount != actualLikeCount || commentCount != actualCommentCount;
+    }
+}
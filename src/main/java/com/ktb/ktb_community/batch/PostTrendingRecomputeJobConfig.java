@@ -0,0 +1,118 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex.TrendingSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Map;
+
+//인기 게시글 점수를 DB 카운터로 다시 계산해 랭킹을 교체
+//  - epoch 를 (실행 시각 - 랭킹 기간) 으로 옮겨 boost 가 계속 커지지 않게 함
+//  - 랭킹 기간이 지난 게시글은 빠지고, 놓친 증분 (Redis 장애, 재계산 도중 들어온 증가분) 은 카운터 값으로 보정
+//실행마다 따로 쓰는 임시 키에 chunk 단위로 기록한 뒤 마지막 step 에서 한 번에 교체
+//파라미터는 모두 non-identifying 이라 JobInstance 는 하나, 실행마다 JobExecution 만 추가됨
+//  (같은 JobInstance 에서 완료된 step 도 다시 실행되도록 allowStartIfComplete)
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class PostTrendingRecomputeJobConfig {
+
+    public static final String JOB_NAME = "postTrendingRecomputeJob";
+    public static final String EPOCH = "epoch";
+    public static final String RUN_ID = "runId";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+    private final PostTrendingIndex postTrendingIndex;
+
+    @Value("${batch.post-trending.chunk-size:500}")
+    private int chunkSize;
+
+    @Bean
+    public Job postTrendingRecomputeJob() {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(postTrendingScoreStep())
+                .next(postTrendingPublishStep())
+                .build();
+    }
+
+    @Bean
+    public Step postTrendingScoreStep() {
+        return new StepBuilder("postTrendingScoreStep", jobRepository)
+                .<TrendingSource, TrendingSource>chunk(chunkSize, transactionManager)
+                .reader(postTrendingSourceReader(null))
+                .writer(postTrendingScoreWriter(null, null))
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Step postTrendingPublishStep() {
+        return new StepBuilder("postTrendingPublishStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    JobParameters jobParameters = chunkContext.getStepContext().getStepExecution().getJobParameters();
+                    long epoch = jobParameters.getLong(EPOCH);
+                    if (postTrendingIndex.publishRebuild(epoch, jobParameters.getString(RUN_ID))) {
+                        log.info("post trending recomputed: epoch={}", epoch);
+                    } else {
+                        log.warn("post trending recompute lock lost, not published: epoch={}", epoch);
+                    }
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    //랭킹 기간 안에 작성된 게시글만 post_id 순서로 페이징
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<TrendingSource> postTrendingSourceReader(
+            @Value("#{jobParameters['" + EPOCH + "']}") Long epoch) {
+        return new JdbcPagingItemReaderBuilder<TrendingSource>()
+                .name("postTrendingSourceReader")
+                .dataSource(dataSource)
+                .pageSize(chunkSize)
+                .selectClause("select post_id, created_at, like_count, comment_count, coalesce(view_count, 0) as view_count")
+                .fromClause("from post")
+                .whereClause("where created_at >= :since and deleted_at is null")
+                .parameterValues(Map.of("since", new Timestamp(epoch)))
+                .sortKeys(Map.of("post_id", Order.ASCENDING))
+                .rowMapper((rs, rowNum) -> new TrendingSource(
+                        rs.getLong("post_id"),
+                        rs.getTimestamp("created_at").getTime(),
+                        rs.getInt("like_count"),
+                        rs.getInt("comment_count"),
+                        rs.getInt("view_count")
+                ))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public ItemWriter<TrendingSource> postTrendingScoreWriter(
+            @Value("#{jobParameters['" + EPOCH + "']}") Long epoch,
+            @Value("#{jobParameters['" + RUN_ID + "']}") String runId) {
+        return chunk -> postTrendingIndex.writeRebuild(new ArrayList<>(chunk.getItems()), epoch, runId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+//모든 노드에서 스케줄되지만 recompute lock 을 얻은 노드만 실행
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostTrendingRecomputeScheduler {
+
+    private final JobLauncher jobLauncher;
+    private final Job postTrendingRecomputeJob;
+    private final PostTrendingIndex postTrendingIndex;
+    private final StaleJobExecutionCleaner staleJobExecutionCleaner;
+
+    //이 기간 안에 작성된 게시글만 랭킹에 포함
+    @Value("${post.trending.max-age-hours:168}")
+    private long maxAgeHours;
+
+    //실행 시간보다 길게, 이 시간 안에 끝나지 않은 실행은 교체하지 못함
+    @Value("${batch.post-trending.lock-ttl-ms:300000}")
+    private long lockTtlMs;
+
+    //이 시간 동안 chunk commit 이 없는 실행은 프로세스가 죽은 것으로 판단
+    @Value("${batch.post-trending.stale-minutes:30}")
+    private long staleMinutes;
+
+    //기동 직후 한 번 실행해서 랭킹을 채움
+    @Scheduled(fixedDelayString = "${batch.post-trending.interval-ms:600000}")
+    public void run() {
+
+        Optional<String> runId;
+        try {
+            runId = postTrendingIndex.tryLockRecompute(Duration.ofMillis(lockTtlMs));
+        } catch (DataAccessException e) {
+            log.warn("post trending recompute lock failed: {}", e.getMessage());
+            return;
+        }
+        if (runId.isEmpty()) {
+            log.debug("post trending recompute is running on another node, skipped");
+            return;
+        }
+
+        //JobInstance 가 하나라서 STARTED 로 남은 실행이 있으면 다음 실행이 막힘
+        staleJobExecutionCleaner.failStaleExecutions(PostTrendingRecomputeJobConfig.JOB_NAME, staleMinutes);
+
+        long epoch = System.currentTimeMillis() - Duration.ofHours(maxAgeHours).toMillis();
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong(PostTrendingRecomputeJobConfig.EPOCH, epoch, false)
+                .addString(PostTrendingRecomputeJobConfig.RUN_ID, runId.get(), false)
+                .toJobParameters();
+        try {
+            jobLauncher.run(postTrendingRecomputeJob, jobParameters);
+        } catch (JobExecutionAlreadyRunningException e) {
+            log.warn("post trending recompute job is still running: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("post trending recompute job failed: {}", e.getMessage(), e);
+        } finally {
+            try {
+                postTrendingIndex.unlockRecompute(runId.get());
+            } catch (DataAccessException e) {
+                //TTL 이 지나면 풀림
+                log.warn("post trending recompute unlock failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ktb.ktb_community.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+//프로세스가 죽어 STARTED 로 남은 실행은 재시작할 수 없으므로 FAILED 로 정리
+//시작 시각이 아니라 마지막 갱신 시각으로 판단 (chunk 가 commit 될 때마다 step 의 last_updated 가 갱신되는 것을 heartbeat 로 사용)
+//다른 노드에서 오래 실행 중인 job 을 FAILED 로 바꿔 동시에 재시작되지 않도록
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleJobExecutionCleaner {
+
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+
+    //staleMinutes 동안 진행 기록이 없는 실행은 프로세스가 죽은 것으로 판단
+    public void failStaleExecutions(String jobName, long staleMinutes) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusMinutes(staleMinutes);
+
+        for (JobExecution execution : jobExplorer.findRunningJobExecutions(jobName)) {
+            LocalDateTime lastActivity = lastActivity(execution);
+            if (lastActivity == null || lastActivity.isAfter(staleBefore)) {
+                continue;
+            }
+
+            for (StepExecution stepExecution : execution.getStepExecutions()) {
+                if (stepExecution.getStatus().isRunning()) {
+                    stepExecution.setStatus(BatchStatus.FAILED);
+                    stepExecution.setExitStatus(ExitStatus.FAILED);
+                    stepExecution.setEndTime(now);
+                    jobRepository.update(stepExecution);
+                }
+            }
+            execution.setStatus(BatchStatus.FAILED);
+            execution.setExitStatus(ExitStatus.FAILED);
+            execution.setEndTime(now);
+            jobRepository.update(execution);
+            log.warn("stale {} execution marked failed: executionId={}, lastActivity={}, params={}",
+                    jobName, execution.getId(), lastActivity, execution.getJobParameters());
+        }
+    }
+
+    //job, step 의 생성, 시작, 마지막 갱신 시각 중 가장 늦은 값
+    private LocalDateTime lastActivity(JobExecution execution) {
+        return Stream.concat(
+                        Stream.of(execution.getCreateTime(), execution.getStartTime(), execution.getLastUpdated()),
+                        execution.getStepExecutions().stream()
+                                .flatMap(step -> Stream.of(step.getStartTime(), step.getLastUpdated())))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ktb.ktb_community.common.Security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+//SecurityContext 에 담기는 인증 사용자 (토큰 claim 만으로 생성, DB 조회 없음)
+//컨트롤러에서 @AuthenticationPrincipal 로 받아 userId 를 그대로 서비스에 전달
+public record AuthUser(
+        Long userId,
+        Instant issuedAt,
+        Instant expiresAt
+) implements Principal {
+
+    public static AuthUser from(JwtClaims claims) {
+        return new AuthUser(claims.userId(), claims.issuedAt(), claims.expiresAt());
+    }
+
+    //Principal.getName() 을 쓰는 코드와 호환 (기존처럼 userId 문자열)
+    @Override
+    public String getName() {
+        return userId.toString();
+    }
+}
@@ -27,13 +27,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        if (token != null && jwtProvider.validateToken(token)) {
-            String userId = jwtProvider.getUserIdFromToken(token);
-            // DB에서 UserDetails를 가져오지 않고, 토큰 정보만으로 인증 객체를 생성할 수도 있습니다.
-            // 이 경우, User의 role 같은 정보도 토큰에 포함시켜야 합니다.
-            Authentication authentication =
-                    new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            //검증과 claim 추출을 한 번의 파싱으로
+            jwtProvider.verify(token).ifPresent(claims -> {
+                //DB 에서 사용자를 조회하지 않고 토큰 claim 만으로 인증 객체 생성
+                Authentication authentication =
+                        new UsernamePasswordAuthenticationToken(AuthUser.from(claims), null, Collections.emptyList());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,11 @@
+package com.ktb.ktb_community.common.Security;
+
+import java.time.Instant;
+
+//서명, 만료 검증을 마친 access token 의 claim
+public record JwtClaims(
+        Long userId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -1,6 +1,11 @@
 package com.ktb.ktb_community.common.Security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -11,7 +16,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -26,12 +34,35 @@ public class JwtProvider {
     @Value("${jwt.refreshTokenValidityInMs}")
     private Long refreshTokenValidityInMs;
 
+    //검증된 토큰 캐시 크기, 0 이면 캐시하지 않음
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
     private Key key;
 
+    //parser 는 thread-safe 이므로 한 번만 생성
+    private JwtParser parser;
+
+    //토큰 -> claim, 토큰의 exp 에 만료
+    //키는 토큰 문자열 그대로 (String hash + equals 만으로 조회, 요청마다 digest 를 계산하면 HMAC 검증과 비용이 비슷해짐)
+    //서명 부분만 키로 쓰면 header, payload 를 바꾼 토큰에도 원래 claim 이 반환되므로 전체 토큰으로 비교
+    private Cache<String, JwtClaims> verifiedTokens;
+
     @PostConstruct
     protected void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        if (verifiedCacheMaxSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(Expiry.<String, JwtClaims>creating((token, claims) -> {
+                        Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+                        return remaining.isNegative() ? Duration.ZERO : remaining;
+                    }))
+                    .build();
+        }
     }
 
     public String createAccessToken(String userId) {
@@ -54,23 +85,36 @@ public class JwtProvider {
                 .compact();
     }
 
-    public String getUserIdFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    //서명, 만료를 한 번에 검증하고 claim 추출, 유효하지 않으면 Optional.empty()
+    //최근 검증한 토큰은 만료 시각까지 캐시에서 바로 반환 (HMAC, JSON 파싱 생략)
+    public Optional<JwtClaims> verify(String token) {
+
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        JwtClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        //검증에 실패한 토큰은 캐시하지 않음 (임의의 토큰으로 캐시를 채울 수 없도록)
+        Optional<JwtClaims> claims = parse(token);
+        claims.ifPresent(verified -> verifiedTokens.put(token, verified));
+        return claims;
     }
 
-    public boolean validateToken(String token) {
+    private Optional<JwtClaims> parse(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return Optional.of(new JwtClaims(
+                    Long.valueOf(claims.getSubject()),
+                    claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant()));
         } catch (JwtException | IllegalArgumentException e) {
             // ExpiredJwtException, MalformedJwtException 등 모든 JWT 관련 예외를 처리
-             log.error("유효하지 않은 JWT 토큰: {}", e.getMessage());
-            return false;
+            log.error("유효하지 않은 JWT 토큰: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 }
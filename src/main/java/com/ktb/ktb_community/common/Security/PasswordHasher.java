@@ -0,0 +1,147 @@
+package com.ktb.ktb_community.common.Security;
+
+import com.ktb.ktb_community.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+//BCrypt 해시, 검증을 요청 스레드 대신 코어 수만큼의 전용 스레드에서 실행
+//동시에 도는 BCrypt 가 코어 수로 제한되어 로그인이 몰려도 다른 요청의 CPU 를 빼앗지 않고
+//큐가 가득 차면 기다리지 않고 503 으로 거절
+//cost 는 password.hash.strength 로 지정하거나, 없으면 기동 시 target-ms 에 맞춰 측정
+//비밀번호 해시, 검증은 모두 이 클래스를 통해서만 (PasswordEncoder 빈은 두지 않음)
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    static final String DURATION_TIMER = "password.hash.duration";
+    static final String WAIT_TIMER = "password.hash.queue.wait";
+
+    //Spring Security 기본값, 측정 결과가 더 빨라도 이보다 낮추지 않음
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final String PROBE = "password-hash-calibration";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    @Getter
+    private final int strength;
+    private final long timeoutMs;
+
+    private final Timer hashTimer;
+    private final Timer matchTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${password.hash.threads:0}") int threads,
+                          @Value("${password.hash.queue-capacity:64}") int queueCapacity,
+                          @Value("${password.hash.strength:0}") int strength,
+                          @Value("${password.hash.target-ms:250}") long targetMs,
+                          @Value("${password.hash.timeout-ms:5000}") long timeoutMs) {
+
+        //0 이면 코어 수
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+
+        this.strength = strength > 0 ? strength : calibrate(targetMs);
+        this.encoder = new BCryptPasswordEncoder(this.strength);
+        this.timeoutMs = timeoutMs;
+
+        this.hashTimer = Timer.builder(DURATION_TIMER).tag("operation", "hash").register(meterRegistry);
+        this.matchTimer = Timer.builder(DURATION_TIMER).tag("operation", "match").register(meterRegistry);
+        this.waitTimer = Timer.builder(WAIT_TIMER).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount).register(meterRegistry);
+
+        log.info("password hasher ready: threads={}, queueCapacity={}, strength={}", poolSize, queueCapacity, this.strength);
+    }
+
+    public String hash(String rawPassword) {
+        return execute(hashTimer, () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    //요청 스레드는 결과를 기다리기만 하고, 실행 시간과 큐 대기 시간을 따로 기록
+    <T> T execute(Timer timer, Callable<T> task) {
+
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (TaskRejectedException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("PASSWORD_HASH_BUSY");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("PASSWORD_HASH_TIMEOUT");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("PASSWORD_HASH_INTERRUPTED");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //MIN_STRENGTH 에서 걸린 시간으로 target-ms 를 넘지 않는 가장 큰 cost 계산 (cost 가 1 오를 때마다 두 배)
+    private int calibrate(long targetMs) {
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        //JIT 워밍업 후 가장 빠른 값 사용
+        probe.encode(PROBE);
+        long elapsedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(PROBE);
+            elapsedNanos = Math.min(elapsedNanos, System.nanoTime() - start);
+        }
+
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        int extra = (int) Math.floor(Math.log(targetMs / elapsedMs) / Math.log(2));
+        int calibrated = Math.clamp(MIN_STRENGTH + extra, MIN_STRENGTH, MAX_STRENGTH);
+
+        log.info("bcrypt cost calibrated: cost{}={}ms, target={}ms, strength={}", MIN_STRENGTH,
+                String.format("%.1f", elapsedMs), targetMs, calibrated);
+        return calibrated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,124 @@
+package com.ktb.ktb_community.common.Security;
+
+import com.ktb.ktb_community.common.util.HashUtils;
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+//발급한 refresh token (Redis)
+//토큰 원문 대신 SHA-256 digest 를 사용자별 hash 의 field 로 저장해서
+//세션 목록 조회, 전체 로그아웃이 키 하나에 대한 명령 한 번 (왕복 한 번)
+//  auth:refresh:{userId}  : digest -> "발급 시각(ms):만료 시각(ms)", 가장 늦게 만료되는 토큰에 맞춰 만료
+//모든 명령이 사용자 키 하나만 다루므로 Cluster 에서도 같은 slot
+//만료된 field 는 저장, 세션 목록 조회 때 정리
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    static final String KEY_PREFIX = "auth:refresh:";
+
+    //ARGV: {digest, 발급 시각, 만료 시각, 유효 기간, 현재 시각}
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                local expiresAt = tonumber(string.match(entries[i + 1], ':(%d+)$'))
+                if expiresAt <= tonumber(ARGV[5]) then
+                    redis.call('HDEL', KEYS[1], entries[i])
+                end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[4]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = new DefaultRedisScript<>("""
+            local revoked = redis.call('HLEN', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return revoked
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long validityInMs;
+
+    public RefreshTokenStore(StringRedisTemplate redisTemplate,
+                             @Value("${jwt.refreshTokenValidityInMs}") long validityInMs) {
+        this.redisTemplate = redisTemplate;
+        this.validityInMs = validityInMs;
+    }
+
+    //id 는 토큰 digest (토큰 원문은 응답에 노출하지 않음)
+    public record Session(String id, Instant issuedAt, Instant expiresAt) {
+    }
+
+    public void save(Long userId, String token) {
+        long now = System.currentTimeMillis();
+        redisTemplate.execute(SAVE_SCRIPT, List.of(key(userId)),
+                HashUtils.sha256Hex(token), String.valueOf(now), String.valueOf(now + validityInMs),
+                String.valueOf(validityInMs), String.valueOf(now));
+    }
+
+    //저장되어 있고 만료되지 않은 토큰인지
+    public boolean isActive(Long userId, String token) {
+        Object value = redisTemplate.opsForHash().get(key(userId), HashUtils.sha256Hex(token));
+        return value != null && toSession(null, value.toString()).expiresAt().isAfter(Instant.now());
+    }
+
+    //저장된 토큰이 없으면 false
+    public boolean revoke(Long userId, String token) {
+        Long removed = redisTemplate.opsForHash().delete(key(userId), HashUtils.sha256Hex(token));
+        return removed != null && removed > 0;
+    }
+
+    //전체 로그아웃, 폐기한 토큰 수 반환
+    public long revokeAll(Long userId) {
+        Long revoked = redisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(key(userId)));
+        return revoked != null ? revoked : 0;
+    }
+
+    //탈퇴 등 DB 변경이 커밋된 뒤 폐기
+    public void revokeAllAfterCommit(Long userId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                revokeAll(userId);
+            } catch (DataAccessException e) {
+                log.error("refresh token revoke failed: userId={}, {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    //HGETALL 한 번, 만료된 토큰은 응답에서 제외 (정리는 다음 저장 때)
+    public List<Session> findSessions(Long userId) {
+
+        Instant now = Instant.now();
+        List<Session> sessions = new ArrayList<>();
+        redisTemplate.opsForHash().entries(key(userId)).forEach((digest, value) -> {
+            Session session = toSession(digest.toString(), value.toString());
+            if (session.expiresAt().isAfter(now)) {
+                sessions.add(session);
+            }
+        });
+        return sessions;
+    }
+
+    private Session toSession(String digest, String value) {
+        int separator = value.indexOf(':');
+        return new Session(digest,
+                Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator))),
+                Instant.ofEpochMilli(Long.parseLong(value.substring(separator + 1))));
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.dto.ImageResponseDto;
+import com.ktb.ktb_community.entity.Post;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+//게시글 상세 중 사용자와 무관하고 수정/삭제 전까지 바뀌지 않는 부분
+//카운터, isLiked, isAuthor, 작성자 프로필은 캐시하지 않음 (작성자는 id 만)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPostDetail {
+
+    private Long postId;
+    private String title;
+    private String content;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+
+    private Long authorId;
+
+    private List<ImageResponseDto> images;
+
+    public static CachedPostDetail of(Post post, String content, List<ImageResponseDto> images) {
+        return new CachedPostDetail(
+                post.getPostId(),
+                post.getTitle(),
+                content,
+                post.getCreatedAt(),
+                post.getUpdatedAt(),
+                post.getUser().getUserId(),
+                images
+        );
+    }
+}
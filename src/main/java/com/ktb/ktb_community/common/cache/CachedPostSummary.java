@@ -0,0 +1,31 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.dto.PostFeedDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+//피드 한 행 중 카운터, 작성자 프로필을 제외한 부분 (둘 다 조회 시 한 번의 IN 쿼리로)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPostSummary {
+
+    private Long postId;
+    private String title;
+    private String content;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+
+    public static CachedPostSummary of(PostFeedDto feed) {
+        return new CachedPostSummary(
+                feed.getPostId(),
+                feed.getTitle(),
+                feed.getContent(),
+                feed.getCreatedAt(),
+                feed.getUpdatedAt()
+        );
+    }
+}
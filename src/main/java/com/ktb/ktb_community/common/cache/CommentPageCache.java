@@ -0,0 +1,246 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import com.ktb.ktb_community.dto.CommentRowDto;
+import com.ktb.ktb_community.entity.Comment;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+//게시글별 댓글 페이지 캐시 (Redis sorted set, score = commentId, member = CommentRowDto JSON)
+//작성 순 첫 댓글부터 최대 window-size 개를 담고, score 0 의 head 마커로 범위를 표시
+//  #open      : 게시글의 모든 댓글을 담고 있음 (새 댓글은 뒤에 추가)
+//  #closed:{M} : commentId <= M 인 댓글을 모두 담고 있음 (그 이후 cursor 는 DB)
+//isAuthor 는 조회자마다 다르므로 작성자 id 를 포함한 row 를 저장, 작성자 프로필은 담지 않음 (조회 시 채움)
+//member 는 최상위 댓글 row (미리보기 답글 포함), 답글이 바뀌면 게시글 단위로 무효화
+//  comment:page:{postId}      : 댓글 페이지
+//  comment:page:{postId}:gen  : 세대 번호 (모든 script 가 두 키를 함께 다루므로 hash tag 로 같은 slot)
+@Slf4j
+@Component
+public class CommentPageCache {
+
+    static final String KEY_PREFIX = "comment:page:";
+    //적재 도중 댓글이 바뀌었는지 확인하는 세대 번호
+    static final String GENERATION_SUFFIX = ":gen";
+    static final String OPEN = "#open";
+    static final String CLOSED_PREFIX = "#closed:";
+
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local head = redis.call('ZRANGEBYSCORE', KEYS[1], 0, 0)
+            if #head == 0 then
+                return false
+            end
+            local rows = redis.call('ZRANGEBYSCORE', KEYS[1], '(' .. ARGV[1], '+inf', 'LIMIT', 0, ARGV[2])
+            table.insert(rows, 1, head[1])
+            return rows
+            """, List.class);
+
+    //적재 시작 후 세대가 바뀌었으면 (그 사이 작성/수정/삭제) 버림
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            if generation ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('ZADD', KEYS[1], 0, ARGV[3])
+            for i = 4, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    //#open 이면 추가하고 window 를 넘으면 #closed 로 전환
+    //#closed:M 이어도 M 이하 id 는 추가 (id 순서와 커밋 순서가 다를 수 있음)
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[4])
+            local head = redis.call('ZRANGEBYSCORE', KEYS[1], 0, 0)
+            if #head == 0 then
+                return 0
+            end
+            local commentId = tonumber(ARGV[1])
+            if head[1] ~= '#open' and commentId > tonumber(string.sub(head[1], 9)) then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            if head[1] == '#open' and redis.call('ZCARD', KEYS[1]) - 1 > tonumber(ARGV[3]) then
+                redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[1])
+                local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+                redis.call('ZREM', KEYS[1], '#open')
+                redis.call('ZADD', KEYS[1], 0, '#closed:' .. last[2])
+            end
+            return 1
+            """, Long.class);
+
+    //캐시에 있는 댓글만 교체, 삭제는 ARGV[2] 없이 호출
+    private static final RedisScript<Long> PATCH_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            local removed = redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[1])
+            if removed > 0 and ARGV[2] ~= '' then
+                redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            end
+            return removed
+            """, Long.class);
+
+    //적재 중인 결과도 버리도록 세대를 올리고 삭제
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    @Getter
+    private final int windowSize;
+
+    public CommentPageCache(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${comment.cache.page.window-size:200}") int windowSize,
+                            @Value("${comment.cache.page.ttl-seconds:600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.windowSize = windowSize;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    //캐시된 범위 안의 페이지만 응답, 범위를 벗어나거나 캐시가 없으면 Optional.empty()
+    public Optional<Slice<CommentRowDto>> findPage(Long postId, Long cursor, int size) {
+        try {
+            List<String> result = redisTemplate.execute(READ_SCRIPT, List.of(key(postId)),
+                    String.valueOf(cursor == null ? 0L : cursor), String.valueOf(size + 1));
+            if (result == null || result.isEmpty()) {
+                return Optional.empty();
+            }
+
+            boolean open = OPEN.equals(result.get(0));
+            List<CommentRowDto> rows = new ArrayList<>();
+            for (String json : result.subList(1, result.size())) {
+                rows.add(objectMapper.readValue(json, CommentRowDto.class));
+            }
+
+            //size + 1 개가 모두 범위 안이면 다음 페이지 있음
+            //그보다 적으면 #open 일 때만 마지막 페이지로 확정할 수 있음
+            boolean hasNext = rows.size() > size;
+            if (!hasNext && !open) {
+                return Optional.empty();
+            }
+            List<CommentRowDto> content = hasNext ? rows.subList(0, size) : rows;
+            return Optional.of(new SliceImpl<>(content, PageRequest.of(0, size), hasNext));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("comment page cache read failed: postId={}, {}", postId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    //DB 조회 전에 읽어서 load 에 넘김, Redis 장애 시 null
+    public String generation(Long postId) {
+        try {
+            String generation = redisTemplate.opsForValue().get(key(postId) + GENERATION_SUFFIX);
+            return generation == null ? "0" : generation;
+        } catch (DataAccessException e) {
+            log.warn("comment page cache generation read failed: postId={}, {}", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    //첫 댓글부터 window 만큼 조회한 결과 적재
+    public void load(Long postId, String generation, List<CommentRowDto> rows, boolean hasMore) {
+
+        if (generation == null) {
+            return;
+        }
+
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(generation);
+            args.add(String.valueOf(ttl.toSeconds()));
+            args.add(hasMore ? CLOSED_PREFIX + rows.get(rows.size() - 1).getCommentId() : OPEN);
+            for (CommentRowDto row : rows) {
+                args.add(String.valueOf(row.getCommentId()));
+                args.add(objectMapper.writeValueAsString(row.withoutProfile()));
+            }
+            redisTemplate.execute(LOAD_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX), args.toArray());
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("comment page cache load failed: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    //커밋 후 반영 (flush 때 채워지는 작성/수정 시각 포함)
+    public void appended(Long postId, Comment comment) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.execute(APPEND_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX),
+                        String.valueOf(comment.getCommentId()),
+                        objectMapper.writeValueAsString(CommentRowDto.from(comment)),
+                        String.valueOf(windowSize),
+                        String.valueOf(ttl.toSeconds()));
+            } catch (DataAccessException | JsonProcessingException e) {
+                log.error("comment page cache append failed: postId={}, {}", postId, e.getMessage());
+                delete(postId);
+            }
+        });
+    }
+
+    public void updated(CommentRowDto row) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                patch(row.getPostId(), row.getCommentId(), objectMapper.writeValueAsString(row.withoutProfile()));
+            } catch (JsonProcessingException e) {
+                log.error("comment page cache update failed: postId={}, {}", row.getPostId(), e.getMessage());
+                delete(row.getPostId());
+            }
+        });
+    }
+
+    public void deleted(Long postId, Long commentId) {
+        TransactionUtils.runAfterCommit(() -> patch(postId, commentId, ""));
+    }
+
+    //게시글 삭제, 답글 변경 시
+    public void evict(Long postId) {
+        TransactionUtils.runAfterCommit(() -> delete(postId));
+    }
+
+    private void patch(Long postId, Long commentId, String json) {
+        try {
+            redisTemplate.execute(PATCH_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX),
+                    String.valueOf(commentId), json, String.valueOf(ttl.toSeconds()));
+        } catch (DataAccessException e) {
+            log.error("comment page cache patch failed: postId={}, commentId={}, {}", postId, commentId, e.getMessage());
+            delete(postId);
+        }
+    }
+
+    private void delete(Long postId) {
+        try {
+            redisTemplate.execute(INVALIDATE_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX),
+                    String.valueOf(ttl.toSeconds()));
+        } catch (DataAccessException e) {
+            log.error("comment page cache eviction failed: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    private String key(Long postId) {
+        return KEY_PREFIX + "{" + postId + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package com.ktb.ktb_community.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//좋아요가 몰리는 게시글 감지
+//주기(window) 마다 게시글별 좋아요 요청 수를 세서 promote-per-window 이상이면 stripe 모드로 전환하고
+//stripe 모드 게시글이 cool-down-windows 주기 연속 demote-per-window 미만이면 원래대로 되돌림
+@Slf4j
+@Component
+public class HotPostDetector {
+
+    private final PostLikeStore postLikeStore;
+    private final long promotePerWindow;
+    private final long demotePerWindow;
+    private final int coolDownWindows;
+
+    //현재 주기의 요청 수 (조회수 버퍼와 같이 LongAdder 로 경합 없이 증가)
+    private volatile Map<Long, LongAdder> window = new ConcurrentHashMap<>();
+
+    //stripe 모드 게시글별 연속으로 한산했던 주기 수
+    private final Map<Long, Integer> coolWindows = new HashMap<>();
+
+    public HotPostDetector(PostLikeStore postLikeStore,
+                           @Value("${post.likes.hot.promote-per-window:200}") long promotePerWindow,
+                           @Value("${post.likes.hot.demote-per-window:20}") long demotePerWindow,
+                           @Value("${post.likes.hot.cool-down-windows:6}") int coolDownWindows) {
+        this.postLikeStore = postLikeStore;
+        this.promotePerWindow = promotePerWindow;
+        this.demotePerWindow = demotePerWindow;
+        this.coolDownWindows = coolDownWindows;
+    }
+
+    public void record(Long postId) {
+        window.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${post.likes.hot.window-ms:10000}")
+    public synchronized void evaluate() {
+
+        Map<Long, LongAdder> closed = window;
+        window = new ConcurrentHashMap<>();
+
+        //다른 서버가 전환한 게시글도 반영
+        postLikeStore.refreshStripes();
+
+        closed.forEach((postId, count) -> {
+            if (count.sum() >= promotePerWindow && !postLikeStore.getStripedPostIds().contains(postId)
+                    && postLikeStore.promote(postId)) {
+                log.info("post like stripes enabled: postId={}, requests={}", postId, count.sum());
+            }
+        });
+
+        coolWindows.keySet().retainAll(postLikeStore.getStripedPostIds());
+        for (Long postId : postLikeStore.getStripedPostIds()) {
+            LongAdder count = closed.get(postId);
+            if (count != null && count.sum() >= demotePerWindow) {
+                coolWindows.remove(postId);
+                continue;
+            }
+
+            int cool = coolWindows.merge(postId, 1, Integer::sum);
+            if (cool >= coolDownWindows) {
+                coolWindows.remove(postId);
+                if (postLikeStore.demote(postId)) {
+                    log.info("post like stripes disabled: postId={}", postId);
+                }
+            }
+        }
+    }
+}
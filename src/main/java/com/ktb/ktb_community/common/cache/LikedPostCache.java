@@ -0,0 +1,115 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//사용자별 좋아요 여부 캐시 (Redis hash post:liked:{userId}, field = postId, value = 1/0)
+//좋아요 하지 않은 게시글도 0 으로 저장해서 다시 조회하지 않음
+@Slf4j
+@Component
+public class LikedPostCache {
+
+    static final String KEY_PREFIX = "post:liked:";
+    private static final String LIKED = "1";
+    private static final String NOT_LIKED = "0";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final long maxFields;
+
+    public LikedPostCache(StringRedisTemplate redisTemplate,
+                          @Value("${post.cache.liked.ttl-seconds:1800}") long ttlSeconds,
+                          @Value("${post.cache.liked.max-fields:5000}") long maxFields) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxFields = maxFields;
+    }
+
+    //HMGET 한 번으로 조회, 캐시에 없는 postId 는 결과에서 빠짐
+    public Map<Long, Boolean> getAll(Long userId, List<Long> postIds) {
+
+        Map<Long, Boolean> result = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(key(userId),
+                    postIds.stream().map(id -> (Object) id.toString()).toList());
+            for (int i = 0; i < postIds.size(); i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    result.put(postIds.get(i), LIKED.equals(value));
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("liked post cache read failed: userId={}, {}", userId, e.getMessage());
+        }
+        return result;
+    }
+
+    //DB 조회 결과 채우기
+    //HSETNX 라서 그 사이 좋아요/취소로 기록된 값을 덮어쓰지 않음
+    public void fill(Long userId, Map<Long, Boolean> likedByPostId) {
+
+        if (likedByPostId.isEmpty()) {
+            return;
+        }
+
+        byte[] rawKey = key(userId).getBytes(StandardCharsets.UTF_8);
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                likedByPostId.forEach((postId, liked) -> connection.hashCommands().hSetNX(rawKey,
+                        postId.toString().getBytes(StandardCharsets.UTF_8),
+                        (liked ? LIKED : NOT_LIKED).getBytes(StandardCharsets.UTF_8)));
+                connection.keyCommands().expire(rawKey, ttl.toSeconds());
+                connection.hashCommands().hLen(rawKey);
+                return null;
+            });
+
+            //오래 활동한 사용자의 hash 가 끝없이 커지지 않도록 상한을 넘으면 비움
+            Object size = results.get(results.size() - 1);
+            if (size instanceof Long fieldCount && fieldCount > maxFields) {
+                redisTemplate.delete(key(userId));
+            }
+        } catch (DataAccessException e) {
+            log.warn("liked post cache write failed: userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    //좋아요/취소 write-through (커밋 후)
+    public void put(Long userId, Long postId, boolean liked) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.opsForHash().put(key(userId), postId.toString(), liked ? LIKED : NOT_LIKED);
+                redisTemplate.expire(key(userId), ttl);
+            } catch (DataAccessException e) {
+                log.error("liked post cache write-through failed: userId={}, postId={}, {}", userId, postId, e.getMessage());
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(Long userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (DataAccessException e) {
+            log.error("liked post cache eviction failed: userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+//게시글 상세 2단계 캐시
+//L1: 노드 로컬 Caffeine (크기, TTL 제한)
+//L2: Redis (노드 공유)
+//수정/삭제 시 L2 를 지우고 pub/sub 으로 모든 노드의 L1 을 무효화
+//작성자 프로필은 담지 않음 (프로필 수정과 무관하게 유지, 조회 시 카운터와 함께 조회)
+//  post:detail:{postId}      : 상세 JSON
+//  post:detail:{postId}:gen  : 세대 번호, 무효화마다 증가 (적재 도중 무효화되면 적재 결과를 버림)
+@Slf4j
+@Component
+public class PostDetailCache implements MessageListener {
+
+    static final String KEY_PREFIX = "post:detail:";
+    static final String GENERATION_SUFFIX = ":gen";
+    static final String INVALIDATE_CHANNEL = "post:detail:invalidate";
+
+    //DB 조회 전에 읽은 세대와 다르면 (그 사이 수정/삭제) 이전 본문이므로 저장하지 않음
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            if generation ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    //적재 중인 결과도 버리도록 세대를 올리고 삭제
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<Long, CachedPostDetail> localCache;
+    private final Duration redisTtl;
+
+    public PostDetailCache(StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${post.cache.detail.local-max-size:10000}") long localMaxSize,
+                           @Value("${post.cache.detail.local-ttl-seconds:60}") long localTtlSeconds,
+                           @Value("${post.cache.detail.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    public Optional<CachedPostDetail> get(Long postId) {
+
+        CachedPostDetail local = localCache.getIfPresent(postId);
+        if (local != null) {
+            return Optional.of(local);
+        }
+
+        try {
+            String json = redisTemplate.opsForValue().get(key(postId));
+            if (json == null) {
+                return Optional.empty();
+            }
+            CachedPostDetail detail = objectMapper.readValue(json, CachedPostDetail.class);
+            localCache.put(postId, detail);
+            return Optional.of(detail);
+        } catch (DataAccessException | JsonProcessingException e) {
+            //Redis 장애 시 캐시 미스로 처리하고 DB 에서 조회
+            log.warn("post detail cache read failed: postId={}, {}", postId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    //DB 조회 전에 읽어서 put 에 넘김, Redis 장애 시 null
+    public String generation(Long postId) {
+        try {
+            String generation = redisTemplate.opsForValue().get(key(postId) + GENERATION_SUFFIX);
+            return generation == null ? "0" : generation;
+        } catch (DataAccessException e) {
+            log.warn("post detail cache generation read failed: postId={}, {}", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    //L2 에 저장된 경우에만 L1 에도 저장
+    public void put(CachedPostDetail detail, String generation) {
+
+        if (generation == null) {
+            return;
+        }
+
+        try {
+            String json = objectMapper.writeValueAsString(detail);
+            Long stored = redisTemplate.execute(PUT_SCRIPT,
+                    List.of(key(detail.getPostId()), key(detail.getPostId()) + GENERATION_SUFFIX),
+                    generation, json, String.valueOf(redisTtl.toSeconds()));
+            if (stored != null && stored == 1) {
+                localCache.put(detail.getPostId(), detail);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("post detail cache write failed: postId={}, {}", detail.getPostId(), e.getMessage());
+        }
+    }
+
+    //트랜잭션 안에서 호출되면 커밋 이후에 무효화
+    //커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시할 수 있음
+    public void evict(Long postId) {
+        TransactionUtils.runAfterCommit(() -> evictNow(postId));
+    }
+
+    private void evictNow(Long postId) {
+
+        localCache.invalidate(postId);
+
+        try {
+            redisTemplate.execute(INVALIDATE_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX),
+                    String.valueOf(redisTtl.toSeconds()));
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, postId.toString());
+        } catch (DataAccessException e) {
+            log.error("post detail cache invalidation failed: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    //다른 노드(자기 자신 포함)에서 보낸 무효화 메시지
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            localCache.invalidate(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("invalid post detail invalidation message: {}", body);
+        }
+    }
+
+    private String key(Long postId) {
+        return KEY_PREFIX + "{" + postId + "}";
+    }
+}
@@ -0,0 +1,121 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+//최신 게시글 N 개의 id 를 담는 Redis sorted set (score = postId)
+//첫 피드 페이지들을 DB 대신 이 인덱스로 응답
+@Slf4j
+@Component
+public class PostFeedIndex {
+
+    static final String KEY = "post:feed";
+    //인덱스가 전체 게시글을 담고 있음 (게시글 수 < N)
+    static final String COMPLETE_KEY = "post:feed:complete";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Getter
+    private final int windowSize;
+
+    public PostFeedIndex(StringRedisTemplate redisTemplate,
+                         @Value("${post.feed-index.window-size:1000}") int windowSize) {
+        this.redisTemplate = redisTemplate;
+        this.windowSize = windowSize;
+    }
+
+    public void add(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+                zSet.add(KEY, postId.toString(), postId);
+
+                //윈도우 밖으로 밀려난 id 제거, 이후 인덱스는 전체 게시글이 아님
+                Long trimmed = zSet.removeRange(KEY, 0, -(windowSize + 1L));
+                if (trimmed != null && trimmed > 0) {
+                    redisTemplate.delete(COMPLETE_KEY);
+                }
+            } catch (DataAccessException e) {
+                log.error("post feed index add failed: postId={}, {}", postId, e.getMessage());
+                invalidate();
+            }
+        });
+    }
+
+    public void remove(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.opsForZSet().remove(KEY, postId.toString());
+            } catch (DataAccessException e) {
+                log.error("post feed index remove failed: postId={}, {}", postId, e.getMessage());
+                invalidate();
+            }
+        });
+    }
+
+    //cursor 다음 id 를 최대 limit 개 조회
+    //윈도우 끝을 넘어서는 페이지라 인덱스만으로 응답할 수 없으면 Optional.empty()
+    public Optional<List<Long>> findPage(Long cursor, int limit) {
+        try {
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            Set<String> members = (cursor == null)
+                    ? zSet.reverseRange(KEY, 0, limit - 1L)
+                    : zSet.reverseRangeByScore(KEY, Double.NEGATIVE_INFINITY, cursor - 1, 0, limit);
+
+            List<Long> ids = members == null
+                    ? List.of()
+                    : members.stream().map(Long::valueOf).toList();
+
+            if (ids.size() == limit || Boolean.TRUE.equals(redisTemplate.hasKey(COMPLETE_KEY))) {
+                return Optional.of(ids);
+            }
+            return Optional.empty();
+        } catch (DataAccessException e) {
+            log.warn("post feed index read failed, fallback to db: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    //임시 키에 채운 뒤 RENAME 으로 교체
+    public void rebuild(List<Long> postIds, boolean complete) {
+
+        redisTemplate.delete(COMPLETE_KEY);
+
+        if (postIds.isEmpty()) {
+            redisTemplate.delete(KEY);
+        } else {
+            String tempKey = KEY + ":rebuild:" + UUID.randomUUID();
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            for (Long postId : postIds) {
+                tuples.add(ZSetOperations.TypedTuple.of(postId.toString(), postId.doubleValue()));
+            }
+            redisTemplate.opsForZSet().add(tempKey, tuples);
+            redisTemplate.rename(tempKey, KEY);
+        }
+
+        if (complete) {
+            redisTemplate.opsForValue().set(COMPLETE_KEY, "1");
+        }
+    }
+
+    //인덱스를 믿을 수 없으면 지워서 DB 로 응답하게 함 (다음 재구성 때 복구)
+    private void invalidate() {
+        try {
+            redisTemplate.delete(List.of(KEY, COMPLETE_KEY));
+        } catch (DataAccessException e) {
+            log.error("post feed index invalidation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//기동 시 MySQL 에서 최신 게시글 id 를 읽어 피드 인덱스를 재구성
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostFeedIndexWarmer {
+
+    private final PostRepository postRepository;
+    private final PostFeedIndex postFeedIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+
+        int windowSize = postFeedIndex.getWindowSize();
+
+        try {
+            //N + 1 개를 조회해 전체 게시글이 윈도우 안에 들어오는지 확인
+            List<Long> recentIds = postRepository.findRecentPostIds(PageRequest.of(0, windowSize + 1));
+            boolean complete = recentIds.size() <= windowSize;
+            List<Long> windowIds = complete ? recentIds : recentIds.subList(0, windowSize);
+
+            postFeedIndex.rebuild(windowIds, complete);
+
+            //재구성 도중 작성된 게시글 보정
+            Long maxId = windowIds.isEmpty() ? 0L : windowIds.get(0);
+            postRepository.findPostIdsGreaterThan(maxId).forEach(postFeedIndex::add);
+
+            log.info("post feed index rebuilt: size={}, complete={}", windowIds.size(), complete);
+        } catch (DataAccessException e) {
+            log.error("post feed index warm-up failed, feed is served from db: {}", e.getMessage());
+        }
+    }
+}
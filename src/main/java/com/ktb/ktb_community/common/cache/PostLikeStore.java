@@ -0,0 +1,661 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+//좋아요 write-behind 저장소
+//게시글의 키는 slot 단위로 묶고 slot 이름을 hash tag 로 써서 Cluster 에서 같은 slot 에 둠
+//  {postId}    : 일반 게시글
+//  {postId:i}  : stripe 모드 게시글의 i 번째 stripe, userId % N == i 인 사용자만
+//slot 마다
+//  post:likes:{slot}            : 좋아요 한 userId set (+ 적재 마커 #), 적재된 slot 은 여기가 기준
+//  post:likes:{slot}:pending    : 아직 post_like 에 반영되지 않은 변경 (hash, userId -> 1 좋아요 / 0 취소)
+//  post:likes:{slot}:gen        : 반영 완료 시 증가, 적재 도중 반영이 끝났으면 적재를 버림
+//  post:likes:{slot}:stripes    : 이 slot 을 쓰는 배치의 stripe 수 (없으면 1), 다르면 -2 로 알려줌
+//  post:likes:{slot}:migrating  : stripe 수를 바꾸는 동안 다른 slot 으로 옮길 pending
+//스크립트는 모두 slot 하나의 키만 다루고, 좋아요 한 번은 사용자의 slot 만 수정
+//slot 의 좋아요 수는 SCARD - 1, 게시글의 좋아요 수는 stripe 들의 합 (pipeline 한 번)
+//
+//slot 에 속하지 않는 키는 스크립트 밖에서 단일 키 명령으로 갱신
+//  post:likes:dirty    : pending 이 남은 slot (PostLikeFlusher 가 주기적으로 반영)
+//  post:likes:stripes  : stripe 모드 게시글 (hash, postId -> N), 다른 서버의 전환을 반영하는 용도
+//좋아요가 몰리는 게시글은 HotPostDetector 가 stripe 모드로 전환
+@Slf4j
+@Component
+public class PostLikeStore {
+
+    static final String KEY_PREFIX = "post:likes:";
+    static final String PENDING_SUFFIX = ":pending";
+    static final String GENERATION_SUFFIX = ":gen";
+    static final String LAYOUT_SUFFIX = ":stripes";
+    static final String MIGRATING_SUFFIX = ":migrating";
+    static final String RESIZE_LOCK_SUFFIX = ":resize";
+    static final String DIRTY_KEY = "post:likes:dirty";
+    static final String STRIPES_KEY = "post:likes:stripes";
+
+    private static final String LIKED = "1";
+    private static final String NOT_LIKED = "0";
+    //Lua unpack 인자 수 제한
+    private static final int LOAD_CHUNK = 1000;
+    //stripe 수가 바뀐 경우 (-2) 새 stripe 수로 한 번 더 시도
+    private static final int TOGGLE_ATTEMPTS = 2;
+    //stripe 수 전환 중 다른 서버가 같은 게시글을 전환하지 않도록
+    private static final Duration RESIZE_LOCK_TTL = Duration.ofSeconds(30);
+
+    //KEYS: stripe 수, set, pending
+    //stripe 수가 다르면 {-2, 실제 stripe 수}, 적재되지 않았으면 {-1, 0}, 아니면 {변경 여부, slot 의 좋아요 수}
+    private static final RedisScript<List> TOGGLE_SCRIPT = new DefaultRedisScript<>("""
+            local stripes = redis.call('GET', KEYS[1]) or '1'
+            if stripes ~= ARGV[4] then
+                return {-2, tonumber(stripes)}
+            end
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return {-1, 0}
+            end
+            local changed
+            if ARGV[2] == '1' then
+                changed = redis.call('SADD', KEYS[2], ARGV[1])
+            else
+                changed = redis.call('SREM', KEYS[2], ARGV[1])
+            end
+            if changed == 1 then
+                redis.call('HSET', KEYS[3], ARGV[1], ARGV[2])
+            end
+            redis.call('EXPIRE', KEYS[2], ARGV[3])
+            return {changed, redis.call('SCARD', KEYS[2]) - 1}
+            """, List.class);
+
+    //KEYS: stripe 수, gen, set, pending
+    //ARGV: stripe 수, gen, ttl, chunk, 사용자
+    //DB 의 좋아요 목록 위에 아직 반영되지 않은 변경을 덮어서 없는 set 만 적재
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '1') ~= ARGV[1] then
+                return 0
+            end
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then
+                return 0
+            end
+            if redis.call('EXISTS', KEYS[3]) == 0 then
+                redis.call('SADD', KEYS[3], '#')
+                local chunk = tonumber(ARGV[4])
+                for i = 5, #ARGV, chunk do
+                    redis.call('SADD', KEYS[3], unpack(ARGV, i, math.min(i + chunk - 1, #ARGV)))
+                end
+                local pending = redis.call('HGETALL', KEYS[4])
+                for i = 1, #pending, 2 do
+                    if pending[i + 1] == '1' then
+                        redis.call('SADD', KEYS[3], pending[i])
+                    else
+                        redis.call('SREM', KEYS[3], pending[i])
+                    end
+                end
+            end
+            redis.call('EXPIRE', KEYS[3], ARGV[3])
+            return 1
+            """, Long.class);
+
+    //DB 반영이 끝난 변경만 제거 (그 사이 값이 바뀐 사용자는 다음 반영에서 다시 처리)
+    private static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+            for i = 2, #ARGV, 2 do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[1], ARGV[i])
+                end
+            end
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('HLEN', KEYS[1])
+            """, Long.class);
+
+    //stripe 수 전환 시 slot 닫기
+    //KEYS: stripe 수, set, pending, gen, migrating, ARGV: 현재 stripe 수, 바꿀 stripe 수, ttl, 적재 필요 여부
+    //stripe 수를 바꿔서 이전 배치로 오는 요청은 -2, pending 은 migrating 으로 옮겨 두고 증가한 gen 반환
+    //stripe 수가 다르거나 (-1) 적재되지 않았으면 (0) 그대로 둠
+    private static final RedisScript<Long> FREEZE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '1') ~= ARGV[1] then
+                return -1
+            end
+            if ARGV[4] == '1' and redis.call('EXISTS', KEYS[2]) == 0 then
+                return 0
+            end
+            if ARGV[2] == '1' then
+                redis.call('DEL', KEYS[1])
+            else
+                redis.call('SET', KEYS[1], ARGV[2])
+            end
+            local pending = redis.call('HGETALL', KEYS[3])
+            for i = 1, #pending, 2 do
+                redis.call('HSET', KEYS[5], pending[i], pending[i + 1])
+            end
+            redis.call('DEL', KEYS[2], KEYS[3])
+            local generation = redis.call('INCR', KEYS[4])
+            redis.call('EXPIRE', KEYS[4], ARGV[3])
+            return generation
+            """, Long.class);
+
+    //KEYS: set, pending, ARGV: {userId, 좋아요 여부} 쌍
+    //옮겨 온 변경보다 새 변경이 이미 있는 사용자는 건너뜀, set 이 적재되어 있으면 함께 반영
+    private static final RedisScript<Long> MIGRATE_SCRIPT = new DefaultRedisScript<>("""
+            local loaded = redis.call('EXISTS', KEYS[1]) == 1
+            local moved = 0
+            for i = 1, #ARGV, 2 do
+                if redis.call('HEXISTS', KEYS[2], ARGV[i]) == 0 then
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+                    if loaded then
+                        if ARGV[i + 1] == '1' then
+                            redis.call('SADD', KEYS[1], ARGV[i])
+                        else
+                            redis.call('SREM', KEYS[1], ARGV[i])
+                        end
+                    end
+                    moved = moved + 1
+                end
+            end
+            return moved
+            """, Long.class);
+
+    //게시글 삭제 시 slot 의 set, 남은 변경 제거 (KEYS: gen, 나머지)
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return redis.call('DEL', unpack(KEYS, 2))
+            """, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    @Getter
+    private final int hotStripes;
+
+    //stripe 모드 게시글 (HotPostDetector 가 주기적으로 갱신, 틀려도 스크립트가 확인 후 -2)
+    private volatile Map<Long, Integer> stripes = Map.of();
+
+    public PostLikeStore(StringRedisTemplate redisTemplate,
+                         @Value("${post.likes.ttl-seconds:1800}") long ttlSeconds,
+                         @Value("${post.likes.hot.stripes:8}") int hotStripes) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.hotStripes = hotStripes;
+    }
+
+    //다른 stripe 가 적재되지 않아 게시글의 좋아요 수를 모르면 likeCount == -1
+    public record Toggle(boolean changed, int likeCount) {
+    }
+
+    public record LikeState(int likeCount, boolean liked) {
+    }
+
+    //pending hash 하나 (stripe 모드가 아니면 stripe == null)
+    public record LikeShard(Long postId, Integer stripe) {
+    }
+
+    //SADD/SREM 이라 같은 요청이 반복돼도 결과가 같음
+    //사용자의 stripe 가 적재되지 않았거나 Redis 장애면 Optional.empty()
+    public Optional<Toggle> toggle(Long postId, Long userId, boolean liked) {
+        try {
+            for (int attempt = 0; attempt < TOGGLE_ATTEMPTS; attempt++) {
+                int n = stripeCount(postId);
+                int own = stripeOf(userId, n);
+                String slot = slot(postId, n, own);
+
+                List<?> values = redisTemplate.execute(TOGGLE_SCRIPT,
+                        List.of(slot + LAYOUT_SUFFIX, slot, slot + PENDING_SUFFIX),
+                        userId.toString(), liked ? LIKED : NOT_LIKED, String.valueOf(ttl.toSeconds()), String.valueOf(n));
+                if (values == null || values.size() != 2) {
+                    return Optional.empty();
+                }
+
+                long code = (Long) values.get(0);
+                if (code == -2) {
+                    putStripeCount(postId, ((Long) values.get(1)).intValue());
+                    continue;
+                }
+                if (code == -1) {
+                    return Optional.empty();
+                }
+                //pending 을 쓴 뒤에 표시 (먼저 표시하면 flusher 가 빈 pending 을 보고 지울 수 있음)
+                if (code == 1) {
+                    redisTemplate.opsForSet().add(DIRTY_KEY, dirtyMember(postId, n, own));
+                }
+
+                int likeCount = ((Long) values.get(1)).intValue();
+                if (n > 1) {
+                    int others = countOtherStripes(postId, n, own);
+                    likeCount = others < 0 ? -1 : likeCount + others;
+                }
+                return Optional.of(new Toggle(code == 1, likeCount));
+            }
+        } catch (DataAccessException e) {
+            log.warn("post like store toggle failed: postId={}, userId={}, {}", postId, userId, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    //DB 조회 전에 읽어서 load 에 넘김 ("stripe 수:slot 별 gen"), Redis 장애 시 null
+    public String generation(Long postId) {
+        int n = stripeCount(postId);
+        List<String> keys = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            keys.add(slot(postId, n, i) + GENERATION_SUFFIX);
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            List<String> generations = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                String value = values == null ? null : values.get(i);
+                generations.add(value == null ? "0" : value);
+            }
+            return n + ":" + String.join(",", generations);
+        } catch (DataAccessException e) {
+            log.warn("post like store generation read failed: postId={}, {}", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    //적재되지 않은 slot 을 모두 적재했거나 이미 적재되어 있으면 true
+    public boolean load(Long postId, String generation, List<Long> userIds) {
+
+        if (generation == null) {
+            return false;
+        }
+
+        int separator = generation.indexOf(':');
+        int n = Integer.parseInt(generation.substring(0, separator));
+        String[] generations = generation.substring(separator + 1).split(",");
+
+        List<List<String>> buckets = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        userIds.forEach(userId -> buckets.get(stripeOf(userId, n)).add(userId.toString()));
+
+        try {
+            for (int i = 0; i < n; i++) {
+                String slot = slot(postId, n, i);
+                List<String> args = new ArrayList<>(buckets.get(i).size() + 4);
+                args.add(String.valueOf(n));
+                args.add(generations[i]);
+                args.add(String.valueOf(ttl.toSeconds()));
+                args.add(String.valueOf(LOAD_CHUNK));
+                args.addAll(buckets.get(i));
+
+                Long loaded = redisTemplate.execute(LOAD_SCRIPT,
+                        List.of(slot + LAYOUT_SUFFIX, slot + GENERATION_SUFFIX, slot, slot + PENDING_SUFFIX),
+                        args.toArray());
+                if (loaded == null || loaded != 1L) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("post like store load failed: postId={}, {}", postId, e.getMessage());
+            return false;
+        }
+    }
+
+    public Optional<LikeState> getState(Long userId, Long postId) {
+        return Optional.ofNullable(getStates(userId, List.of(postId)).get(postId));
+    }
+
+    //적재된 게시글만 결과에 포함 (나머지는 DB 카운터, 좋아요 여부 캐시 사용)
+    //게시글마다 stripe 별 SCARD 와 사용자 stripe 의 SISMEMBER 를 pipeline 한 번으로
+    public Map<Long, LikeState> getStates(Long userId, List<Long> postIds) {
+
+        Map<Long, LikeState> result = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return result;
+        }
+
+        List<Integer> counts = postIds.stream().map(this::stripeCount).toList();
+        byte[] rawUserId = bytes(userId.toString());
+        try {
+            List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int p = 0; p < postIds.size(); p++) {
+                    Long postId = postIds.get(p);
+                    int n = counts.get(p);
+                    for (int i = 0; i < n; i++) {
+                        connection.setCommands().sCard(bytes(slot(postId, n, i)));
+                    }
+                    connection.setCommands().sIsMember(bytes(slot(postId, n, stripeOf(userId, n))), rawUserId);
+                }
+                return null;
+            });
+
+            int k = 0;
+            for (int p = 0; p < postIds.size(); p++) {
+                int n = counts.get(p);
+                int count = 0;
+                boolean loaded = true;
+                for (int i = 0; i < n; i++) {
+                    long size = (Long) values.get(k++);
+                    if (size == 0) {
+                        loaded = false;
+                    } else {
+                        count += (int) size - 1;
+                    }
+                }
+                boolean liked = Boolean.TRUE.equals(values.get(k++));
+                if (loaded) {
+                    result.put(postIds.get(p), new LikeState(count, liked));
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("post like store read failed: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    //반영할 변경이 남은 shard
+    public List<LikeShard> getDirtyShards() {
+        Set<String> members = redisTemplate.opsForSet().members(DIRTY_KEY);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(member -> {
+                    int separator = member.indexOf(':');
+                    return separator < 0
+                            ? new LikeShard(Long.valueOf(member), null)
+                            : new LikeShard(Long.valueOf(member.substring(0, separator)), Integer.valueOf(member.substring(separator + 1)));
+                })
+                .toList();
+    }
+
+    //userId -> 좋아요 여부
+    public Map<Long, Boolean> getPending(LikeShard shard) {
+        Map<Long, Boolean> pending = new HashMap<>();
+        redisTemplate.<String, String>opsForHash().entries(slot(shard) + PENDING_SUFFIX)
+                .forEach((userId, liked) -> pending.put(Long.valueOf(userId), LIKED.equals(liked)));
+        return pending;
+    }
+
+    //반영한 변경 제거, 남은 변경 수 반환
+    public long acknowledge(LikeShard shard, Map<Long, Boolean> flushed) {
+
+        String slot = slot(shard);
+        List<String> args = new ArrayList<>(flushed.size() * 2 + 1);
+        args.add(String.valueOf(ttl.toSeconds()));
+        flushed.forEach((userId, liked) -> {
+            args.add(userId.toString());
+            args.add(liked ? LIKED : NOT_LIKED);
+        });
+
+        Long remaining = redisTemplate.execute(ACK_SCRIPT,
+                List.of(slot + PENDING_SUFFIX, slot + GENERATION_SUFFIX), args.toArray());
+        if (remaining == null || remaining > 0) {
+            return remaining == null ? 0 : remaining;
+        }
+
+        //표시를 지운 뒤 다시 확인 (toggle 이 pending 을 쓰고 표시하기 전에 지웠을 수 있음)
+        String member = shard.stripe() == null ? shard.postId().toString() : shard.postId() + ":" + shard.stripe();
+        redisTemplate.opsForSet().remove(DIRTY_KEY, member);
+        Long size = redisTemplate.opsForHash().size(slot + PENDING_SUFFIX);
+        if (size != null && size > 0) {
+            redisTemplate.opsForSet().add(DIRTY_KEY, member);
+            return size;
+        }
+        return 0;
+    }
+
+    //stripe 모드로 전환, 적재되지 않았거나 이미 stripe 모드면 false
+    //  1. stripe 들의 stripe 수를 먼저 N 으로 (아직 N 으로 오는 요청은 없음)
+    //  2. 게시글 slot 을 닫고 pending 을 migrating 으로 (이후 이전 배치로 오는 요청은 -2)
+    //  3. migrating 을 사용자의 stripe pending 으로 옮김, stripe set 은 요청이 올 때 DB + pending 으로 적재
+    public boolean promote(Long postId) {
+        int n = hotStripes;
+        Optional<String> lock = lockResize(postId);
+        if (lock.isEmpty()) {
+            return false;
+        }
+        try {
+            String unsplit = slot(postId);
+            if (layoutOf(postId) != 1) {
+                return false;
+            }
+            for (int i = 0; i < n; i++) {
+                redisTemplate.opsForValue().set(slot(postId, n, i) + LAYOUT_SUFFIX, String.valueOf(n));
+            }
+
+            Long frozen = redisTemplate.execute(FREEZE_SCRIPT, freezeKeys(unsplit),
+                    "1", String.valueOf(n), String.valueOf(ttl.toSeconds()), "1");
+            if (frozen == null || frozen <= 0) {
+                for (int i = 0; i < n; i++) {
+                    redisTemplate.delete(slot(postId, n, i) + LAYOUT_SUFFIX);
+                }
+                return false;
+            }
+
+            redisTemplate.opsForHash().put(STRIPES_KEY, postId.toString(), String.valueOf(n));
+            putStripeCount(postId, n);
+            redisTemplate.opsForSet().remove(DIRTY_KEY, postId.toString());
+            migrate(unsplit, postId, n);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("post like store promote failed: postId={}, {}", postId, e.getMessage());
+            return false;
+        } finally {
+            unlockResize(postId, lock.get());
+        }
+    }
+
+    //promote 의 반대, stripe 들을 닫고 게시글 slot 을 연 뒤 stripe 의 pending 을 게시글 slot 으로 옮김
+    public boolean demote(Long postId) {
+        Optional<String> lock = lockResize(postId);
+        if (lock.isEmpty()) {
+            return false;
+        }
+        try {
+            int n = layoutOf(postId);
+            if (n == 1) {
+                redisTemplate.opsForHash().delete(STRIPES_KEY, postId.toString());
+                putStripeCount(postId, 1);
+                return false;
+            }
+
+            for (int i = 0; i < n; i++) {
+                redisTemplate.execute(FREEZE_SCRIPT, freezeKeys(slot(postId, n, i)),
+                        String.valueOf(n), "1", String.valueOf(ttl.toSeconds()), "0");
+                redisTemplate.opsForSet().remove(DIRTY_KEY, postId + ":" + i);
+            }
+            String unsplit = slot(postId);
+            redisTemplate.execute(FREEZE_SCRIPT, freezeKeys(unsplit),
+                    String.valueOf(n), "1", String.valueOf(ttl.toSeconds()), "0");
+            putStripeCount(postId, 1);
+
+            for (int i = 0; i < n; i++) {
+                migrate(slot(postId, n, i), postId, 1);
+            }
+            redisTemplate.opsForHash().delete(STRIPES_KEY, postId.toString());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("post like store demote failed: postId={}, {}", postId, e.getMessage());
+            return false;
+        } finally {
+            unlockResize(postId, lock.get());
+        }
+    }
+
+    //다른 서버가 전환한 게시글 반영
+    public void refreshStripes() {
+        try {
+            Map<Long, Integer> refreshed = new HashMap<>();
+            redisTemplate.<String, String>opsForHash().entries(STRIPES_KEY)
+                    .forEach((postId, n) -> refreshed.put(Long.valueOf(postId), Integer.valueOf(n)));
+            stripes = Map.copyOf(refreshed);
+        } catch (DataAccessException e) {
+            log.warn("post like store stripe refresh failed: {}", e.getMessage());
+        }
+    }
+
+    public Set<Long> getStripedPostIds() {
+        return stripes.keySet();
+    }
+
+    //게시글 삭제 시 (커밋 후), 설정된 stripe 수가 아니라 게시글에 실제로 적용된 stripe 수로 지움
+    public void evict(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                int n = Math.max(layoutOf(postId), stripeCount(postId));
+                List<String> slots = new ArrayList<>(n + 1);
+                List<String> members = new ArrayList<>(n + 1);
+                slots.add(slot(postId));
+                members.add(postId.toString());
+                if (n > 1) {
+                    for (int i = 0; i < n; i++) {
+                        slots.add(slot(postId, n, i));
+                        members.add(postId + ":" + i);
+                    }
+                }
+
+                for (String slot : slots) {
+                    redisTemplate.execute(INVALIDATE_SCRIPT,
+                            List.of(slot + GENERATION_SUFFIX, slot, slot + PENDING_SUFFIX, slot + LAYOUT_SUFFIX, slot + MIGRATING_SUFFIX),
+                            String.valueOf(ttl.toSeconds()));
+                }
+                redisTemplate.opsForSet().remove(DIRTY_KEY, members.toArray());
+                redisTemplate.opsForHash().delete(STRIPES_KEY, postId.toString());
+                putStripeCount(postId, 1);
+            } catch (DataAccessException e) {
+                log.error("post like store eviction failed: postId={}, {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    //닫은 slot 의 migrating 을 새 배치의 slot 으로 옮김
+    //옮기는 도중 프로세스가 죽으면 migrating 에 남고, 같은 slot 을 다시 닫을 때 함께 옮겨짐
+    private void migrate(String from, Long postId, int n) {
+
+        Map<String, String> migrating = redisTemplate.<String, String>opsForHash().entries(from + MIGRATING_SUFFIX);
+        if (migrating.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<String>> buckets = new HashMap<>();
+        migrating.forEach((userId, liked) -> {
+            List<String> bucket = buckets.computeIfAbsent(stripeOf(Long.valueOf(userId), n), stripe -> new ArrayList<>());
+            bucket.add(userId);
+            bucket.add(liked);
+        });
+
+        buckets.forEach((stripe, args) -> {
+            String slot = slot(postId, n, stripe);
+            redisTemplate.execute(MIGRATE_SCRIPT, List.of(slot, slot + PENDING_SUFFIX), args.toArray());
+            redisTemplate.opsForSet().add(DIRTY_KEY, dirtyMember(postId, n, stripe));
+        });
+        redisTemplate.delete(from + MIGRATING_SUFFIX);
+    }
+
+    //사용자 stripe 를 뺀 나머지 stripe 의 좋아요 수 합, 하나라도 적재되지 않았으면 -1
+    private int countOtherStripes(Long postId, int n, int own) {
+        List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < n; i++) {
+                if (i != own) {
+                    connection.setCommands().sCard(bytes(slot(postId, n, i)));
+                }
+            }
+            return null;
+        });
+
+        int count = 0;
+        for (Object size : sizes) {
+            long value = (Long) size;
+            if (value == 0) {
+                return -1;
+            }
+            count += (int) value - 1;
+        }
+        return count;
+    }
+
+    //게시글 slot 에 기록된 stripe 수 (로컬 값이 아닌 Redis 의 값)
+    private int layoutOf(Long postId) {
+        String layout = redisTemplate.opsForValue().get(slot(postId) + LAYOUT_SUFFIX);
+        return layout == null ? 1 : Integer.parseInt(layout);
+    }
+
+    private Optional<String> lockResize(Long postId) {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(slot(postId) + RESIZE_LOCK_SUFFIX, token, RESIZE_LOCK_TTL);
+        return Boolean.TRUE.equals(locked) ? Optional.of(token) : Optional.empty();
+    }
+
+    private void unlockResize(Long postId, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(slot(postId) + RESIZE_LOCK_SUFFIX), token);
+        } catch (DataAccessException e) {
+            //TTL 이 지나면 풀림
+            log.warn("post like store resize unlock failed: postId={}, {}", postId, e.getMessage());
+        }
+    }
+
+    private int stripeCount(Long postId) {
+        return stripes.getOrDefault(postId, 1);
+    }
+
+    private synchronized void putStripeCount(Long postId, int n) {
+        Map<Long, Integer> next = new HashMap<>(stripes);
+        if (n > 1) {
+            next.put(postId, n);
+        } else {
+            next.remove(postId);
+        }
+        stripes = Map.copyOf(next);
+    }
+
+    //사용자 id 로 stripe 선택
+    private int stripeOf(Long userId, int n) {
+        return (int) Math.floorMod(userId, (long) n);
+    }
+
+    private String dirtyMember(Long postId, int n, int stripe) {
+        return n == 1 ? postId.toString() : postId + ":" + stripe;
+    }
+
+    private List<String> freezeKeys(String slot) {
+        return List.of(slot + LAYOUT_SUFFIX, slot, slot + PENDING_SUFFIX, slot + GENERATION_SUFFIX, slot + MIGRATING_SUFFIX);
+    }
+
+    private String slot(LikeShard shard) {
+        return shard.stripe() == null ? slot(shard.postId()) : slot(shard.postId(), shard.stripe());
+    }
+
+    private String slot(Long postId, int n, int stripe) {
+        return n == 1 ? slot(postId) : slot(postId, stripe);
+    }
+
+    //slot 의 set 키, 다른 키는 여기에 suffix 를 붙임
+    private String slot(Long postId) {
+        return KEY_PREFIX + "{" + postId + "}";
+    }
+
+    private String slot(Long postId, int stripe) {
+        return KEY_PREFIX + "{" + postId + ":" + stripe + "}";
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
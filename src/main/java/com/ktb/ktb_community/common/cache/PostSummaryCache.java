@@ -0,0 +1,163 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//피드에 쓰는 게시글 요약 캐시 (Redis)
+//상세 캐시와 같은 방식으로 세대 번호를 두어, 적재 도중 수정/삭제되면 적재 결과를 버림
+//  post:summary:{postId}      : 요약 JSON
+//  post:summary:{postId}:gen  : 세대 번호, 무효화마다 증가
+@Slf4j
+@Component
+public class PostSummaryCache {
+
+    static final String KEY_PREFIX = "post:summary:";
+    static final String GENERATION_SUFFIX = ":gen";
+
+    //DB 조회 전에 읽은 세대와 다르면 (그 사이 수정/삭제) 이전 요약이므로 저장하지 않음
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            if generation ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public PostSummaryCache(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${post.cache.summary.redis-ttl-seconds:600}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    //MGET 한 번으로 조회, 없는 id 는 결과에서 빠짐
+    public Map<Long, CachedPostSummary> getAll(List<Long> postIds) {
+
+        Map<Long, CachedPostSummary> result = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(postIds.stream().map(this::key).toList());
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < postIds.size(); i++) {
+                String json = values.get(i);
+                if (json != null) {
+                    result.put(postIds.get(i), objectMapper.readValue(json, CachedPostSummary.class));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("post summary cache read failed: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    //DB 조회 전에 읽어서 putAll 에 넘김, 세대 키가 없으면 "0"
+    //Redis 장애 시 빈 map (아무것도 저장하지 않음)
+    public Map<Long, String> generations(List<Long> postIds) {
+
+        Map<Long, String> result = new HashMap<>();
+        if (postIds.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(postIds.stream()
+                    .map(id -> key(id) + GENERATION_SUFFIX)
+                    .toList());
+            if (values == null) {
+                return result;
+            }
+            for (int i = 0; i < postIds.size(); i++) {
+                String generation = values.get(i);
+                result.put(postIds.get(i), generation == null ? "0" : generation);
+            }
+        } catch (DataAccessException e) {
+            log.warn("post summary cache generation read failed: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    //게시글마다 세대를 확인하는 script 를 pipeline 으로 실행 (키 두 개가 같은 slot)
+    public void putAll(Collection<CachedPostSummary> summaries, Map<Long, String> generations) {
+
+        List<byte[][]> entries = new ArrayList<>();
+        try {
+            for (CachedPostSummary summary : summaries) {
+                String generation = generations.get(summary.getPostId());
+                if (generation == null) {
+                    continue;
+                }
+                String key = key(summary.getPostId());
+                entries.add(new byte[][]{
+                        bytes(key), bytes(key + GENERATION_SUFFIX), bytes(generation),
+                        objectMapper.writeValueAsBytes(summary), bytes(String.valueOf(ttl.toSeconds()))});
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            byte[] script = bytes(PUT_SCRIPT.getScriptAsString());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach(keysAndArgs -> connection.scriptingCommands()
+                        .eval(script, ReturnType.INTEGER, 2, keysAndArgs));
+                return null;
+            });
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("post summary cache write failed: {}", e.getMessage());
+        }
+    }
+
+    //커밋 이후 세대를 올리고 삭제
+    public void evict(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.execute(INVALIDATE_SCRIPT, List.of(key(postId), key(postId) + GENERATION_SUFFIX),
+                        String.valueOf(ttl.toSeconds()));
+            } catch (DataAccessException e) {
+                log.error("post summary cache eviction failed: postId={}, {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    private String key(Long postId) {
+        return KEY_PREFIX + "{" + postId + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,275 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+//인기 게시글 랭킹 (Redis sorted set)
+//점수 = (기본 점수 + 좋아요 * w + 댓글 * w + 조회 * w) * 2^((작성 시각 - epoch) / 반감기)
+//현재 시각 기준 감쇠 2^(-(now - 작성 시각) / 반감기) 와 순서가 같고 now 가 빠져 있어서
+//시간이 흘러도 점수를 다시 계산할 필요 없이 좋아요, 댓글, 조회마다 가중치 * boost 만 ZINCRBY
+//  post:{trending}                 : postId -> 점수
+//  post:{trending}:boost           : postId -> 2^((작성 시각 - epoch) / 반감기), 랭킹 대상 게시글만
+//  post:{trending}:epoch           : boost 기준 시각 (PostTrendingRecomputeJob 이 옮기면서 전체 재계산)
+//  post:{trending}:recompute-lock  : 재계산 중인 실행 (SET NX, 여러 노드 중 한 곳만 재계산)
+//  post:{trending}:rebuild:{runId} : 실행마다 따로 쓰는 임시 키
+//{trending} hash tag 로 모든 키가 Cluster 에서 같은 slot
+@Slf4j
+@Component
+public class PostTrendingIndex {
+
+    static final String KEY = "post:{trending}";
+    static final String BOOST_KEY = "post:{trending}:boost";
+    static final String EPOCH_KEY = "post:{trending}:epoch";
+    static final String LOCK_KEY = "post:{trending}:recompute-lock";
+    static final String REBUILD_SUFFIX = ":rebuild:";
+
+    //교체되지 못한 임시 키 (실행 중 프로세스가 죽음) 가 남지 않도록
+    private static final Duration REBUILD_TTL = Duration.ofHours(1);
+
+    //epoch 가 없으면 (재계산 전) 첫 게시글 작성 시각을 epoch 로 사용
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[3], ARGV[2], 'NX')
+            local epoch = tonumber(redis.call('GET', KEYS[3]))
+            local boost = math.pow(2, (tonumber(ARGV[2]) - epoch) / tonumber(ARGV[3]))
+            redis.call('HSET', KEYS[2], ARGV[1], tostring(boost))
+            redis.call('ZADD', KEYS[1], tonumber(ARGV[4]) * boost, ARGV[1])
+            return 1
+            """, Long.class);
+
+    //ARGV: {postId, 가중치} 쌍, boost 가 없는 게시글 (랭킹 기간이 지남, 삭제) 은 건너뜀
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local updated = 0
+            for i = 1, #ARGV, 2 do
+                local boost = redis.call('HGET', KEYS[2], ARGV[i])
+                if boost then
+                    redis.call('ZINCRBY', KEYS[1], tonumber(ARGV[i + 1]) * tonumber(boost), ARGV[i])
+                    updated = updated + 1
+                end
+            end
+            return updated
+            """, Long.class);
+
+    //재계산한 임시 키로 교체하고 epoch 이동, lock 을 잃은 실행 (TTL 만료 후 다른 노드가 시작) 은 교체하지 않고 0
+    //RENAME 은 TTL 도 옮기므로 PERSIST
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[6]) ~= ARGV[2] then
+                redis.call('DEL', KEYS[3], KEYS[4])
+                return 0
+            end
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                redis.call('RENAME', KEYS[3], KEYS[1])
+                redis.call('RENAME', KEYS[4], KEYS[2])
+                redis.call('PERSIST', KEYS[1])
+                redis.call('PERSIST', KEYS[2])
+            else
+                redis.call('DEL', KEYS[1], KEYS[2])
+            end
+            redis.call('SET', KEYS[5], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final double halfLifeMs;
+    private final double basePoints;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double viewWeight;
+
+    public PostTrendingIndex(StringRedisTemplate redisTemplate,
+                             @Value("${post.trending.half-life-hours:12}") double halfLifeHours,
+                             @Value("${post.trending.base-points:1}") double basePoints,
+                             @Value("${post.trending.like-weight:3}") double likeWeight,
+                             @Value("${post.trending.comment-weight:5}") double commentWeight,
+                             @Value("${post.trending.view-weight:0.2}") double viewWeight) {
+        this.redisTemplate = redisTemplate;
+        this.halfLifeMs = halfLifeHours * 3_600_000;
+        this.basePoints = basePoints;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.viewWeight = viewWeight;
+    }
+
+    //점수와 같은 순서로 정렬된 게시글, 다음 페이지 cursor 는 마지막 항목의 (score, postId)
+    public record Entry(Long postId, double score) {
+    }
+
+    //재계산 대상 게시글의 카운터
+    public record TrendingSource(Long postId, long createdAtMillis, int likeCount, int commentCount, int viewCount) {
+    }
+
+    public void add(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.execute(ADD_SCRIPT, List.of(KEY, BOOST_KEY, EPOCH_KEY),
+                        postId.toString(), String.valueOf(System.currentTimeMillis()),
+                        String.valueOf(halfLifeMs), String.valueOf(basePoints));
+            } catch (DataAccessException e) {
+                log.error("post trending add failed: postId={}, {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    public void liked(Long postId, boolean liked) {
+        increment(Map.of(postId, liked ? likeWeight : -likeWeight));
+    }
+
+    public void commented(Long postId, int delta) {
+        increment(Map.of(postId, delta * commentWeight));
+    }
+
+    //조회수 flush 에서 게시글별로 모은 증가분
+    public void viewed(Map<Long, Long> views) {
+        Map<Long, Double> weights = new HashMap<>();
+        views.forEach((postId, count) -> weights.put(postId, count * viewWeight));
+        increment(weights);
+    }
+
+    public void remove(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.opsForZSet().remove(KEY, postId.toString());
+                redisTemplate.opsForHash().delete(BOOST_KEY, postId.toString());
+            } catch (DataAccessException e) {
+                log.error("post trending remove failed: postId={}, {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    //(score, postId) 보다 뒤의 게시글을 최대 limit 개, 점수 내림차순 + 같은 점수는 postId 내림차순
+    //점수가 계속 바뀌므로 페이지 사이에 순위가 바뀐 게시글은 빠지거나 겹칠 수 있음
+    //Redis 장애 시 Optional.empty()
+    public Optional<List<Entry>> findPage(Double score, Long cursorId, int limit) {
+        try {
+            Map<Long, Double> entries = new LinkedHashMap<>();
+
+            double max = Double.POSITIVE_INFINITY;
+            if (score != null) {
+                //cursor 와 점수가 같은 게시글은 postId 로 이어서
+                collect(entries, redisTemplate.opsForZSet().rangeByScoreWithScores(KEY, score, score));
+                if (cursorId != null) {
+                    entries.keySet().removeIf(postId -> postId >= cursorId);
+                }
+                max = Math.nextDown(score);
+            }
+
+            Set<TypedTuple<String>> lower = redisTemplate.opsForZSet().reverseRangeByScoreWithScores(KEY, Double.NEGATIVE_INFINITY, max, 0, limit);
+            collect(entries, lower);
+
+            //limit 에서 잘린 마지막 점수의 나머지 게시글까지 채워서 postId 순서를 맞춤
+            if (lower != null && lower.size() == limit) {
+                double last = lower.stream().mapToDouble(TypedTuple::getScore).min().orElse(max);
+                collect(entries, redisTemplate.opsForZSet().rangeByScoreWithScores(KEY, last, last));
+            }
+
+            List<Entry> page = entries.entrySet().stream()
+                    .map(entry -> new Entry(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Entry::score).reversed().thenComparing(Entry::postId, Comparator.reverseOrder()))
+                    .limit(limit)
+                    .toList();
+            return Optional.of(page);
+        } catch (DataAccessException e) {
+            log.warn("post trending read failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    //재계산 lock, 얻으면 실행 id (임시 키 이름, lock 값) 반환
+    public Optional<String> tryLockRecompute(Duration ttl) {
+        String runId = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, runId, ttl);
+        return Boolean.TRUE.equals(locked) ? Optional.of(runId) : Optional.empty();
+    }
+
+    public void unlockRecompute(String runId) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), runId);
+    }
+
+    //DB 카운터로 계산한 점수를 이 실행의 임시 키에 기록
+    public void writeRebuild(List<TrendingSource> sources, long epoch, String runId) {
+
+        if (sources.isEmpty()) {
+            return;
+        }
+
+        Set<TypedTuple<String>> scores = new HashSet<>();
+        Map<String, String> boosts = new HashMap<>();
+        for (TrendingSource source : sources) {
+            double boost = Math.pow(2, (source.createdAtMillis() - epoch) / halfLifeMs);
+            double points = basePoints
+                    + source.likeCount() * likeWeight
+                    + source.commentCount() * commentWeight
+                    + source.viewCount() * viewWeight;
+            scores.add(TypedTuple.of(source.postId().toString(), points * boost));
+            boosts.put(source.postId().toString(), String.valueOf(boost));
+        }
+
+        redisTemplate.opsForZSet().add(KEY + REBUILD_SUFFIX + runId, scores);
+        redisTemplate.opsForHash().putAll(BOOST_KEY + REBUILD_SUFFIX + runId, boosts);
+        redisTemplate.expire(KEY + REBUILD_SUFFIX + runId, REBUILD_TTL);
+        redisTemplate.expire(BOOST_KEY + REBUILD_SUFFIX + runId, REBUILD_TTL);
+    }
+
+    //재계산 중 들어온 증가분은 버려지고 다음 재계산에서 DB 카운터로 반영됨
+    //lock 을 잃었으면 교체하지 않고 false
+    public boolean publishRebuild(long epoch, String runId) {
+        Long published = redisTemplate.execute(PUBLISH_SCRIPT,
+                List.of(KEY, BOOST_KEY, KEY + REBUILD_SUFFIX + runId, BOOST_KEY + REBUILD_SUFFIX + runId, EPOCH_KEY, LOCK_KEY),
+                String.valueOf(epoch), runId);
+        return published != null && published == 1;
+    }
+
+    private void increment(Map<Long, Double> weights) {
+
+        List<String> args = new ArrayList<>(weights.size() * 2);
+        weights.forEach((postId, weight) -> {
+            if (weight != 0) {
+                args.add(postId.toString());
+                args.add(String.valueOf(weight));
+            }
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.execute(INCREMENT_SCRIPT, List.of(KEY, BOOST_KEY), args.toArray());
+            } catch (DataAccessException e) {
+                //빠진 증가분은 다음 재계산에서 보정
+                log.warn("post trending increment failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void collect(Map<Long, Double> entries, Set<TypedTuple<String>> tuples) {
+        if (tuples != null) {
+            tuples.forEach(tuple -> entries.put(Long.valueOf(tuple.getValue()), tuple.getScore()));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//게시글별 변경 버전 (ETag 계산용)
+//수정, 삭제, 좋아요, 댓글, 작성자 프로필 수정으로 응답이 바뀔 때마다 증가
+//키가 없으면 현재 시각(ms)에서 시작해서 키가 사라졌다 다시 생겨도 이전 버전과 겹치지 않음
+@Slf4j
+@Component
+public class PostVersionStore {
+
+    static final String KEY_PREFIX = "post:version:";
+
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('SET', KEYS[1], ARGV[1])
+            end
+            local version = redis.call('INCRBY', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public PostVersionStore(StringRedisTemplate redisTemplate,
+                            @Value("${post.version.ttl-seconds:86400}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    //커밋 후 증가 (증가 전 버전으로 새 데이터를 받아가도 다음 요청에서 200 으로 다시 받음)
+    public void bump(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                touch(postId, 1);
+            } catch (DataAccessException e) {
+                log.error("post version bump failed: postId={}, {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    //작성자 프로필 수정처럼 여러 게시글이 한 번에 바뀔 때
+    //게시글마다 스크립트를 실행하는 대신 키를 지워서 다음 조회 때 현재 시각에서 다시 시작 (DEL 한 번)
+    public void bumpAll(Collection<Long> postIds) {
+
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = postIds.stream().map(id -> KEY_PREFIX + id).toList();
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                redisTemplate.delete(keys);
+            } catch (DataAccessException e) {
+                log.error("post version bump failed: postIds={}, {}", postIds.size(), e.getMessage());
+            }
+        });
+    }
+
+    //Redis 장애 시 Optional.empty() (조건부 응답 없이 일반 응답)
+    public Optional<Long> getVersion(Long postId) {
+        return getVersions(List.of(postId)).map(versions -> versions.get(postId));
+    }
+
+    //MGET 한 번으로 조회, 없는 키만 초기화
+    public Optional<Map<Long, Long>> getVersions(List<Long> postIds) {
+
+        if (postIds.isEmpty()) {
+            return Optional.of(Map.of());
+        }
+
+        try {
+            Map<Long, Long> versions = new HashMap<>();
+            List<String> values = redisTemplate.opsForValue().multiGet(postIds.stream().map(id -> KEY_PREFIX + id).toList());
+
+            for (int i = 0; i < postIds.size(); i++) {
+                String value = values == null ? null : values.get(i);
+                Long postId = postIds.get(i);
+                versions.put(postId, value != null ? Long.valueOf(value) : touch(postId, 0));
+            }
+            return Optional.of(versions);
+        } catch (DataAccessException e) {
+            log.warn("post version read failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Long touch(Long postId, long delta) {
+        return redisTemplate.execute(TOUCH_SCRIPT, List.of(KEY_PREFIX + postId),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(delta), String.valueOf(ttl.toSeconds()));
+    }
+}
@@ -0,0 +1,233 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import com.ktb.ktb_community.dto.UserNameDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+//가입된 이메일, 닉네임의 Bloom filter (Redis bitmap)
+//"없음" 이면 확실히 사용 가능, "있을 수 있음" 이면 DB 에서 최종 확인
+//  user:bloom:{bits:hashes}:{field}          : 사용 중인 bitmap (크기가 바뀌면 키도 바뀜)
+//  user:bloom:{bits:hashes}:{field}:rebuild  : 재구성 중인 bitmap
+//  user:bloom:{bits:hashes}:rebuild-lock     : 재구성 중인 노드 (SET NX, 한 노드만 재구성)
+//{bits:hashes} 가 hash tag 라서 한 스크립트에서 여러 키를 다뤄도 Cluster 에서 같은 slot
+//삭제는 지원하지 않아서 변경 전 이메일, 닉네임은 재구성 전까지 "있을 수 있음" 으로 남음
+@Slf4j
+@Component
+public class UserNameFilter {
+
+    static final String KEY_PREFIX = "user:bloom:";
+    static final String REBUILD_SUFFIX = ":rebuild";
+    static final String LOCK_SUFFIX = ":rebuild-lock";
+
+    public enum Field {
+        EMAIL("email"),
+        NICKNAME("nickname");
+
+        private final String key;
+
+        Field(String key) {
+            this.key = key;
+        }
+    }
+
+    //bitmap 이 없으면 (재구성 전, Redis 유실) -1
+    private static final RedisScript<Long> CONTAINS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            for i = 1, #ARGV do
+                if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then
+                    return 0
+                end
+            end
+            return 1
+            """, Long.class);
+
+    //존재하는 키에만 기록 (재구성 중이면 재구성 bitmap 에도 기록해서 교체 시 빠지지 않음)
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            local written = 0
+            for k = 1, #KEYS do
+                if redis.call('EXISTS', KEYS[k]) == 1 then
+                    for i = 1, #ARGV do
+                        redis.call('SETBIT', KEYS[k], ARGV[i], 1)
+                    end
+                    written = written + 1
+                end
+            end
+            return written
+            """, Long.class);
+
+    //KEYS: {lock, 재구성 bitmap...}, ARGV: {노드 토큰, lock TTL, 마지막 bit 위치}
+    //이미 다른 노드가 재구성 중이면 0
+    private static final RedisScript<Long> START_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 0
+            end
+            for k = 2, #KEYS do
+                redis.call('DEL', KEYS[k])
+                redis.call('SETBIT', KEYS[k], ARGV[3], 0)
+            end
+            return 1
+            """, Long.class);
+
+    //KEYS: {lock, 재구성 bitmap}, ARGV: {노드 토큰, lock TTL, 위치...}
+    //lock 을 잃었으면 (TTL 만료 후 다른 노드가 시작) 기록하지 않고 0
+    private static final RedisScript<Long> WRITE_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            for i = 3, #ARGV do
+                redis.call('SETBIT', KEYS[2], ARGV[i], 1)
+            end
+            return 1
+            """, Long.class);
+
+    //KEYS: {lock, 사용 중 bitmap, 재구성 bitmap, ...}, ARGV: {노드 토큰}
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            for k = 2, #KEYS, 2 do
+                if redis.call('EXISTS', KEYS[k + 1]) == 1 then
+                    redis.call('RENAME', KEYS[k + 1], KEYS[k])
+                end
+            end
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long bits;
+    private final int hashes;
+    private final long lockTtlMs;
+
+    //bits = -n ln(p) / (ln 2)^2, hashes = bits / n * ln 2
+    public UserNameFilter(StringRedisTemplate redisTemplate,
+                          @Value("${user.name-filter.expected-users:1000000}") long expectedUsers,
+                          @Value("${user.name-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${user.name-filter.rebuild-lock-ttl-ms:60000}") long lockTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtlMs = lockTtlMs;
+        this.bits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedUsers * Math.log(2)));
+    }
+
+    //false 면 사용 중인 값이 아님이 확실, Redis 장애나 재구성 전에는 true (DB 확인)
+    public boolean mightContain(Field field, String value) {
+        try {
+            Long result = redisTemplate.execute(CONTAINS_SCRIPT, List.of(key(field)), positions(value));
+            return result == null || result != 0;
+        } catch (DataAccessException e) {
+            log.warn("user name filter read failed: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    //가입, 정보 수정 커밋 후 기록 (커밋 전에 기록돼도 false positive 일 뿐이지만 롤백된 값이 남지 않도록)
+    public void add(String email, String nickname) {
+        TransactionUtils.runAfterCommit(() -> {
+            try {
+                write(Field.EMAIL, email);
+                write(Field.NICKNAME, nickname);
+            } catch (DataAccessException e) {
+                //빠진 값은 false negative 가 되지만 INSERT 시 unique 제약으로 최종 확인
+                log.error("user name filter add failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    //재구성 시작, 빈 bitmap 을 미리 만들어 두어 재구성 중의 add 도 함께 기록
+    //lock 을 얻은 노드만 재구성 (다른 노드가 재구성 중인 bitmap 을 지우지 않도록), 얻으면 노드 토큰 반환
+    public Optional<String> startRebuild() {
+        List<String> keys = new ArrayList<>();
+        keys.add(lockKey());
+        for (Field field : Field.values()) {
+            keys.add(key(field) + REBUILD_SUFFIX);
+        }
+        String token = UUID.randomUUID().toString();
+        Long started = redisTemplate.execute(START_REBUILD_SCRIPT, keys,
+                token, String.valueOf(lockTtlMs), String.valueOf(bits - 1));
+        return started != null && started == 1 ? Optional.of(token) : Optional.empty();
+    }
+
+    //기록할 때마다 lock 연장, lock 을 잃었으면 false (재구성 중단)
+    public boolean writeRebuild(String token, List<UserNameDto> users) {
+        for (Field field : Field.values()) {
+            List<String> args = new ArrayList<>(List.of(token, String.valueOf(lockTtlMs)));
+            for (UserNameDto user : users) {
+                args.addAll(List.of(positions(field == Field.EMAIL ? user.getEmail() : user.getNickname())));
+            }
+            Long written = redisTemplate.execute(WRITE_REBUILD_SCRIPT,
+                    List.of(lockKey(), key(field) + REBUILD_SUFFIX), args.toArray());
+            if (written == null || written == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //lock 을 가진 노드만 교체하고 lock 해제
+    public boolean publishRebuild(String token) {
+        List<String> keys = new ArrayList<>();
+        keys.add(lockKey());
+        for (Field field : Field.values()) {
+            keys.add(key(field));
+            keys.add(key(field) + REBUILD_SUFFIX);
+        }
+        Long published = redisTemplate.execute(PUBLISH_SCRIPT, keys, token);
+        return published != null && published == 1;
+    }
+
+    private void write(Field field, String value) {
+        String key = key(field);
+        redisTemplate.execute(ADD_SCRIPT, List.of(key, key + REBUILD_SUFFIX), positions(value));
+    }
+
+    private String key(Field field) {
+        return KEY_PREFIX + "{" + bits + ":" + hashes + "}:" + field.key;
+    }
+
+    private String lockKey() {
+        return KEY_PREFIX + "{" + bits + ":" + hashes + "}" + LOCK_SUFFIX;
+    }
+
+    //SHA-256 앞 16 바이트로 두 해시를 만들어 hashes 개의 위치 계산 (double hashing)
+    //MySQL 기본 collation 이 대소문자를 구분하지 않으므로 소문자로 맞춤
+    String[] positions(String value) {
+
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256")
+                    .digest(value.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong();
+
+        String[] positions = new String[hashes];
+        for (int i = 0; i < hashes; i++) {
+            positions[i] = String.valueOf(Math.floorMod(h1 + i * h2, bits));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.ktb.ktb_community.dto.UserNameDto;
+import com.ktb.ktb_community.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+//기동 시 MySQL 의 이메일, 닉네임으로 Bloom filter 재구성
+//재구성이 끝나기 전에는 이전 bitmap 으로 (없으면 DB 로) 확인
+//여러 노드가 동시에 기동해도 rebuild lock 을 얻은 한 노드만 재구성
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNameFilterWarmer {
+
+    private final UserRepository userRepository;
+    private final UserNameFilter userNameFilter;
+
+    @Value("${user.name-filter.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+
+        try {
+            Optional<String> token = userNameFilter.startRebuild();
+            if (token.isEmpty()) {
+                log.info("user name filter is being rebuilt by another node, skipped");
+                return;
+            }
+
+            long cursor = 0L;
+            int count = 0;
+            List<UserNameDto> users;
+            do {
+                users = userRepository.findNames(cursor, PageRequest.of(0, batchSize));
+                if (users.isEmpty()) {
+                    break;
+                }
+                if (!userNameFilter.writeRebuild(token.get(), users)) {
+                    log.warn("user name filter rebuild lock lost, aborted: users={}", count);
+                    return;
+                }
+                cursor = users.get(users.size() - 1).getUserId();
+                count += users.size();
+            } while (users.size() == batchSize);
+
+            if (userNameFilter.publishRebuild(token.get())) {
+                log.info("user name filter rebuilt: users={}", count);
+            } else {
+                log.warn("user name filter rebuild lock lost before publish: users={}", count);
+            }
+        } catch (DataAccessException e) {
+            log.error("user name filter warm-up failed, availability is checked in db: {}", e.getMessage());
+        }
+    }
+}
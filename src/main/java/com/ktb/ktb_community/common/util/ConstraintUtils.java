@@ -0,0 +1,24 @@
+package com.ktb.ktb_community.common.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public final class ConstraintUtils {
+
+    private ConstraintUtils() {
+    }
+
+    //위반된 제약 조건이 constraintName 인지 (드라이버, 로케일마다 다른 오류 메시지 대신 Hibernate 가 추출한 이름으로 비교)
+    //MySQL 은 unique 위반 시 "테이블.제약", H2 는 스키마가 붙은 대문자 index 이름 ("제약_INDEX_n") 으로 알려줌
+    public static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String violated = violation.getConstraintName().toLowerCase();
+                violated = violated.substring(violated.lastIndexOf('.') + 1);
+                return violated.equals(constraintName) || violated.startsWith(constraintName + "_index");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ktb.ktb_community.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    //트랜잭션 안이면 커밋 이후에, 밖이면 바로 실행
+    //캐시/인덱스 갱신이 롤백된 변경을 반영하거나, 커밋 전에 이전 값이 다시 캐시되는 것을 방지
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
@@ -1,18 +1,22 @@
 package com.ktb.ktb_community.controller.auth;
 
 import com.ktb.ktb_community.common.advice.ApiResponse;
+import com.ktb.ktb_community.common.Security.AuthUser;
 import com.ktb.ktb_community.common.Security.CookieUtil;
 import com.ktb.ktb_community.common.Security.LoginRequestDto;
 import com.ktb.ktb_community.common.Security.LoginResponseDto;
 import com.ktb.ktb_community.common.Security.LoginSuccessResponseDto;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore.Session;
 import com.ktb.ktb_community.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/api/auth")
@@ -56,11 +60,11 @@ public class AuthController {
 
     @DeleteMapping
     public ResponseEntity<Void> logout(
-            Principal principal,
+            @AuthenticationPrincipal AuthUser authUser,
             @CookieValue("refreshToken") String refreshToken
     ) {
 
-        if(principal != null) {
+        if(authUser != null) {
             authService.logout(refreshToken);
         }
 
@@ -71,4 +75,30 @@ public class AuthController {
                 .build();
     }
 
+    //로그인된 세션 (RT) 목록
+    @GetMapping("/sessions")
+    public ResponseEntity<ApiResponse<List<Session>>> getSessions(@AuthenticationPrincipal AuthUser authUser) {
+
+        List<Session> sessions = authService.getSessions(authUser.userId());
+
+        ApiResponse<List<Session>> response = ApiResponse.success(
+                "sessions_get_success",
+                sessions
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    //모든 기기에서 로그아웃, 현재 기기의 RT 쿠키도 무효화
+    @DeleteMapping("/sessions")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthUser authUser) {
+
+        authService.logoutAll(authUser.userId());
+
+        ResponseCookie clearCookie = cookieUtil.clearRefreshTokenCookie();
+
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, clearCookie.toString())
+                .build();
+    }
 }
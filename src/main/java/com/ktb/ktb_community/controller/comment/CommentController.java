@@ -1,5 +1,6 @@
 package com.ktb.ktb_community.controller.comment;
 
+import com.ktb.ktb_community.common.Security.AuthUser;
 import com.ktb.ktb_community.common.advice.ApiResponse;
 import com.ktb.ktb_community.dto.CommentPageResponseDto;
 import com.ktb.ktb_community.dto.CommentRequestDto;
@@ -8,9 +9,9 @@ import com.ktb.ktb_community.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -23,10 +24,10 @@ public class CommentController {
     public ResponseEntity<ApiResponse<CommentResponseDto>> createComment(
             @RequestParam(value = "postid") Long postId,
             @RequestBody @Valid CommentRequestDto commentRequestDto,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ) {
 
-        CommentResponseDto responseDto = commentService.create(commentRequestDto, principal.getName(), postId);
+        CommentResponseDto responseDto = commentService.create(commentRequestDto, authUser.userId(), postId);
         ApiResponse<CommentResponseDto> response =  ApiResponse.success(
                 "create_comment_success",
                 responseDto
@@ -38,10 +39,10 @@ public class CommentController {
     @GetMapping("/{commentId}")
     public ResponseEntity<ApiResponse<CommentResponseDto>> getComment(
             @PathVariable Long commentId,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        CommentResponseDto commentResponseDto = commentService.getCommentById(commentId, principal.getName());
+        CommentResponseDto commentResponseDto = commentService.getCommentById(commentId, authUser.userId());
         ApiResponse<CommentResponseDto> response =  ApiResponse.success(
                 "get_comment_success",
                 commentResponseDto
@@ -55,10 +56,10 @@ public class CommentController {
             @RequestParam("postid") Long postId,
             @RequestParam(value = "cursor", required = false) Integer cursor,
             @RequestParam(value = "size", required = false, defaultValue = "20") Integer size,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        CommentPageResponseDto commentPageResponseDto = commentService.getCommentsByPostId(postId, cursor, size, principal.getName());
+        CommentPageResponseDto commentPageResponseDto = commentService.getCommentsByPostId(postId, cursor, size, authUser.userId());
 
         ApiResponse<CommentPageResponseDto> response =  ApiResponse.success(
                 "get_comments_success",
@@ -68,14 +69,32 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<ApiResponse<CommentPageResponseDto>> getReplies(
+            @PathVariable("commentId") Long commentId,
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size,
+            @AuthenticationPrincipal AuthUser authUser
+    ){
+
+        CommentPageResponseDto commentPageResponseDto = commentService.getReplies(commentId, cursor, size, authUser.userId());
+
+        ApiResponse<CommentPageResponseDto> response =  ApiResponse.success(
+                "get_replies_success",
+                commentPageResponseDto
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{commentId}")
     public ResponseEntity<ApiResponse<CommentResponseDto>> updateComment(
             @PathVariable("commentId") Long commentId,
             @RequestBody @Valid CommentRequestDto commentRequestDto,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        CommentResponseDto responseDto = commentService.update(commentRequestDto, principal.getName(), commentId);
+        CommentResponseDto responseDto = commentService.update(commentRequestDto, authUser.userId(), commentId);
 
         ApiResponse<CommentResponseDto> response =  ApiResponse.success(
                 "update_comment_success",
@@ -88,10 +107,10 @@ public class CommentController {
     @DeleteMapping("/{commentId}")
     public ResponseEntity<ApiResponse<Void>> deleteComment(
             @PathVariable("commentId") Long commentId,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        commentService.deleteCommentById(commentId, principal.getName());
+        commentService.deleteCommentById(commentId, authUser.userId());
 
         ApiResponse<Void> response =  ApiResponse.success("delete_comment_success");
         return ResponseEntity.ok(response);
@@ -1,13 +1,14 @@
 package com.ktb.ktb_community.controller.like;
 
+import com.ktb.ktb_community.common.Security.AuthUser;
 import com.ktb.ktb_community.common.advice.ApiResponse;
 import com.ktb.ktb_community.dto.PostLikeResponseDto;
 import com.ktb.ktb_community.service.PostLikeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/like")
@@ -19,10 +20,10 @@ public class PostLikeController {
     @PostMapping
     public ResponseEntity<ApiResponse<PostLikeResponseDto>> createPostLike(
             @RequestParam("postid") Long postId,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        PostLikeResponseDto dto = postLikeService.createLike(postId, principal.getName());
+        PostLikeResponseDto dto = postLikeService.createLike(postId, authUser.userId());
 
         ApiResponse<PostLikeResponseDto> response = ApiResponse.success(
                 "post_like_success",
@@ -35,10 +36,10 @@ public class PostLikeController {
     @DeleteMapping
     public ResponseEntity<ApiResponse<Void>> deletePostLike(
             @RequestParam("postid") Long postId,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ){
 
-        PostLikeResponseDto dto = postLikeService.deleteLike(postId, principal.getName());
+        PostLikeResponseDto dto = postLikeService.deleteLike(postId, authUser.userId());
 
         ApiResponse<Void> response = ApiResponse.success("post_like_success");
         return ResponseEntity.ok(response);
@@ -1,5 +1,6 @@
 package com.ktb.ktb_community.controller.post;
 
+import com.ktb.ktb_community.common.Security.AuthUser;
 import com.ktb.ktb_community.common.advice.ApiResponse;
 import com.ktb.ktb_community.dto.PostPageResponseDto;
 import com.ktb.ktb_community.dto.PostRequestDto;
@@ -7,10 +8,13 @@ import com.ktb.ktb_community.dto.PostResponseDto;
 import com.ktb.ktb_community.service.PostService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.security.Principal;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -22,10 +26,10 @@ public class PostController {
     @PostMapping
     public ResponseEntity<ApiResponse<PostResponseDto>> createPost(
             @RequestBody @Valid PostRequestDto postRequestDto,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ) {
 
-        PostResponseDto postResponseDto = postService.create(postRequestDto, principal.getName());
+        PostResponseDto postResponseDto = postService.create(postRequestDto, authUser.userId());
 
         ApiResponse<PostResponseDto> response = ApiResponse.success(
                 "create_post_success",
@@ -35,9 +39,16 @@ public class PostController {
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<ApiResponse<PostResponseDto>> getPost(@PathVariable("postId") Long postId, Principal principal) {
+    public ResponseEntity<ApiResponse<PostResponseDto>> getPost(@PathVariable("postId") Long postId, @AuthenticationPrincipal AuthUser authUser, WebRequest webRequest) {
 
-        PostResponseDto postResponseDto = postService.getPostById(postId,principal.getName());
+        //ETag 가 같으면 DTO 를 만들지 않고 304 (304 도 조회이므로 조회수는 집계)
+        String etag = postService.getPostEtag(postId, authUser.userId());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            postService.countView(postId);
+            return null;
+        }
+
+        PostResponseDto postResponseDto = postService.getPostById(postId,authUser.userId());
 
         ApiResponse<PostResponseDto> response = ApiResponse.success(
                 "get_post_success",
@@ -50,10 +61,28 @@ public class PostController {
     @GetMapping
     public ResponseEntity<ApiResponse<PostPageResponseDto>> getPosts(
             @RequestParam(value = "cursor", required = false) Integer cursor,
-            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size,
+            @RequestParam(value = "sort", required = false, defaultValue = "recent") String sort,
+            @RequestParam(value = "score", required = false) Double score,
+            @AuthenticationPrincipal AuthUser authUser,
+            WebRequest webRequest
     ){
 
-        PostPageResponseDto postPageResponseDto =  postService.getPosts(cursor, size);
+        //인기순은 점수가 계속 바뀌므로 ETag 없이 응답
+        if ("hot".equals(sort)) {
+            ApiResponse<PostPageResponseDto> response = ApiResponse.success(
+                    "get_posts_success",
+                    postService.getHotPosts(score, cursor, size, authUser.userId())
+            );
+            return ResponseEntity.ok(response);
+        }
+
+        String etag = postService.getPostsEtag(cursor, size, authUser.userId());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        PostPageResponseDto postPageResponseDto =  postService.getPosts(cursor, size, authUser.userId());
 
         ApiResponse<PostPageResponseDto> response = ApiResponse.success(
                 "get_posts_success",
@@ -63,14 +92,38 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PostPageResponseDto>> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size,
+            @AuthenticationPrincipal AuthUser authUser
+    ){
+
+        PostPageResponseDto postPageResponseDto = postService.searchPosts(query, cursor, size, authUser.userId());
+
+        ApiResponse<PostPageResponseDto> response = ApiResponse.success(
+                "search_posts_success",
+                postPageResponseDto
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    //새 댓글, 좋아요 수 변경을 SSE 로 전달 (목록, 상세 polling 대신)
+    @GetMapping(value = "/{postId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEvents(@PathVariable("postId") Long postId, @AuthenticationPrincipal AuthUser authUser) {
+        return postService.subscribeEvents(postId, authUser.userId());
+    }
+
     @PatchMapping("/{postId}")
     public ResponseEntity<ApiResponse<PostResponseDto>> updatePost(
             @PathVariable("postId") Long postId,
             @RequestBody @Valid PostRequestDto postRequestDto,
-            Principal principal
+            @AuthenticationPrincipal AuthUser authUser
     ) {
 
-        PostResponseDto postResponseDto = postService.updatePost(postRequestDto, postId, principal.getName());
+        PostResponseDto postResponseDto = postService.updatePost(postRequestDto, postId, authUser.userId());
         ApiResponse<PostResponseDto> response = ApiResponse.success(
                 "update_post_success",
                 postResponseDto
@@ -79,9 +132,9 @@ public class PostController {
     }
 
     @DeleteMapping("/{postId}")
-    public ResponseEntity<ApiResponse<Void>> deletePost(@PathVariable("postId") Long postId, Principal principal) {
+    public ResponseEntity<ApiResponse<Void>> deletePost(@PathVariable("postId") Long postId, @AuthenticationPrincipal AuthUser authUser) {
 
-        postService.deletePostById(postId, principal.getName());
+        postService.deletePostById(postId, authUser.userId());
         ApiResponse<Void> response = ApiResponse.success("delete_post_success");
         return ResponseEntity.ok(response);
     }
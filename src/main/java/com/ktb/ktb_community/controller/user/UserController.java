@@ -1,5 +1,6 @@
 package com.ktb.ktb_community.controller.user;
 
+import com.ktb.ktb_community.common.Security.AuthUser;
 import com.ktb.ktb_community.common.advice.ApiResponse;
 import com.ktb.ktb_community.common.advice.ErrorDetail;
 import com.ktb.ktb_community.common.advice.ErrorResponse;
@@ -11,9 +12,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.Collections;
 
 @RestController
@@ -37,9 +38,8 @@ public class UserController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse<UserResponseDto>> getUserInfo(Principal principal) {
-        String userEmail = principal.getName();
-        UserResponseDto userResponseDto = userService.getUserInfo(userEmail);
+    public ResponseEntity<ApiResponse<UserResponseDto>> getUserInfo(@AuthenticationPrincipal AuthUser authUser) {
+        UserResponseDto userResponseDto = userService.getUserInfo(authUser.userId());
 
         ApiResponse<UserResponseDto> response = ApiResponse.success(
                 "get_user_success",
@@ -50,9 +50,9 @@ public class UserController {
 
     @PatchMapping("/me")
     public ResponseEntity<ApiResponse<UserResponseDto>> updateUser(@RequestBody @Valid UserRequestDto userRequestDto,
-                                                        Principal principal) {
+                                                        @AuthenticationPrincipal AuthUser authUser) {
 
-        UserResponseDto userResponseDto =  userService.updateUser(userRequestDto, principal);
+        UserResponseDto userResponseDto =  userService.updateUser(userRequestDto, authUser.userId());
 
         ApiResponse<UserResponseDto> response = ApiResponse.success(
                 "user_update_success",
@@ -65,11 +65,9 @@ public class UserController {
 
 
     @DeleteMapping("/me")
-    public ResponseEntity<ApiResponse<Void>> deleteUser(Principal principal) {
+    public ResponseEntity<ApiResponse<Void>> deleteUser(@AuthenticationPrincipal AuthUser authUser) {
 
-        String userEmail = principal.getName();
-
-        userService.deleteUser(userEmail);
+        userService.deleteUser(authUser.userId());
 
         return ResponseEntity.noContent().build();
     }
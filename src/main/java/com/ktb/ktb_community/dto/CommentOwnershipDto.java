@@ -0,0 +1,21 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//댓글 삭제 시 권한, 스레드 확인용 projection
+@Getter
+@AllArgsConstructor
+public class CommentOwnershipDto {
+
+    private Long commentId;
+    private Long userId;
+    private Long postId;
+    private Long rootId;
+    private int replySeq;
+    private int replyCount;
+
+    public boolean isReply() {
+        return replySeq > 0;
+    }
+}
@@ -8,4 +8,7 @@ public class CommentRequestDto {
 
     @NotBlank
     private String content;
+
+    //답글이면 대상 댓글 id (답글의 답글은 같은 스레드에 추가)
+    private Long parentId;
 }
@@ -4,6 +4,7 @@ import com.ktb.ktb_community.entity.Comment;
 import lombok.Data;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 @Data
 public class CommentResponseDto {
@@ -20,6 +21,17 @@ public class CommentResponseDto {
 
     private Boolean isAuthor;
 
+    //답글이면 최상위 댓글 id, 최상위 댓글이면 null
+    private Long parentId;
+
+    private int replyCount;
+
+    //답글이 달린 채 삭제된 최상위 댓글 (내용, 작성자 없이 스레드만 유지)
+    private Boolean isDeleted = Boolean.FALSE;
+
+    //목록 조회 시 최상위 댓글의 첫 답글 몇 개, 나머지는 /api/comments/{commentId}/replies
+    private List<CommentResponseDto> replies = List.of();
+
     public CommentResponseDto(Long commentId, UserResponseDto user, String content, Timestamp createdAt, Timestamp updatedAt, Boolean isAuthor) {
 
         this.commentId = commentId;
@@ -32,7 +44,7 @@ public class CommentResponseDto {
 
     public static CommentResponseDto from(Comment comment, Boolean isAuthor) {
 
-        return new CommentResponseDto(
+        CommentResponseDto responseDto = new CommentResponseDto(
                 comment.getCommentId(),
                 UserResponseDto.from(comment.getUser()),
                 comment.getContent(),
@@ -40,5 +52,51 @@ public class CommentResponseDto {
                 comment.getUpdatedAt(),
                 isAuthor
         );
+        responseDto.setParentId(comment.getParentId());
+        responseDto.setReplyCount(comment.getReplyCount());
+        if (comment.isDeleted()) {
+            responseDto.hide();
+        }
+        return responseDto;
+    }
+
+    //작성 응답: 작성자는 요청한 본인이라 프로필을 담지 않음 (id 만 가진 작성자 프록시를 초기화하지 않도록)
+    public static CommentResponseDto created(Comment comment) {
+
+        CommentResponseDto responseDto = new CommentResponseDto(
+                comment.getCommentId(),
+                null,
+                comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt(),
+                Boolean.TRUE
+        );
+        responseDto.setParentId(comment.getParentId());
+        return responseDto;
+    }
+
+    public static CommentResponseDto from(CommentRowDto row, Boolean isAuthor) {
+
+        CommentResponseDto responseDto = new CommentResponseDto(
+                row.getCommentId(),
+                new UserResponseDto(row.getEmail(), row.getNickname(), row.getProfileImageUrl()),
+                row.getContent(),
+                row.getCreatedAt(),
+                row.getUpdatedAt(),
+                isAuthor
+        );
+        responseDto.setParentId(row.getReplySeq() > 0 ? row.getRootId() : null);
+        responseDto.setReplyCount(row.getReplyCount());
+        if (row.getDeletedAt() != null) {
+            responseDto.hide();
+        }
+        return responseDto;
+    }
+
+    private void hide() {
+        this.user = null;
+        this.content = null;
+        this.isAuthor = Boolean.FALSE;
+        this.isDeleted = Boolean.TRUE;
     }
 }
@@ -0,0 +1,89 @@
+package com.ktb.ktb_community.dto;
+
+import com.ktb.ktb_community.entity.Comment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+//댓글 한 행 + 작성자 요약을 한 번의 쿼리로 조회하기 위한 projection
+//CommentPageCache 에는 작성자 프로필을 뺀 복사본을 JSON 으로 저장 (조회 시 채움)
+@Data
+@NoArgsConstructor
+public class CommentRowDto {
+
+    private Long commentId;
+    private Long postId;
+    private String content;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+
+    private Long rootId;
+    private int replySeq;
+    private int replyCount;
+
+    private Long userId;
+    private String email;
+    private String nickname;
+    private String profileImageUrl;
+
+    //tombstone 이면 삭제 시각 (응답에서 내용, 작성자를 숨김)
+    private Timestamp deletedAt;
+
+    //최상위 댓글 행에만 채움 (미리보기 답글)
+    private List<CommentRowDto> replies = new ArrayList<>();
+
+    public CommentRowDto(Long commentId, Long postId, String content, Timestamp createdAt, Timestamp updatedAt,
+                         Long rootId, int replySeq, int replyCount,
+                         Long userId, String email, String nickname, String profileImageUrl, Timestamp deletedAt) {
+        this.commentId = commentId;
+        this.postId = postId;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.rootId = rootId;
+        this.replySeq = replySeq;
+        this.replyCount = replyCount;
+        this.userId = userId;
+        this.email = email;
+        this.nickname = nickname;
+        this.profileImageUrl = profileImageUrl;
+        this.deletedAt = deletedAt;
+    }
+
+    //캐시 저장용, 작성자는 id 만 남김 (프로필 수정이 캐시 TTL 동안 가려지지 않도록)
+    public CommentRowDto withoutProfile() {
+        CommentRowDto copy = new CommentRowDto(commentId, postId, content, createdAt, updatedAt,
+                rootId, replySeq, replyCount, userId, null, null, null, deletedAt);
+        replies.forEach(reply -> copy.getReplies().add(reply.withoutProfile()));
+        return copy;
+    }
+
+    //탈퇴 등으로 프로필이 없으면 비워 둠
+    public void applyProfile(UserProfileDto profile) {
+        this.email = profile == null ? null : profile.getEmail();
+        this.nickname = profile == null ? null : profile.getNickname();
+        this.profileImageUrl = profile == null ? null : profile.getProfileImageUrl();
+    }
+
+    //작성 직후의 댓글, 작성자는 id 만 (프록시를 초기화하지 않음)
+    public static CommentRowDto from(Comment comment) {
+        return new CommentRowDto(
+                comment.getCommentId(),
+                comment.getPost().getPostId(),
+                comment.getContent(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt(),
+                comment.getRootId(),
+                comment.getReplySeq(),
+                comment.getReplyCount(),
+                comment.getUser().getUserId(),
+                null,
+                null,
+                null,
+                comment.getDeletedAt()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.ktb.ktb_community.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -9,4 +10,12 @@ public class CursorDto {
 
     private Long nextCursor;
     private boolean hasNext;
+
+    //인기순 목록에서만 사용 (마지막 게시글의 점수, nextCursor 와 함께 다음 페이지 요청에 전달)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double nextScore;
+
+    public CursorDto(Long nextCursor, boolean hasNext) {
+        this(nextCursor, hasNext, null);
+    }
 }
\ No newline at end of file
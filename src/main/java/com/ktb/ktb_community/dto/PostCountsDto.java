@@ -0,0 +1,15 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//게시글 상세, 피드에서 캐시하지 않는 카운터 값
+@Getter
+@AllArgsConstructor
+public class PostCountsDto {
+
+    private Long postId;
+    private Integer viewCount;
+    private Integer likeCount;
+    private Integer commentCount;
+}
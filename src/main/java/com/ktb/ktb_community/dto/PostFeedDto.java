@@ -0,0 +1,41 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+//피드 한 행을 한 번의 쿼리로 조회하기 위한 projection
+@Data
+public class PostFeedDto {
+
+    private Long postId;
+    private String title;
+    private String content;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+    private Integer viewCount;
+
+    private String email;
+    private String nickname;
+    private String profileImageUrl;
+
+    private Integer likeCount;
+    private Integer commentCount;
+
+    public PostFeedDto(Long postId, String title, String content, Timestamp createdAt, Timestamp updatedAt, Integer viewCount,
+                       String email, String nickname, String profileImageUrl, Integer likeCount, Integer commentCount) {
+        this.postId = postId;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.viewCount = viewCount;
+
+        this.email = email;
+        this.nickname = nickname;
+        this.profileImageUrl = profileImageUrl;
+
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+}
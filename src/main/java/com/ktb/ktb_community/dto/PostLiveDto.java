@@ -0,0 +1,36 @@
+package com.ktb.ktb_community.dto;
+
+import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//게시글 상세, 피드에서 캐시하지 않고 매 요청 조회하는 값
+//카운터 + 작성자 프로필 (프로필 수정이 캐시와 무관하게 바로 반영)
+@Getter
+@AllArgsConstructor
+public class PostLiveDto {
+
+    private Long postId;
+    private Integer viewCount;
+    private Integer likeCount;
+    private Integer commentCount;
+
+    private String email;
+    private String nickname;
+    private String profileImageUrl;
+
+    //작성자까지 로딩한 게시글로 만들 때 (상세 캐시 미스)
+    public static PostLiveDto of(Post post) {
+        User author = post.getUser();
+        return new PostLiveDto(
+                post.getPostId(),
+                post.getViewCount(),
+                post.getLikeCount(),
+                post.getCommentCount(),
+                author.getEmail(),
+                author.getNickname(),
+                author.getProfileImageUrl()
+        );
+    }
+}
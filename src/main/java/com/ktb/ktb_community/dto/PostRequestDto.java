@@ -13,6 +13,8 @@ public class PostRequestDto {
     @Size(max = 26)
     private String title;
 
+    //post_body.content (TEXT, 65,535 bytes) 에 utf8mb4 로 들어가는 길이
     @NotBlank
+    @Size(max = 16000)
     private String content;
 }
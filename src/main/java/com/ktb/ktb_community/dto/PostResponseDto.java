@@ -1,5 +1,7 @@
 package com.ktb.ktb_community.dto;
 
+import com.ktb.ktb_community.common.cache.CachedPostDetail;
+import com.ktb.ktb_community.common.cache.CachedPostSummary;
 import com.ktb.ktb_community.entity.Post;
 import com.ktb.ktb_community.entity.User;
 import lombok.Data;
@@ -57,32 +59,81 @@ public class PostResponseDto {
         this.commentCount = commentCount;
     }
 
-    public static PostResponseDto from(Post post) {
+    //작성 응답: 작성자는 요청한 본인이라 프로필을 담지 않음 (id 만 가진 작성자 프록시를 초기화하지 않도록)
+    public static PostResponseDto created(Post post, String content, List<ImageResponseDto> images) {
         return new PostResponseDto(
                 post.getPostId(),
                 post.getTitle(),
-                post.getContent(),
+                content,
                 post.getCreatedAt(),
                 post.getUpdatedAt(),
                 post.getViewCount(),
-                UserResponseDto.from(post.getUser())
+                null,
+                0,
+                false,
+                images,
+                Boolean.TRUE,
+                0
         );
     }
 
-    public static PostResponseDto from(Post post, Integer likeCount, Boolean isLiked, List<ImageResponseDto> images, Boolean isAuthor, Integer commentCount) {
+    public static PostResponseDto from(PostFeedDto feed) {
         return new PostResponseDto(
-                post.getPostId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getCreatedAt(),
-                post.getUpdatedAt(),
-                post.getViewCount(),
-                UserResponseDto.from(post.getUser()),
-                likeCount,
+                feed.getPostId(),
+                feed.getTitle(),
+                feed.getContent(),
+                feed.getCreatedAt(),
+                feed.getUpdatedAt(),
+                feed.getViewCount(),
+                new UserResponseDto(feed.getEmail(), feed.getNickname(), feed.getProfileImageUrl()),
+                feed.getLikeCount(),
+                null,
+                null,
+                null,
+                feed.getCommentCount()
+        );
+    }
+
+    //수정 응답: projection 의 preview 대신 전체 본문
+    public static PostResponseDto from(PostFeedDto feed, String content) {
+        PostResponseDto responseDto = from(feed);
+        responseDto.setContent(content);
+        return responseDto;
+    }
+
+    //캐시된 상세 + 카운터, 작성자 프로필 + 사용자별 값
+    public static PostResponseDto from(CachedPostDetail detail, PostLiveDto live, Boolean isLiked, Boolean isAuthor) {
+        return new PostResponseDto(
+                detail.getPostId(),
+                detail.getTitle(),
+                detail.getContent(),
+                detail.getCreatedAt(),
+                detail.getUpdatedAt(),
+                live.getViewCount(),
+                new UserResponseDto(live.getEmail(), live.getNickname(), live.getProfileImageUrl()),
+                live.getLikeCount(),
                 isLiked,
-                images,
+                detail.getImages(),
                 isAuthor,
-                commentCount
+                live.getCommentCount()
+        );
+    }
+
+    //캐시된 피드 요약 + 카운터, 작성자 프로필
+    public static PostResponseDto from(CachedPostSummary summary, PostLiveDto live) {
+        return new PostResponseDto(
+                summary.getPostId(),
+                summary.getTitle(),
+                summary.getContent(),
+                summary.getCreatedAt(),
+                summary.getUpdatedAt(),
+                live.getViewCount(),
+                new UserResponseDto(live.getEmail(), live.getNickname(), live.getProfileImageUrl()),
+                live.getLikeCount(),
+                null,
+                null,
+                null,
+                live.getCommentCount()
         );
     }
 }
@@ -0,0 +1,23 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+//검색 인덱스에 넣을 게시글 제목, 본문
+@Getter
+@AllArgsConstructor
+public class PostSearchSource {
+
+    private Long postId;
+    private String title;
+    private String preview;
+    //post_body 가 없는 기존 게시글은 null
+    private String content;
+    private Timestamp updatedAt;
+
+    public String getText() {
+        return title + " " + (content != null ? content : preview);
+    }
+}
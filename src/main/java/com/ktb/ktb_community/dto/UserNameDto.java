@@ -0,0 +1,14 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//이메일, 닉네임 Bloom filter 재구성용
+@Getter
+@AllArgsConstructor
+public class UserNameDto {
+
+    private Long userId;
+    private String email;
+    private String nickname;
+}
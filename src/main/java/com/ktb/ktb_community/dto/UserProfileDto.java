@@ -0,0 +1,15 @@
+package com.ktb.ktb_community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//캐시된 댓글 행에 조회 시점의 작성자 프로필을 채우기 위한 projection
+@Getter
+@AllArgsConstructor
+public class UserProfileDto {
+
+    private Long userId;
+    private String email;
+    private String nickname;
+    private String profileImageUrl;
+}
@@ -9,11 +9,25 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.sql.Timestamp;
 
+//댓글 단건 응답은 작성자 정보까지 한 번에 조회 (목록은 CommentRepositoryCustom projection)
+//답글은 1단계만 두고 (rootId, replySeq) 를 materialized path 로 사용
+//  최상위 댓글: rootId = 자기 id, replySeq = 0
+//  답글: rootId = 최상위 댓글 id, replySeq = 1, 2, ...
+//(post_id, root_id, reply_seq) 순서가 곧 스레드 표시 순서라 스레드 페이지를 range scan 한 번으로 조회
+//답글이 달린 최상위 댓글은 삭제 시 내용만 지운 tombstone (deletedAt) 으로 남겨 다른 사용자의 답글을 유지
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_thread", columnList = "post_id, root_id, reply_seq"),
+        @Index(name = "idx_comment_thread", columnList = "root_id, reply_seq")
+})
+@NamedEntityGraph(name = "Comment.page", attributeNodes = @NamedAttributeNode("user"))
 @NoArgsConstructor
 @Getter
 public class Comment {
 
+    //작성 시 토큰의 사용자 행이 없는지 구분하는 FK 이름
+    public static final String USER_FK = "fk_comment_user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long commentId;
@@ -29,19 +43,60 @@ public class Comment {
     private Timestamp updatedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = USER_FK))
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
+    private Long rootId;
+
+    @Column(nullable = false)
+    private int replySeq;
+
+    //현재 답글 수
+    @Column(nullable = false)
+    private int replyCount;
+
+    //답글 순번 발급용, 답글이 삭제돼도 줄지 않음
+    @Column(nullable = false)
+    private int lastReplySeq;
+
+    //tombstone 이 된 시각, 마지막 답글이 삭제되면 행도 삭제
+    private Timestamp deletedAt;
+
     public Comment(String content, User user, Post post) {
         this.content = content;
         this.user = user;
         this.post = post;
     }
 
+    //답글은 최상위 댓글 행의 UPDATE 로 발급 받은 순번으로 생성 (CommentRepository.incrementReplySeq)
+    //최상위 댓글 엔티티를 수정하지 않으므로 최상위 댓글의 updatedAt 은 그대로
+    public Comment(String content, User user, Post post, Long rootId, int replySeq) {
+        this(content, user, post);
+        this.rootId = rootId;
+        this.replySeq = replySeq;
+    }
+
+    //최상위 댓글은 id 발급 후 자기 자신을 root 로 지정
+    public void startThread() {
+        this.rootId = this.commentId;
+    }
+
+    public boolean isReply() {
+        return replySeq > 0;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
+    public Long getParentId() {
+        return isReply() ? rootId : null;
+    }
+
     public void update(String content){
         this.content = content;
     }
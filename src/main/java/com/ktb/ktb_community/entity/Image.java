@@ -21,7 +21,7 @@ public class Image {
     @CreationTimestamp
     private Timestamp createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -4,16 +4,32 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.sql.Timestamp;
 
+//변경된 컬럼만 UPDATE 하여 카운터 컬럼을 덮어쓰지 않도록 함
+//조회 용도별 fetch plan
+//detail: 작성자 정보가 필요한 상세/수정 응답
+//삭제 요청된 게시글은 deletedAt 만 기록하고 모든 JPA 조회에서 제외
+//실제 행과 댓글, 좋아요, 이미지 연결은 PostCascadeDeleteJob 이 나눠서 삭제
 @Entity
+@Table(indexes = @Index(name = "idx_post_deleted_at", columnList = "deleted_at"))
+@SQLRestriction("deleted_at is null")
+@NamedEntityGraph(name = "Post.detail", attributeNodes = @NamedAttributeNode("user"))
 @Getter
 @NoArgsConstructor
+@DynamicUpdate
 public class Post {
 
+    public static final int PREVIEW_LENGTH = 200;
+    //작성 시 토큰의 사용자 행이 없는지 구분하는 FK 이름
+    public static final String USER_FK = "fk_post_user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long postId;
@@ -21,8 +37,10 @@ public class Post {
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
-    private String content;
+    //피드용 본문 앞부분, 전체 본문은 PostBody
+    //기존 content 컬럼(VARCHAR(255))을 그대로 사용하므로 기존 게시글은 preview 가 곧 전체 본문
+    @Column(name = "content", nullable = false)
+    private String preview;
 
     @Column(nullable = false)
     @CreationTimestamp
@@ -34,23 +52,34 @@ public class Post {
 
     private Integer viewCount = 0;
 
-    @ManyToOne
-    @JoinColumn(name = "user_id")
+    //post_like, comment 의 COUNT(*) 대신 사용하는 비정규화 카운터
+    //증감은 PostRepository 의 UPDATE 문으로만 수행
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer likeCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer commentCount = 0;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = USER_FK))
     private User user;
 
+    private Timestamp deletedAt = null;
+
     @Builder
     public Post(String title, String content, User user) {
         this.title = title;
-        this.content = content;
+        this.preview = previewOf(content);
         this.user = user;
     }
 
-    public void update(String title, String content){
-        this.title = title;
-        this.content = content;
-    }
-
-    public void incrementViewCount(){
-        viewCount++;
+    //서로게이트 쌍이 잘리지 않도록 code point 단위로 자름
+    public static String previewOf(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH));
     }
 }
@@ -0,0 +1,29 @@
+package com.ktb.ktb_community.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//게시글 본문 전체 (상세 조회에서만 로딩)
+//피드는 post.preview 만 사용하고 이 테이블은 읽지 않음
+@Entity
+@Getter
+@NoArgsConstructor
+public class PostBody {
+
+    @Id
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private Post post;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    public PostBody(Post post, String content) {
+        this.post = post;
+        this.content = content;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraph(name = "PostImage.image", attributeNodes = @NamedAttributeNode("image"))
 @Getter
 @NoArgsConstructor
 @IdClass(PostImageId.class)
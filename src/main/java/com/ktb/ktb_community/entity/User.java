@@ -15,21 +15,29 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_UNIQUE, columnNames = "email"),
+        @UniqueConstraint(name = User.NICKNAME_UNIQUE, columnNames = "nickname")
+})
 @Getter
 @NoArgsConstructor
 public class User implements UserDetails {
 
+    //동시 가입, 수정에서 중복된 값이 이메일인지 닉네임인지 구분하는 unique 제약 이름
+    public static final String EMAIL_UNIQUE = "uk_user_email";
+    public static final String NICKNAME_UNIQUE = "uk_user_nickname";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long userId;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String nickname;
 
 
@@ -0,0 +1,233 @@
+package com.ktb.ktb_community.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import com.ktb.ktb_community.dto.CommentResponseDto;
+import com.ktb.ktb_community.dto.CommentRowDto;
+import com.ktb.ktb_community.entity.Comment;
+import com.ktb.ktb_community.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+//게시글별 SSE 구독자 registry
+//이벤트는 항상 Redis pub/sub 을 거쳐 모든 노드(자기 자신 포함)가 자기 구독자에게 전달
+//  comment: 새 댓글을 바로 전달 (작성자 프로필은 구독자가 있는 노드에서만 조회)
+//  like: 게시글마다 마지막 값만 남겨 like-interval-ms 마다 한 번 전달
+//dispatch 스레드를 모든 구독자가 공유하므로 write-timeout-ms 를 넘긴 전송은 끊고
+//사용자마다 노드당 max-per-user 개까지만 연결 유지 (넘으면 가장 오래된 연결을 닫음)
+@Slf4j
+@Component
+public class PostEventHub implements MessageListener {
+
+    static final String CHANNEL = "post:events";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final UserRepository userRepository;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final long writeTimeoutNanos;
+    private final int maxPerUser;
+    private final ThreadPoolTaskExecutor dispatcher;
+
+    private final Map<Long, Set<PostEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    //사용자별 연결, 오래된 순
+    private final Map<Long, Deque<PostEventSubscriber>> userSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> pendingLikeCounts = new ConcurrentHashMap<>();
+
+    public PostEventHub(StringRedisTemplate redisTemplate,
+                        ObjectMapper objectMapper,
+                        RedisMessageListenerContainer listenerContainer,
+                        UserRepository userRepository,
+                        @Value("${post.events.timeout-ms:1800000}") long timeoutMs,
+                        @Value("${post.events.buffer-size:32}") int bufferSize,
+                        @Value("${post.events.dispatch-threads:4}") int dispatchThreads,
+                        @Value("${post.events.write-timeout-ms:5000}") long writeTimeoutMs,
+                        @Value("${post.events.max-per-user:5}") int maxPerUser) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.userRepository = userRepository;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.maxPerUser = maxPerUser;
+
+        this.dispatcher = new ThreadPoolTaskExecutor();
+        dispatcher.setCorePoolSize(dispatchThreads);
+        dispatcher.setMaxPoolSize(dispatchThreads);
+        dispatcher.setThreadNamePrefix("post-events-");
+        dispatcher.initialize();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public SseEmitter subscribe(Long postId, Long userId) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        PostEventSubscriber subscriber = new PostEventSubscriber(postId, userId, emitter, bufferSize, dispatcher,
+                () -> unregister(postId, userId));
+        //unregister 가 빈 Set 을 지우는 것과 겹치지 않도록 compute 안에서 추가
+        subscribers.compute(postId, (id, postSubscribers) -> {
+            Set<PostEventSubscriber> result = postSubscribers == null ? ConcurrentHashMap.newKeySet() : postSubscribers;
+            result.add(subscriber);
+            return result;
+        });
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        limitPerUser(userId, subscriber);
+
+        //프록시가 응답 헤더를 바로 내려보내도록 첫 이벤트 전송
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    //커밋 후 발행 (작성 시각 포함)
+    public void publishComment(Long postId, Comment comment) {
+        TransactionUtils.runAfterCommit(() -> publish(PostEventMessage.comment(postId, CommentRowDto.from(comment))));
+    }
+
+    public void publishLikeCount(Long postId, int likeCount) {
+        TransactionUtils.runAfterCommit(() -> publish(PostEventMessage.like(postId, likeCount)));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        PostEventMessage event;
+        try {
+            event = objectMapper.readValue(message.getBody(), PostEventMessage.class);
+        } catch (Exception e) {
+            log.warn("invalid post event message: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+            return;
+        }
+
+        Set<PostEventSubscriber> postSubscribers = subscribers.get(event.postId());
+        if (postSubscribers == null) {
+            return;
+        }
+
+        if (PostEventMessage.LIKE.equals(event.type())) {
+            pendingLikeCounts.put(event.postId(), event.likeCount());
+            return;
+        }
+
+        //이벤트에는 작성자 id 만 담김, isAuthor 는 구독자마다 다름
+        CommentRowDto row = event.comment();
+        row.applyProfile(userRepository.findProfilesByUserIdIn(Set.of(row.getUserId())).stream()
+                .findFirst()
+                .orElse(null));
+        for (PostEventSubscriber subscriber : postSubscribers) {
+            CommentResponseDto comment = CommentResponseDto.from(row, row.getUserId().equals(subscriber.getUserId()));
+            subscriber.offer(SseEmitter.event().name(PostEventMessage.COMMENT).data(comment));
+        }
+    }
+
+    //좋아요 이벤트 병합, 게시글마다 interval 당 최대 한 번
+    @Scheduled(fixedDelayString = "${post.events.like-interval-ms:1000}")
+    public void flushLikeCounts() {
+        for (Long postId : pendingLikeCounts.keySet()) {
+            Integer likeCount = pendingLikeCounts.remove(postId);
+            Set<PostEventSubscriber> postSubscribers = subscribers.get(postId);
+            if (likeCount == null || postSubscribers == null) {
+                continue;
+            }
+            Map<String, Object> data = Map.of("postId", postId, "likeCount", likeCount);
+            postSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().name(PostEventMessage.LIKE).data(data)));
+        }
+    }
+
+    //소켓 쓰기에서 막힌 전송이 dispatch 스레드를 붙잡고 있지 않도록 write timeout 을 넘긴 연결을 끊음
+    @Scheduled(fixedDelayString = "${post.events.write-check-interval-ms:1000}")
+    public void abortStalled() {
+        subscribers.values().forEach(postSubscribers -> postSubscribers.forEach(subscriber -> {
+            if (subscriber.abortIfStalled(writeTimeoutNanos)) {
+                log.warn("post event write timed out: postId={}, userId={}", subscriber.getPostId(), subscriber.getUserId());
+            }
+        }));
+    }
+
+    //끊긴 연결은 전송 실패로만 알 수 있으므로 주기적으로 heartbeat
+    @Scheduled(fixedDelayString = "${post.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(postSubscribers ->
+                postSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int subscriberCount(Long postId) {
+        Set<PostEventSubscriber> postSubscribers = subscribers.get(postId);
+        return postSubscribers == null ? 0 : postSubscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(postSubscribers ->
+                postSubscribers.forEach(subscriber -> subscriber.getEmitter().complete()));
+        dispatcher.shutdown();
+    }
+
+    private void publish(PostEventMessage event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.error("post event publish failed: postId={}, type={}, {}", event.postId(), event.type(), e.getMessage());
+        }
+    }
+
+    //한 사용자가 연결을 계속 열어도 emitter 가 쌓이지 않도록 가장 오래된 연결부터 닫음
+    private void limitPerUser(Long userId, PostEventSubscriber subscriber) {
+
+        Deque<PostEventSubscriber> evicted = new ArrayDeque<>();
+        userSubscribers.compute(userId, (id, userConnections) -> {
+            Deque<PostEventSubscriber> result = userConnections == null ? new ArrayDeque<>() : userConnections;
+            result.addLast(subscriber);
+            while (result.size() > maxPerUser) {
+                evicted.add(result.pollFirst());
+            }
+            return result;
+        });
+        //compute 밖에서 닫음 (close 가 unregister 로 같은 map 을 다시 수정)
+        evicted.forEach(oldest -> {
+            oldest.close();
+            oldest.getEmitter().complete();
+        });
+    }
+
+    private void unregister(Long postId, Long userId) {
+        subscribers.computeIfPresent(postId, (id, postSubscribers) -> {
+            postSubscribers.removeIf(PostEventSubscriber::isClosed);
+            return postSubscribers.isEmpty() ? null : postSubscribers;
+        });
+        userSubscribers.computeIfPresent(userId, (id, userConnections) -> {
+            userConnections.removeIf(PostEventSubscriber::isClosed);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
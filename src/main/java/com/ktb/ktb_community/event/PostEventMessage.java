@@ -0,0 +1,24 @@
+package com.ktb.ktb_community.event;
+
+import com.ktb.ktb_community.dto.CommentRowDto;
+
+//노드 간 pub/sub 으로 전달하는 게시글 이벤트
+//comment 이벤트는 comment, like 이벤트는 likeCount 만 채움
+public record PostEventMessage(
+        String type,
+        Long postId,
+        CommentRowDto comment,
+        Integer likeCount
+) {
+
+    public static final String COMMENT = "comment";
+    public static final String LIKE = "like";
+
+    public static PostEventMessage comment(Long postId, CommentRowDto comment) {
+        return new PostEventMessage(COMMENT, postId, comment, null);
+    }
+
+    public static PostEventMessage like(Long postId, int likeCount) {
+        return new PostEventMessage(LIKE, postId, null, likeCount);
+    }
+}
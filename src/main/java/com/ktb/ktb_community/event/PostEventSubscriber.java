@@ -0,0 +1,152 @@
+package com.ktb.ktb_community.event;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//SSE 연결 하나
+//보낼 이벤트는 크기가 제한된 버퍼에 담고 dispatch 스레드에서 전송
+//버퍼가 가득 차면 가장 오래된 이벤트를 버려서 느린 클라이언트가 다른 구독자나 pub/sub 수신을 막지 않도록 함
+//send 는 소켓 쓰기에서 막힐 수 있으므로, write timeout 을 넘긴 전송은 hub 가 abortIfStalled 로 끊어 dispatch 스레드를 돌려받음
+class PostEventSubscriber {
+
+    @Getter
+    private final Long postId;
+    @Getter
+    private final Long userId;
+    @Getter
+    private final SseEmitter emitter;
+
+    private final int bufferSize;
+    private final Executor executor;
+    private final Runnable onClose;
+
+    private final Deque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    //전송 중인 스레드와 시작 시각 (sendLock 으로 보호, 전송 중이 아니면 null)
+    private final Object sendLock = new Object();
+    private Thread sendingThread;
+    private long sendingSince;
+
+    @Getter
+    private long droppedCount;
+
+    PostEventSubscriber(Long postId, Long userId, SseEmitter emitter, int bufferSize, Executor executor, Runnable onClose) {
+        this.postId = postId;
+        this.userId = userId;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    void offer(SseEmitter.SseEventBuilder event) {
+
+        if (closed.get()) {
+            return;
+        }
+
+        synchronized (buffer) {
+            if (buffer.size() >= bufferSize) {
+                buffer.pollFirst();
+                droppedCount++;
+            }
+            buffer.addLast(event);
+        }
+        scheduleDrain();
+    }
+
+    //연결이 끊겼거나 타임아웃된 경우, 이후 이벤트는 받지 않음
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            onClose.run();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    //전송 하나가 timeoutNanos 이상 끝나지 않으면 연결을 끊고 전송 중인 스레드를 interrupt
+    boolean abortIfStalled(long timeoutNanos) {
+        synchronized (sendLock) {
+            if (sendingThread == null || System.nanoTime() - sendingSince < timeoutNanos) {
+                return false;
+            }
+            sendingThread.interrupt();
+        }
+        close();
+        emitter.complete();
+        return true;
+    }
+
+    //한 구독자에 대해 drain 은 항상 하나만 실행 (전송 순서 보장)
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = poll()) != null) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            //클라이언트가 연결을 끊었거나 이미 완료된 emitter, 정리는 서블릿 컨테이너 콜백이 처리
+            close();
+        } finally {
+            draining.set(false);
+        }
+
+        //drain 이 끝나는 사이에 들어온 이벤트
+        if (!closed.get() && hasPending()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (sendLock) {
+            sendingThread = Thread.currentThread();
+            sendingSince = System.nanoTime();
+        }
+        try {
+            emitter.send(event);
+        } finally {
+            //이후에는 interrupt 되지 않으므로, abort 로 남은 interrupt 상태를 지우고 pool 스레드를 돌려줌
+            synchronized (sendLock) {
+                sendingThread = null;
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder poll() {
+        synchronized (buffer) {
+            return buffer.pollFirst();
+        }
+    }
+
+    private boolean hasPending() {
+        synchronized (buffer) {
+            return !buffer.isEmpty();
+        }
+    }
+}
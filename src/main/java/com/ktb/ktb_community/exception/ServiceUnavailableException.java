@@ -0,0 +1,8 @@
+package com.ktb.ktb_community.exception;
+
+//처리 용량이 가득 차서 바로 거절한 요청 (503, 잠시 후 재시도)
+public class ServiceUnavailableException extends BusinessException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
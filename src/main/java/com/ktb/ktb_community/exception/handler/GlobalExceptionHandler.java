@@ -2,6 +2,7 @@ package com.ktb.ktb_community.exception.handler;
 
 import com.ktb.ktb_community.common.advice.ErrorResponse;
 import com.ktb.ktb_community.exception.BusinessException;
+import com.ktb.ktb_community.exception.ServiceUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -40,6 +41,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    //비밀번호 해시 큐가 가득 찬 경우 등, 스레드를 붙잡지 않고 바로 거절
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+
+        ErrorResponse response = new ErrorResponse("SERVICE_UNAVAILABLE", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+
     //다른 handler 에서 처리되지 않은 에외 처리
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
@@ -1,19 +1,79 @@
 package com.ktb.ktb_community.repository;
 
+import com.ktb.ktb_community.dto.CommentOwnershipDto;
 import com.ktb.ktb_community.entity.Comment;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
-    Slice<Comment> findByPost_PostIdOrderByCommentIdAsc(Long postId, Pageable pageable);
+    @EntityGraph("Comment.page")
+    Optional<Comment> findWithUserByCommentId(Long commentId);
 
-    Slice<Comment> findByPost_PostIdAndCommentIdGreaterThanOrderByCommentIdAsc(Long postId, Long cursor, Pageable pageable);
+    //작성자일 때만 수정/삭제, 영향받은 행 수가 0 이면 findOwnerIdByCommentId 로 원인 확인
+    @Modifying
+    @Query("update Comment c set c.content = :content, c.updatedAt = :updatedAt where c.commentId = :commentId and c.user.userId = :userId and c.deletedAt is null")
+    int updateContentByOwner(@Param("commentId") Long commentId, @Param("userId") Long userId,
+                             @Param("content") String content, @Param("updatedAt") Timestamp updatedAt);
 
-    Integer countByPost_PostId(Long postId);
+    //답글이 없는 댓글만 (답글, 답글 없는 최상위 댓글), 답글이 있으면 0 행이고 tombstoneByOwner 로
+    //답글 작성의 incrementReplySeq 와 같은 행을 잠그므로 그 사이 달린 답글이 남지 않음
+    @Modifying
+    @Query("delete from Comment c where c.commentId = :commentId and c.user.userId = :userId and c.replyCount = 0 and c.deletedAt is null")
+    int deleteByOwner(@Param("commentId") Long commentId, @Param("userId") Long userId);
+
+    //답글이 달린 최상위 댓글은 내용만 지우고 스레드 유지
+    @Modifying
+    @Query("update Comment c set c.content = null, c.deletedAt = :deletedAt " +
+            "where c.commentId = :commentId and c.user.userId = :userId and c.deletedAt is null")
+    int tombstoneByOwner(@Param("commentId") Long commentId, @Param("userId") Long userId, @Param("deletedAt") Timestamp deletedAt);
+
+    //tombstone 은 없는 댓글과 같게 취급
+    @Query("select c.user.userId from Comment c where c.commentId = :commentId and c.deletedAt is null")
+    Optional<Long> findOwnerIdByCommentId(@Param("commentId") Long commentId);
+
+    //삭제 시 스레드 처리에 필요한 값만 (엔티티 로딩 없음)
+    @Query("select new com.ktb.ktb_community.dto.CommentOwnershipDto(c.commentId, c.user.userId, c.post.postId, c.rootId, c.replySeq, c.replyCount) " +
+            "from Comment c where c.commentId = :commentId and c.deletedAt is null")
+    Optional<CommentOwnershipDto> findOwnershipByCommentId(@Param("commentId") Long commentId);
+
+    //답글 순번 발급, UPDATE 가 최상위 댓글 행을 커밋까지 잠그므로 같은 스레드의 답글 작성은 순서대로
+    //bulk UPDATE 라 @UpdateTimestamp 를 거치지 않음 (답글이 달려도 최상위 댓글의 수정 시각은 그대로)
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount + 1, c.lastReplySeq = c.lastReplySeq + 1 where c.commentId = :rootId")
+    int incrementReplySeq(@Param("rootId") Long rootId);
+
+    //incrementReplySeq 이후 같은 트랜잭션에서 발급된 순번 조회
+    @Query("select c.lastReplySeq from Comment c where c.commentId = :rootId")
+    Optional<Integer> findLastReplySeq(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount - 1 where c.commentId = :rootId and c.replyCount > 0")
+    int decrementReplyCount(@Param("rootId") Long rootId);
+
+    //마지막 답글이 삭제된 tombstone 정리 (댓글 수는 tombstone 이 될 때 이미 차감)
+    @Modifying
+    @Query("delete from Comment c where c.commentId = :rootId and c.deletedAt is not null and c.replyCount = 0")
+    int deleteEmptyTombstone(@Param("rootId") Long rootId);
+
+    //스레드 도입 전 댓글 (root_id 가 null) 이 있는 게시글, 보정 후 댓글 페이지 캐시 무효화용
+    @Query(value = "select distinct post_id from comment where root_id is null", nativeQuery = true)
+    List<Long> findPostIdsWithoutRootId();
+
+    //스레드 도입 전 댓글을 최상위 댓글로 (root_id = 자기 id), 여러 번 실행해도 결과가 같음
+    //한 번에 잠그는 행이 많지 않도록 limit 단위로 나눠서 커밋
+    @Transactional
+    @Modifying
+    @Query(value = "update comment set root_id = comment_id where root_id is null limit :limit", nativeQuery = true)
+    int backfillRootIds(@Param("limit") int limit);
 }
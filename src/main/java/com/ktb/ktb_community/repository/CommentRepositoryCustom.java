@@ -0,0 +1,18 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.dto.CommentRowDto;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+
+public interface CommentRepositoryCustom {
+
+    //최상위 댓글 size 개 + 각 댓글의 첫 답글 replyPreviewSize 개, cursor 는 최상위 댓글 id (null 이면 첫 페이지)
+    Slice<CommentRowDto> findCommentPage(Long postId, Long cursor, int size, int replyPreviewSize);
+
+    //수정 응답용 단건 (작성자 조인)
+    Optional<CommentRowDto> findCommentRow(Long commentId);
+
+    //한 스레드의 답글, cursor 는 replySeq (null 이면 첫 페이지)
+    Slice<CommentRowDto> findReplyPage(Long rootId, Integer cursor, int size);
+}
@@ -0,0 +1,158 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.dto.CommentRowDto;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ktb.ktb_community.entity.QComment.comment;
+import static com.ktb.ktb_community.entity.QPost.post;
+import static com.ktb.ktb_community.entity.QUser.user;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    //스레드 하나의 첫 답글 몇 개, (root_id, reply_seq) 인덱스를 previewSize 개만 읽고 멈춤
+    //스레드마다 union all 로 묶어 한 번에 조회 (QueryDSL 로 표현할 수 없는 set 연산이라 HQL)
+    private static final String REPLY_PREVIEW_PART = """
+            (select c.commentId, c.post.postId, c.content, c.createdAt, c.updatedAt,
+                    c.rootId, c.replySeq, c.replyCount,
+                    u.userId, u.email, u.nickname, u.profileImageUrl, c.deletedAt
+             from Comment c join c.user u
+             where c.rootId = :root%d and c.replySeq > 0
+             order by c.replySeq
+             limit :previewSize)
+            """;
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
+
+    //최상위 댓글 page 를 (post_id, root_id) range scan 으로 조회한 뒤, 답글이 있는 스레드마다 남아 있는 첫 답글 몇 개 (쿼리 2회)
+    //삭제 요청된 게시글 (댓글은 배치가 정리하기 전까지 남아 있음) 이면 빈 페이지, 게시글 PK 조인이라 추가 쿼리 없음
+    //빈 페이지일 때 게시글이 없는 것인지는 호출 측에서 확인
+    @Override
+    public Slice<CommentRowDto> findCommentPage(Long postId, Long cursor, int size, int replyPreviewSize) {
+
+        List<CommentRowDto> content = selectRows()
+                .join(comment.post, post)
+                .where(post.postId.eq(postId),
+                        post.deletedAt.isNull(),
+                        rootIdGreaterThan(cursor),
+                        comment.replySeq.eq(0))
+                .orderBy(comment.rootId.asc())
+                .limit(size + 1L)
+                .fetch();
+
+        //size + 1 번째 최상위 댓글이 있으면 다음 페이지 존재
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        attachReplyPreviews(content, replyPreviewSize);
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public Slice<CommentRowDto> findReplyPage(Long rootId, Integer cursor, int size) {
+
+        List<CommentRowDto> content = selectRows()
+                .where(comment.rootId.eq(rootId),
+                        comment.replySeq.gt(cursor == null ? 0 : cursor))
+                .orderBy(comment.replySeq.asc())
+                .limit(size + 1L)
+                .fetch();
+
+        //size + 1 개를 조회해서 다음 페이지 존재 여부 확인
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public Optional<CommentRowDto> findCommentRow(Long commentId) {
+        return Optional.ofNullable(selectRows()
+                .where(comment.commentId.eq(commentId))
+                .fetchOne());
+    }
+
+    //답글이 삭제되면 순번에 빈자리가 생기므로 순번 범위 (replySeq <= N) 가 아니라 스레드별 limit 으로 자름
+    //답글이 아무리 많아도 스레드마다 인덱스 항목 previewSize 개만 읽음
+    private void attachReplyPreviews(List<CommentRowDto> roots, int replyPreviewSize) {
+
+        List<CommentRowDto> threads = roots.stream()
+                .filter(root -> root.getReplyCount() > 0)
+                .toList();
+        if (replyPreviewSize <= 0 || threads.isEmpty()) {
+            return;
+        }
+
+        String hql = IntStream.range(0, threads.size())
+                .mapToObj(REPLY_PREVIEW_PART::formatted)
+                .collect(Collectors.joining(" union all "));
+        TypedQuery<Object[]> query = entityManager.createQuery(hql, Object[].class)
+                .setParameter("previewSize", replyPreviewSize);
+        for (int i = 0; i < threads.size(); i++) {
+            query.setParameter("root" + i, threads.get(i).getCommentId());
+        }
+
+        Map<Long, CommentRowDto> threadById = threads.stream()
+                .collect(Collectors.toMap(CommentRowDto::getCommentId, Function.identity()));
+        query.getResultList().stream()
+                .map(CommentRepositoryCustomImpl::toRow)
+                .forEach(reply -> threadById.get(reply.getRootId()).getReplies().add(reply));
+        //union all 결과 순서는 보장되지 않으므로 스레드 안에서 순번순 정렬
+        threads.forEach(thread -> thread.getReplies().sort(Comparator.comparingInt(CommentRowDto::getReplySeq)));
+    }
+
+    //selectRows 와 같은 컬럼 순서
+    private static CommentRowDto toRow(Object[] row) {
+        return new CommentRowDto((Long) row[0], (Long) row[1], (String) row[2], (Timestamp) row[3], (Timestamp) row[4],
+                (Long) row[5], (Integer) row[6], (Integer) row[7],
+                (Long) row[8], (String) row[9], (String) row[10], (String) row[11], (Timestamp) row[12]);
+    }
+
+    private JPAQuery<CommentRowDto> selectRows() {
+        return queryFactory
+                .select(Projections.constructor(CommentRowDto.class,
+                        comment.commentId,
+                        comment.post.postId,
+                        comment.content,
+                        comment.createdAt,
+                        comment.updatedAt,
+                        comment.rootId,
+                        comment.replySeq,
+                        comment.replyCount,
+                        user.userId,
+                        user.email,
+                        user.nickname,
+                        user.profileImageUrl,
+                        comment.deletedAt
+                ))
+                .from(comment)
+                .join(comment.user, user);
+    }
+
+    private BooleanExpression rootIdGreaterThan(Long cursor) {
+        return cursor == null ? null : comment.rootId.gt(cursor);
+    }
+}
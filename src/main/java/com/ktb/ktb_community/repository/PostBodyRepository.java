@@ -0,0 +1,18 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.entity.PostBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+//삭제는 PostCascadeDeleteJob 에서 게시글 행과 함께
+@Repository
+public interface PostBodyRepository extends JpaRepository<PostBody, Long> {
+
+    //본문 행이 없는 기존 게시글이면 0 (호출 측에서 새로 저장)
+    @Modifying
+    @Query("update PostBody b set b.content = :content where b.postId = :postId")
+    int updateContent(@Param("postId") Long postId, @Param("content") String content);
+}
@@ -2,6 +2,7 @@ package com.ktb.ktb_community.repository;
 
 import com.ktb.ktb_community.entity.PostImage;
 import com.ktb.ktb_community.entity.PostImageId;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +11,6 @@ import java.util.List;
 @Repository
 public interface PostImageRepository extends JpaRepository<PostImage, PostImageId> {
 
+    @EntityGraph("PostImage.image")
     List<PostImage> findAllByPost_PostId(Long postId);
 }
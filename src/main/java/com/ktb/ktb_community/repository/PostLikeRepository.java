@@ -2,14 +2,37 @@ package com.ktb.ktb_community.repository;
 
 import com.ktb.ktb_community.entity.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
 
-    Integer countByPost_PostId(Long postId);
-
     Optional<PostLike> findByPost_PostIdAndUser_UserId(Long postId, Long userId);
+
+    //(user_id, post_id) PK 충돌은 무시 -> 새로 추가됐을 때만 1, 이미 좋아요 했거나 게시글이 없으면 0
+    @Modifying
+    @Query(value = "insert ignore into post_like (user_id, post_id) " +
+            "select :userId, p.post_id from post p where p.post_id = :postId and p.deleted_at is null",
+            nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    //실제로 지웠을 때만 1
+    @Modifying
+    @Query("delete from PostLike pl where pl.post.postId = :postId and pl.user.userId = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    //좋아요 set 적재용
+    @Query("select pl.user.userId from PostLike pl where pl.post.postId = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    //postIds 중 userId 가 좋아요 한 게시글 id (페이지당 IN 쿼리 1회)
+    @Query("select pl.post.postId from PostLike pl where pl.user.userId = :userId and pl.post.postId in :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
@@ -1,16 +1,105 @@
 package com.ktb.ktb_community.repository;
 
+import com.ktb.ktb_community.dto.PostCountsDto;
+import com.ktb.ktb_community.dto.PostLiveDto;
+import com.ktb.ktb_community.dto.PostSearchSource;
 import com.ktb.ktb_community.entity.Post;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    //작성자까지 한 번에 조회 (상세, 수정 응답)
+    @EntityGraph("Post.detail")
+    Optional<Post> findDetailByPostId(Long postId);
+
+    //작성자일 때만 수정/삭제, 영향받은 행 수가 0 이면 findOwnerIdByPostId 로 원인 확인
+    @Modifying
+    @Query("update Post p set p.title = :title, p.preview = :preview, p.updatedAt = :updatedAt " +
+            "where p.postId = :postId and p.user.userId = :userId and p.deletedAt is null")
+    int updateByOwner(@Param("postId") Long postId, @Param("userId") Long userId,
+                      @Param("title") String title, @Param("preview") String preview, @Param("updatedAt") Timestamp updatedAt);
+
+    @Modifying
+    @Query("update Post p set p.deletedAt = :deletedAt where p.postId = :postId and p.user.userId = :userId and p.deletedAt is null")
+    int softDeleteByOwner(@Param("postId") Long postId, @Param("userId") Long userId, @Param("deletedAt") Timestamp deletedAt);
+
+    @Query("select p.user.userId from Post p where p.postId = :postId")
+    Optional<Long> findOwnerIdByPostId(@Param("postId") Long postId);
+
+    //카운터는 UPDATE ... SET x = x + 1 로 원자적으로 증감
+    @Modifying
+    @Query("update Post p set p.likeCount = p.likeCount + 1 where p.postId = :postId")
+    int incrementLikeCount(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("update Post p set p.likeCount = p.likeCount - 1 where p.postId = :postId and p.likeCount > 0")
+    int decrementLikeCount(@Param("postId") Long postId);
+
+    //삭제된 게시글이면 0 (댓글 작성 시 게시글 존재 확인 겸용)
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + 1 where p.postId = :postId and p.deletedAt is null")
+    int incrementCommentCount(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount - 1 where p.postId = :postId and p.commentCount > 0")
+    int decrementCommentCount(@Param("postId") Long postId);
+
+    //삭제 요청 후 아직 정리되지 않은 게시글 (Post 의 @SQLRestriction 을 피하기 위해 native)
+    @Query(value = "select post_id from post where deleted_at is not null and deleted_at < :before order by post_id limit :limit", nativeQuery = true)
+    List<Long> findDeletedPostIdsBefore(@Param("before") Timestamp before, @Param("limit") int limit);
+
+    @Query("select p.likeCount from Post p where p.postId = :postId")
+    Optional<Integer> findLikeCountByPostId(@Param("postId") Long postId);
+
+    //상세 캐시 히트 시 카운터 + 작성자 프로필 (게시글 존재 확인 겸용)
+    @Query("select new com.ktb.ktb_community.dto.PostLiveDto(p.postId, p.viewCount, p.likeCount, p.commentCount, u.email, u.nickname, u.profileImageUrl) " +
+            "from Post p join p.user u where p.postId = :postId")
+    Optional<PostLiveDto> findLiveByPostId(@Param("postId") Long postId);
+
+    @Query("select new com.ktb.ktb_community.dto.PostCountsDto(p.postId, p.viewCount, p.likeCount, p.commentCount) from Post p where p.postId in :postIds")
+    List<PostCountsDto> findCountsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    //피드 요약 캐시와 합칠 카운터 + 작성자 프로필
+    @Query("select new com.ktb.ktb_community.dto.PostLiveDto(p.postId, p.viewCount, p.likeCount, p.commentCount, u.email, u.nickname, u.profileImageUrl) " +
+            "from Post p join p.user u where p.postId in :postIds")
+    List<PostLiveDto> findLiveByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    //검색 인덱스 색인용 (post_body 가 없는 게시글은 content 가 null)
+    @Query("select new com.ktb.ktb_community.dto.PostSearchSource(p.postId, p.title, p.preview, b.content, p.updatedAt) " +
+            "from Post p left join PostBody b on b.postId = p.postId where p.postId > :postId order by p.postId")
+    List<PostSearchSource> findSearchSources(@Param("postId") Long afterPostId, Pageable pageable);
+
+    @Query("select new com.ktb.ktb_community.dto.PostSearchSource(p.postId, p.title, p.preview, b.content, p.updatedAt) " +
+            "from Post p left join PostBody b on b.postId = p.postId where p.postId = :postId")
+    Optional<PostSearchSource> findSearchSourceByPostId(@Param("postId") Long postId);
+
+    @Query("select new com.ktb.ktb_community.dto.PostSearchSource(p.postId, p.title, p.preview, b.content, p.updatedAt) " +
+            "from Post p left join PostBody b on b.postId = p.postId where p.updatedAt > :since")
+    List<PostSearchSource> findSearchSourcesUpdatedAfter(@Param("since") Timestamp since);
+
+    @Query("select p.postId from Post p")
+    List<Long> findAllPostIds();
 
-    Slice<Post> findAllByOrderByPostIdDesc(Pageable pageable);
+    //작성자 프로필 수정 시 응답이 바뀌는 게시글
+    @Query("select p.postId from Post p where p.user.userId = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
 
-    Slice<Post> findByPostIdLessThanOrderByPostIdDesc(Long cursor, Pageable pageable);
+    //피드 인덱스 재구성용
+    @Query("select p.postId from Post p order by p.postId desc")
+    List<Long> findRecentPostIds(Pageable pageable);
 
+    @Query("select p.postId from Post p where p.postId > :postId order by p.postId desc")
+    List<Long> findPostIdsGreaterThan(@Param("postId") Long postId);
 }
@@ -0,0 +1,16 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.dto.PostFeedDto;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostRepositoryCustom {
+
+    //cursor 가 null 이면 첫 페이지
+    Slice<PostFeedDto> findFeed(Long cursor, int size);
+
+    //피드 인덱스에서 얻은 id 들의 피드 행 조회 (순서 보장 없음)
+    List<PostFeedDto> findFeedByIds(Collection<Long> postIds);
+}
@@ -0,0 +1,83 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.dto.PostFeedDto;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.ktb.ktb_community.entity.QPost.post;
+import static com.ktb.ktb_community.entity.QUser.user;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    //게시글, 작성자, 좋아요 수, 댓글 수를 한 번의 쿼리로 조회
+    //좋아요 수, 댓글 수는 post 의 비정규화 카운터 컬럼
+    //본문은 post.preview 만 사용 (post_body 는 읽지 않음)
+    //페이지 크기와 무관하게 쿼리는 1회
+    @Override
+    public Slice<PostFeedDto> findFeed(Long cursor, int size) {
+
+        List<PostFeedDto> content = queryFactory
+                .select(feedProjection())
+                .from(post)
+                .join(post.user, user)
+                .where(postIdLessThan(cursor))
+                .orderBy(post.postId.desc())
+                .limit(size + 1L)
+                .fetch();
+
+        //size + 1 개를 조회해서 다음 페이지 존재 여부 확인
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    @Override
+    public List<PostFeedDto> findFeedByIds(Collection<Long> postIds) {
+
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+
+        return queryFactory
+                .select(feedProjection())
+                .from(post)
+                .join(post.user, user)
+                .where(post.postId.in(postIds))
+                .fetch();
+    }
+
+    private ConstructorExpression<PostFeedDto> feedProjection() {
+        return Projections.constructor(PostFeedDto.class,
+                post.postId,
+                post.title,
+                post.preview,
+                post.createdAt,
+                post.updatedAt,
+                post.viewCount,
+                user.email,
+                user.nickname,
+                user.profileImageUrl,
+                post.likeCount,
+                post.commentCount
+        );
+    }
+
+    private BooleanExpression postIdLessThan(Long cursor) {
+        return cursor == null ? null : post.postId.lt(cursor);
+    }
+}
@@ -1,9 +1,16 @@
 package com.ktb.ktb_community.repository;
 
+import com.ktb.ktb_community.dto.UserNameDto;
+import com.ktb.ktb_community.dto.UserProfileDto;
 import com.ktb.ktb_community.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByNickname(String nickname);
+
+    //중복 확인용 (엔티티 로딩 없이 select ... limit 1)
+    boolean existsByEmail(String email);
+
+    boolean existsByNickname(String nickname);
+
+    //정보 수정 시 본인을 제외한 중복 확인
+    boolean existsByEmailAndUserIdNot(String email, Long userId);
+
+    boolean existsByNicknameAndUserIdNot(String nickname, Long userId);
+
+    //Bloom filter 재구성용 (탈퇴한 사용자도 unique 제약에 남아 있으므로 포함)
+    @Query("select new com.ktb.ktb_community.dto.UserNameDto(u.userId, u.email, u.nickname) " +
+            "from User u where u.userId > :userId order by u.userId")
+    List<UserNameDto> findNames(@Param("userId") Long afterUserId, Pageable pageable);
+
+    //캐시된 댓글 페이지의 작성자 프로필 (IN 쿼리 1회)
+    @Query("select new com.ktb.ktb_community.dto.UserProfileDto(u.userId, u.email, u.nickname, u.profileImageUrl) " +
+            "from User u where u.userId in :userIds")
+    List<UserProfileDto> findProfilesByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,71 @@
+package com.ktb.ktb_community.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+//한글(CJK)은 글자 bigram, 그 외 문자/숫자는 단어 단위로 분리
+//형태소 분석 없이 "게시판에서" 같은 조사 붙은 단어도 "게시판" 으로 찾을 수 있음
+//한 글자짜리 한글 검색어는 한 글자 단어에만 매칭됨
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    public static Set<String> tokenize(String text) {
+
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int[] codePoints = normalized.codePoints().toArray();
+
+        int start = 0;
+        while (start < codePoints.length) {
+            CharType type = typeOf(codePoints[start]);
+            int end = start + 1;
+            while (end < codePoints.length && typeOf(codePoints[end]) == type) {
+                end++;
+            }
+
+            if (type == CharType.CJK) {
+                addBigrams(terms, codePoints, start, end);
+            } else if (type == CharType.WORD) {
+                terms.add(new String(codePoints, start, end - start));
+            }
+            start = end;
+        }
+        return terms;
+    }
+
+    private static void addBigrams(Set<String> terms, int[] codePoints, int start, int end) {
+        if (end - start == 1) {
+            terms.add(new String(codePoints, start, 1));
+            return;
+        }
+        for (int i = start; i < end - 1; i++) {
+            terms.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static CharType typeOf(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        if (script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA) {
+            return CharType.CJK;
+        }
+        if (Character.isLetterOrDigit(codePoint)) {
+            return CharType.WORD;
+        }
+        return CharType.SEPARATOR;
+    }
+
+    private enum CharType {
+        CJK, WORD, SEPARATOR
+    }
+}
@@ -0,0 +1,107 @@
+package com.ktb.ktb_community.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+//게시글 역색인 (term -> postId 내림차순 집합)
+//쓰기는 직렬화, 읽기는 lock 없이 동시 수행
+@Component
+public class PostSearchIndex {
+
+    private final Map<String, ConcurrentSkipListSet<Long>> postings = new ConcurrentHashMap<>();
+    //ConcurrentSkipListSet.size() 는 O(n) 이라 문서 수를 따로 관리
+    private final Map<String, Integer> documentFrequency = new ConcurrentHashMap<>();
+    //수정, 삭제 시 기존 term 제거용
+    private final Map<Long, Set<String>> termsByPost = new ConcurrentHashMap<>();
+
+    public synchronized void index(Long postId, Set<String> terms) {
+
+        remove(postId);
+
+        Set<String> copied = Set.copyOf(terms);
+        for (String term : copied) {
+            postings.computeIfAbsent(term, key -> new ConcurrentSkipListSet<>(Comparator.reverseOrder())).add(postId);
+            documentFrequency.merge(term, 1, Integer::sum);
+        }
+        termsByPost.put(postId, copied);
+    }
+
+    public synchronized void remove(Long postId) {
+
+        Set<String> terms = termsByPost.remove(postId);
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            ConcurrentSkipListSet<Long> postIds = postings.get(term);
+            postIds.remove(postId);
+            if (documentFrequency.merge(term, -1, Integer::sum) <= 0) {
+                postings.remove(term);
+                documentFrequency.remove(term);
+            }
+        }
+    }
+
+    //모든 term 을 포함하는 게시글 id 를 cursor 미만에서 최신순으로 최대 limit 개
+    public List<Long> search(Set<String> terms, Long cursor, int limit) {
+
+        List<Long> result = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return result;
+        }
+
+        //문서 수가 가장 적은 term 부터 순회하고 나머지는 포함 여부만 확인
+        List<NavigableSet<Long>> lists = new ArrayList<>();
+        for (String term : terms.stream().sorted(Comparator.comparingInt(this::frequencyOf)).toList()) {
+            NavigableSet<Long> postIds = postings.get(term);
+            if (postIds == null) {
+                return result;
+            }
+            lists.add(postIds);
+        }
+
+        NavigableSet<Long> candidates = cursor == null ? lists.get(0) : lists.get(0).tailSet(cursor, false);
+        for (Long postId : candidates) {
+            if (lists.stream().skip(1).allMatch(postIds -> postIds.contains(postId))) {
+                result.add(postId);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    //스냅샷 저장용 복사본
+    public synchronized Map<Long, Set<String>> export() {
+        return new HashMap<>(termsByPost);
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documentFrequency.clear();
+        termsByPost.clear();
+    }
+
+    public Set<Long> indexedPostIds() {
+        return termsByPost.keySet();
+    }
+
+    public int size() {
+        return termsByPost.size();
+    }
+
+    private int frequencyOf(String term) {
+        return documentFrequency.getOrDefault(term, 0);
+    }
+}
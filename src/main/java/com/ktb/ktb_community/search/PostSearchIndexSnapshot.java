@@ -0,0 +1,80 @@
+package com.ktb.ktb_community.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+//검색 인덱스 스냅샷 파일 (postId -> term 목록)
+//createdAt 이후 변경분은 기동 시 DB 에서 보정
+public record PostSearchIndexSnapshot(long createdAt, Map<Long, Set<String>> termsByPost) {
+
+    private static final int MAGIC = 0x4B545350;
+    private static final int FORMAT_VERSION = 1;
+
+    //임시 파일에 쓴 뒤 교체해서 쓰는 도중 종료돼도 이전 스냅샷은 유지
+    public void write(Path path) throws IOException {
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(termsByPost.size());
+            for (Map.Entry<Long, Set<String>> entry : termsByPost.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String term : entry.getValue()) {
+                    out.writeUTF(term);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //파일이 없거나 형식이 다르면 Optional.empty() (전체 재색인)
+    public static Optional<PostSearchIndexSnapshot> read(Path path) throws IOException {
+
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            long createdAt = in.readLong();
+            int postCount = in.readInt();
+
+            Map<Long, Set<String>> termsByPost = new HashMap<>(postCount * 2);
+            for (int i = 0; i < postCount; i++) {
+                long postId = in.readLong();
+                int termCount = in.readInt();
+                Set<String> terms = new HashSet<>(termCount * 2);
+                for (int j = 0; j < termCount; j++) {
+                    terms.add(in.readUTF());
+                }
+                termsByPost.put(postId, terms);
+            }
+            return Optional.of(new PostSearchIndexSnapshot(createdAt, termsByPost));
+        }
+    }
+}
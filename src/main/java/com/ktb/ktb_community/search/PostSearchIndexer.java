@@ -0,0 +1,196 @@
+package com.ktb.ktb_community.search;
+
+import com.ktb.ktb_community.common.util.TransactionUtils;
+import com.ktb.ktb_community.dto.PostSearchSource;
+import com.ktb.ktb_community.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+//검색 인덱스 적재, 갱신, 스냅샷
+//기동: 스냅샷 로드 후 이후 변경분만 DB 에서 보정 (스냅샷이 없으면 전체 색인)
+//변경: 커밋 후 로컬 인덱스 반영 + pub/sub 으로 다른 노드에 전파
+@Slf4j
+@Component
+public class PostSearchIndexer implements MessageListener {
+
+    static final String CHANGE_CHANNEL = "post:search:changed";
+    private static final String UPSERT = "U";
+    private static final String DELETE = "D";
+    //스냅샷 시각과 updatedAt 사이 오차 여유
+    private static final long CATCH_UP_MARGIN_MS = 60_000;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Path snapshotPath;
+    private final int batchSize;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public PostSearchIndexer(PostSearchIndex postSearchIndex,
+                             PostRepository postRepository,
+                             StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             @Value("${search.index.snapshot-path:./data/post-search-index.snapshot}") String snapshotPath,
+                             @Value("${search.index.batch-size:500}") int batchSize) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.snapshotPath = Path.of(snapshotPath);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        long startedAt = System.currentTimeMillis();
+
+        try {
+            Optional<PostSearchIndexSnapshot> snapshot = readSnapshot();
+            if (snapshot.isPresent()) {
+                snapshot.get().termsByPost().forEach(postSearchIndex::index);
+                catchUp(snapshot.get().createdAt());
+            } else {
+                rebuild();
+                catchUp(startedAt);
+            }
+            log.info("post search index loaded: posts={}, fromSnapshot={}, {}ms",
+                    postSearchIndex.size(), snapshot.isPresent(), System.currentTimeMillis() - startedAt);
+        } catch (DataAccessException e) {
+            log.error("post search index load failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.snapshot-interval-ms:600000}",
+            initialDelayString = "${search.index.snapshot-interval-ms:600000}")
+    public void snapshot() {
+
+        //복사 전 시각을 기록해서 복사 도중 바뀐 게시글도 다음 기동 때 보정되도록 함
+        long createdAt = System.currentTimeMillis();
+        try {
+            new PostSearchIndexSnapshot(createdAt, postSearchIndex.export()).write(snapshotPath);
+        } catch (IOException e) {
+            log.error("post search index snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    public void indexed(Long postId, String title, String content) {
+        TransactionUtils.runAfterCommit(() -> {
+            postSearchIndex.index(postId, BigramTokenizer.tokenize(title + " " + content));
+            publish(UPSERT, postId);
+        });
+    }
+
+    public void removed(Long postId) {
+        TransactionUtils.runAfterCommit(() -> {
+            postSearchIndex.remove(postId);
+            publish(DELETE, postId);
+        });
+    }
+
+    //다른 노드의 변경: 본문은 메시지에 싣지 않고 DB 에서 다시 읽음
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            Long postId = Long.valueOf(parts[2]);
+            if (DELETE.equals(parts[1])) {
+                postSearchIndex.remove(postId);
+                return;
+            }
+            postRepository.findSearchSourceByPostId(postId).ifPresentOrElse(
+                    this::index,
+                    () -> postSearchIndex.remove(postId));
+        } catch (NumberFormatException | DataAccessException e) {
+            log.warn("post search index sync failed: {}, {}", parts[2], e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+
+        postSearchIndex.clear();
+
+        long cursor = 0L;
+        List<PostSearchSource> sources;
+        do {
+            sources = postRepository.findSearchSources(cursor, PageRequest.of(0, batchSize));
+            sources.forEach(this::index);
+            if (!sources.isEmpty()) {
+                cursor = sources.get(sources.size() - 1).getPostId();
+            }
+        } while (sources.size() == batchSize);
+    }
+
+    //since 이후 작성/수정된 게시글 재색인, DB 에 없는 게시글 제거
+    private void catchUp(long since) {
+
+        postRepository.findSearchSourcesUpdatedAfter(new Timestamp(since - CATCH_UP_MARGIN_MS))
+                .forEach(this::index);
+
+        Set<Long> existingIds = new HashSet<>(postRepository.findAllPostIds());
+        List<Long> deletedIds = postSearchIndex.indexedPostIds().stream()
+                .filter(postId -> !existingIds.contains(postId))
+                .toList();
+        deletedIds.forEach(postSearchIndex::remove);
+    }
+
+    private void index(PostSearchSource source) {
+        postSearchIndex.index(source.getPostId(), BigramTokenizer.tokenize(source.getText()));
+    }
+
+    private Optional<PostSearchIndexSnapshot> readSnapshot() {
+        try {
+            return PostSearchIndexSnapshot.read(snapshotPath);
+        } catch (IOException e) {
+            log.warn("post search index snapshot unreadable, rebuilding: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void publish(String type, Long postId) {
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + ":" + type + ":" + postId);
+        } catch (DataAccessException e) {
+            log.error("post search index change publish failed: postId={}, {}", postId, e.getMessage());
+        }
+    }
+}
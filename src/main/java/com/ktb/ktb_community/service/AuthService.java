@@ -1,27 +1,30 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.Security.JwtClaims;
 import com.ktb.ktb_community.common.Security.JwtProvider;
 import com.ktb.ktb_community.common.Security.LoginRequestDto;
 import com.ktb.ktb_community.common.Security.LoginResponseDto;
-import com.ktb.ktb_community.common.Security.RefreshToken;
+import com.ktb.ktb_community.common.Security.PasswordHasher;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore.Session;
 import com.ktb.ktb_community.entity.User;
 import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
-import com.ktb.ktb_community.repository.RefreshTokenRepository;
 import com.ktb.ktb_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final JwtProvider jwtProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     //AT, RT 발급
     //RT redis 에 저장
@@ -32,7 +35,8 @@ public class AuthService {
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new NoPermissionException("USER_PERMISSION_NOT_FOUND"));
 
-        if(!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        //BCrypt 검증은 전용 스레드에서 (가득 차면 503)
+        if(!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new NoPermissionException("USER_PERMISSION_NOT_FOUND");
         }
 
@@ -41,7 +45,7 @@ public class AuthService {
         String accessToken = jwtProvider.createAccessToken(strUserId);
         String refreshToken = jwtProvider.createRefreshToken(strUserId);
 
-        refreshTokenRepository.save(new RefreshToken(user.getUserId(), refreshToken));
+        refreshTokenStore.save(user.getUserId(), refreshToken);
 
         return new LoginResponseDto(accessToken, refreshToken);
     }
@@ -50,22 +54,39 @@ public class AuthService {
     //쿠키 무효화는 AuthController 에서 설정
     public void logout(String refreshToken) {
 
-        RefreshToken savedRefreshToken = refreshTokenRepository.findByToken(refreshToken).orElseThrow(
-                () -> new NoPermissionException("REFRESH_TOKEN_INVALID"));
+        if (!refreshTokenStore.revoke(getUserId(refreshToken), refreshToken)) {
+            throw new NoPermissionException("REFRESH_TOKEN_INVALID");
+        }
+    }
+
+    //모든 기기에서 로그아웃 (이미 발급된 AT 는 만료 시각까지 유효)
+    public long logoutAll(Long userId) {
+        return refreshTokenStore.revokeAll(userId);
+    }
 
-        refreshTokenRepository.delete(savedRefreshToken);
+    //로그인된 세션 (RT) 목록
+    public List<Session> getSessions(Long userId) {
+        return refreshTokenStore.findSessions(userId);
     }
 
     public LoginResponseDto reissueAccessToken(String refreshToken) {
 
-        RefreshToken token = refreshTokenRepository.findByToken(refreshToken).orElseThrow(
-                () -> new NoPermissionException("REFRESH_TOKEN_INVALID")
-        );
+        Long userId = getUserId(refreshToken);
+        if (!refreshTokenStore.isActive(userId, refreshToken)) {
+            throw new NoPermissionException("REFRESH_TOKEN_INVALID");
+        }
 
-        String accessToken = jwtProvider.createAccessToken(token.getUserId().toString());
+        String accessToken = jwtProvider.createAccessToken(userId.toString());
 
         //AT 만 재발급
         //RT 는 쿠키에 그대로 유지
         return new LoginResponseDto(accessToken, null);
     }
+
+    //RT 저장 키가 사용자별이라 서명 검증된 RT 의 subject 로 사용자를 먼저 찾음
+    private Long getUserId(String refreshToken) {
+        return jwtProvider.verify(refreshToken)
+                .map(JwtClaims::userId)
+                .orElseThrow(() -> new NoPermissionException("REFRESH_TOKEN_INVALID"));
+    }
 }
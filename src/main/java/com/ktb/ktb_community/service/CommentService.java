@@ -1,26 +1,42 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.cache.CommentPageCache;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.common.util.ConstraintUtils;
+import com.ktb.ktb_community.dto.CommentOwnershipDto;
 import com.ktb.ktb_community.dto.CommentPageResponseDto;
 import com.ktb.ktb_community.dto.CommentRequestDto;
 import com.ktb.ktb_community.dto.CommentResponseDto;
+import com.ktb.ktb_community.dto.CommentRowDto;
 import com.ktb.ktb_community.dto.CursorDto;
+import com.ktb.ktb_community.dto.UserProfileDto;
 import com.ktb.ktb_community.entity.Comment;
 import com.ktb.ktb_community.entity.Post;
 import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.CommentRepository;
 import com.ktb.ktb_community.repository.PostRepository;
 import com.ktb.ktb_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,43 +46,66 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final PostVersionStore postVersionStore;
+    private final PostTrendingIndex postTrendingIndex;
+    private final CommentPageCache commentPageCache;
+    private final PostEventHub postEventHub;
+
+    //목록 조회 시 최상위 댓글마다 함께 보여줄 답글 수
+    @Value("${comment.reply.preview-size:3}")
+    private int replyPreviewSize;
 
     @Transactional
-    public CommentResponseDto create(CommentRequestDto commentRequestDto, String userId, Long postId) {
+    public CommentResponseDto create(CommentRequestDto commentRequestDto, Long userId, Long postId) {
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+        //댓글 수 UPDATE 로 게시글 존재 확인 (삭제된 게시글이면 0), 작성자와 게시글은 id 만 가진 프록시
+        if (postRepository.incrementCommentCount(postId) == 0) {
+            throw new NotFoundException("POST_NOT_FOUND");
+        }
+        User user = userRepository.getReferenceById(userId);
+        Post post = postRepository.getReferenceById(postId);
 
-        Comment comment = new Comment(commentRequestDto.getContent(), user, post);
-        commentRepository.save(comment);
+        Comment comment;
+        if (commentRequestDto.getParentId() == null) {
+            comment = new Comment(commentRequestDto.getContent(), user, post);
+            save(comment);
+            comment.startThread();
+            commentPageCache.appended(postId, comment);
+        } else {
+            Long rootId = findThreadRootId(commentRequestDto.getParentId(), postId);
+            comment = new Comment(commentRequestDto.getContent(), user, post, rootId, issueReplySeq(rootId));
+            save(comment);
+            //캐시된 최상위 댓글의 답글 수, 미리보기가 바뀜
+            commentPageCache.evict(postId);
+        }
+        postVersionStore.bump(postId);
+        postTrendingIndex.commented(postId, 1);
+        postEventHub.publishComment(postId, comment);
 
-        return CommentResponseDto.from(comment, Boolean.TRUE);
+        return CommentResponseDto.created(comment);
     }
 
-    public CommentResponseDto getCommentById(Long commentId, String userId) {
+    public CommentResponseDto getCommentById(Long commentId, Long userId) {
 
-        Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
-        Boolean isAuthor = comment.getUser().getUserId().equals(Long.valueOf(userId));
+        Comment comment = commentRepository.findWithUserByCommentId(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
+        Boolean isAuthor = comment.getUser().getUserId().equals(userId);
 
         return CommentResponseDto.from(comment, isAuthor);
     }
 
-    public CommentPageResponseDto getCommentsByPostId(Long postId, Integer cursor, int size, String userId) {
-
-        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "commentId"));
+    public CommentPageResponseDto getCommentsByPostId(Long postId, Integer cursor, int size, Long userId) {
 
-        //post 검증
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+        Long cursorId = cursor == null ? null : Long.valueOf(cursor);
 
-        Slice<Comment> commentSlice = (cursor == null)
-                ? commentRepository.findByPost_PostIdOrderByCommentIdAsc(postId, pageable)
-                : commentRepository.findByPost_PostIdAndCommentIdGreaterThanOrderByCommentIdAsc(postId, Long.valueOf(cursor), pageable);
+        //캐시된 범위 안의 페이지는 댓글 DB 조회 없이 응답 (작성자 프로필만 조회)
+        Slice<CommentRowDto> commentSlice = commentPageCache.findPage(postId, cursorId, size)
+                .map(this::fillProfiles)
+                .orElseGet(() -> cursorId == null
+                        ? loadFirstPage(postId, size)
+                        : findCommentPage(postId, cursorId, size));
 
         List<CommentResponseDto> commentResponseDtoList = commentSlice.getContent().stream()
-                .map(comment -> {
-                    Boolean isAuthor = comment.getUser().getUserId().equals(Long.valueOf(userId));
-                    return CommentResponseDto.from(comment, isAuthor);
-                })
+                .map(row -> toResponse(row, userId))
                 .toList();
 
         Long nextCursor = null;
@@ -78,34 +117,175 @@ public class CommentService {
         return new CommentPageResponseDto(commentResponseDtoList, cursorDto);
     }
 
-    @Transactional
-    public CommentResponseDto update(CommentRequestDto commentRequestDto, String userId, Long commentId) {
+    //한 스레드의 답글 페이지, cursor 는 마지막으로 받은 답글의 순번
+    public CommentPageResponseDto getReplies(Long commentId, Integer cursor, int size, Long userId) {
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOTFOUND"));
-        Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOTFOUND"));
+        Slice<CommentRowDto> replySlice = commentRepository.findReplyPage(commentId, cursor, size);
 
-        //댓글 작성자가 아닌 경우 수정 불가
-        if(!user.equals(comment.getUser())) {
-            throw new NoPermissionException("NO_PERMISSION");
+        if (replySlice.getContent().isEmpty() && !commentRepository.existsById(commentId)) {
+            throw new NotFoundException("COMMENT_NOT_FOUND");
+        }
+
+        List<CommentResponseDto> replyResponseDtoList = replySlice.getContent().stream()
+                .map(row -> toResponse(row, userId))
+                .toList();
+
+        Long nextCursor = null;
+        if (!replySlice.getContent().isEmpty()) {
+            nextCursor = (long) replySlice.getContent().get(replySlice.getContent().size() - 1).getReplySeq();
+        }
+
+        CursorDto cursorDto = new CursorDto(nextCursor, replySlice.hasNext());
+        return new CommentPageResponseDto(replyResponseDtoList, cursorDto);
+    }
+
+    @Transactional
+    public CommentResponseDto update(CommentRequestDto commentRequestDto, Long userId, Long commentId) {
+
+        //작성자일 때만 수정되는 UPDATE 한 번으로 권한 확인 (엔티티 로딩 없음)
+        int updated = commentRepository.updateContentByOwner(commentId, userId, commentRequestDto.getContent(),
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (updated == 0) {
+            throw ownershipFailure(commentId);
         }
 
-        comment.update(commentRequestDto.getContent());
+        CommentRowDto row = commentRepository.findCommentRow(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
+        //캐시에는 최상위 댓글 row 에 답글이 포함되어 있으므로 답글이 얽히면 무효화
+        if (row.getReplySeq() > 0 || row.getReplyCount() > 0) {
+            commentPageCache.evict(row.getPostId());
+        } else {
+            commentPageCache.updated(row);
+        }
 
-        return CommentResponseDto.from(comment, Boolean.TRUE);
+        return CommentResponseDto.from(row, Boolean.TRUE);
     }
 
     @Transactional
-    public Boolean deleteCommentById(Long commentId, String userId){
+    public Boolean deleteCommentById(Long commentId, Long userId){
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
-        Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
+        CommentOwnershipDto target = commentRepository.findOwnershipByCommentId(commentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
 
         //권한 확인
-        if(!user.equals(comment.getUser())) {
+        if (!target.getUserId().equals(userId)) {
             throw new NoPermissionException("NO_PERMISSION");
         }
 
-        commentRepository.delete(comment);
+        //답글이 없는 댓글은 삭제, 답글이 달린 최상위 댓글은 tombstone 으로 남기고 다른 사용자의 답글은 유지
+        Long postId = target.getPostId();
+        boolean deleted = commentRepository.deleteByOwner(commentId, userId) == 1;
+        boolean tombstoned = !deleted && !target.isReply()
+                && commentRepository.tombstoneByOwner(commentId, userId, Timestamp.valueOf(LocalDateTime.now())) == 1;
+
+        //확인 이후 다른 요청이 먼저 지웠으면 둘 다 0 행
+        if (!deleted && !tombstoned) {
+            throw new NotFoundException("COMMENT_NOT_FOUND");
+        }
+
+        if (target.isReply()) {
+            commentRepository.decrementReplyCount(target.getRootId());
+            //마지막 답글이 지워진 tombstone 은 행도 삭제
+            commentRepository.deleteEmptyTombstone(target.getRootId());
+            commentPageCache.evict(postId);
+        } else if (deleted) {
+            commentPageCache.deleted(postId, commentId);
+        } else {
+            //캐시된 최상위 댓글 row 에 미리보기 답글이 포함되어 있으므로 게시글 단위로 무효화
+            commentPageCache.evict(postId);
+        }
+        postRepository.decrementCommentCount(postId);
+        postVersionStore.bump(postId);
+        postTrendingIndex.commented(postId, -1);
         return true;
     }
+
+    //조건부 UPDATE/DELETE 가 0 행일 때 원인 구분 (없는 댓글 / 다른 사용자의 댓글)
+    private RuntimeException ownershipFailure(Long commentId) {
+        if (commentRepository.findOwnerIdByCommentId(commentId).isPresent()) {
+            return new NoPermissionException("NO_PERMISSION");
+        }
+        return new NotFoundException("COMMENT_NOT_FOUND");
+    }
+
+    //IDENTITY 라 save 시점에 INSERT, 토큰의 사용자 행이 없으면 작성자 FK 위반 (나머지 위반은 그대로)
+    private void save(Comment comment) {
+        try {
+            commentRepository.save(comment);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtils.isViolated(e, Comment.USER_FK)) {
+                throw new NotFoundException("USER_NOT_FOUND");
+            }
+            throw e;
+        }
+    }
+
+    //답글의 답글은 같은 스레드의 최상위 댓글 아래로
+    private Long findThreadRootId(Long parentId, Long postId) {
+
+        Comment parent = commentRepository.findById(parentId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
+        if (!parent.getPost().getPostId().equals(postId)) {
+            throw new NotFoundException("COMMENT_NOT_FOUND");
+        }
+        return parent.isReply() ? parent.getRootId() : parent.getCommentId();
+    }
+
+    //최상위 댓글을 엔티티로 수정하지 않고 UPDATE 한 번으로 잠금 + 답글 수, 순번 증가
+    //그 사이 최상위 댓글이 삭제됐으면 0 행
+    private int issueReplySeq(Long rootId) {
+
+        if (commentRepository.incrementReplySeq(rootId) == 0) {
+            throw new NotFoundException("COMMENT_NOT_FOUND");
+        }
+        return commentRepository.findLastReplySeq(rootId).orElseThrow(() -> new NotFoundException("COMMENT_NOT_FOUND"));
+    }
+
+    private CommentResponseDto toResponse(CommentRowDto row, Long viewerId) {
+
+        CommentResponseDto responseDto = CommentResponseDto.from(row, row.getUserId().equals(viewerId));
+        responseDto.setReplies(row.getReplies().stream().map(reply -> toResponse(reply, viewerId)).toList());
+        return responseDto;
+    }
+
+    //캐시에는 작성자 id 만 있으므로 프로필은 IN 쿼리 1회로 채움 (프로필 수정이 바로 반영)
+    private Slice<CommentRowDto> fillProfiles(Slice<CommentRowDto> slice) {
+
+        List<CommentRowDto> rows = slice.getContent().stream()
+                .flatMap(row -> Stream.concat(Stream.of(row), row.getReplies().stream()))
+                .toList();
+        if (rows.isEmpty()) {
+            return slice;
+        }
+
+        Set<Long> userIds = rows.stream().map(CommentRowDto::getUserId).collect(Collectors.toSet());
+        Map<Long, UserProfileDto> profiles = userRepository.findProfilesByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserProfileDto::getUserId, Function.identity()));
+        rows.forEach(row -> row.applyProfile(profiles.get(row.getUserId())));
+        return slice;
+    }
+
+    //첫 페이지 miss 시 window 만큼 조회해서 캐시 적재
+    private Slice<CommentRowDto> loadFirstPage(Long postId, int size) {
+
+        //적재 전 세대를 먼저 읽어야 조회 중 변경된 결과를 덮어쓰지 않음
+        String generation = commentPageCache.generation(postId);
+        Slice<CommentRowDto> window = findCommentPage(postId, null, Math.max(size, commentPageCache.getWindowSize()));
+        commentPageCache.load(postId, generation, window.getContent(), window.hasNext());
+
+        List<CommentRowDto> rows = window.getContent();
+        if (rows.size() <= size) {
+            return window;
+        }
+        return new SliceImpl<>(rows.subList(0, size), PageRequest.of(0, size), true);
+    }
+
+    private Slice<CommentRowDto> findCommentPage(Long postId, Long cursor, int size) {
+
+        Slice<CommentRowDto> commentSlice = commentRepository.findCommentPage(postId, cursor, size, replyPreviewSize);
+
+        //삭제된 게시글의 댓글은 조회 쿼리에서 제외되므로, 댓글이 있으면 게시글이 살아 있음
+        //빈 페이지일 때만 댓글이 없는 게시글인지 없는 게시글인지 확인
+        if (commentSlice.getContent().isEmpty() && !postRepository.existsById(postId)) {
+            throw new NotFoundException("POST_NOT_FOUND");
+        }
+        return commentSlice;
+    }
 }
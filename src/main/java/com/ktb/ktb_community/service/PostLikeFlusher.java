@@ -0,0 +1,139 @@
+package com.ktb.ktb_community.service;
+
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostLikeStore.LikeShard;
+import com.ktb.ktb_community.dto.PostCountsDto;
+import com.ktb.ktb_community.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//Redis 에 먼저 기록된 좋아요/취소를 post_like 에 모아서 반영 (write-behind)
+//게시글마다 여러 행 INSERT IGNORE, DELETE ... IN 을 batch-size 단위로 실행하고
+//카운터는 실제로 추가/삭제된 행 수만큼 한 번에 증감
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostLikeFlusher {
+
+    private static final String COUNT_SQL =
+            "update post set like_count = greatest(like_count + ?, 0) where post_id = ?";
+
+    private final PostLikeStore postLikeStore;
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${post.likes.flush-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${post.likes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+
+        List<LikeShard> shards;
+        try {
+            shards = postLikeStore.getDirtyShards();
+        } catch (DataAccessException e) {
+            log.warn("post like flush skipped, dirty shard read failed: {}", e.getMessage());
+            return;
+        }
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        //삭제된 게시글에 남은 변경은 반영하지 않고 버림
+        Set<Long> postIds = shards.stream().map(LikeShard::postId).collect(Collectors.toSet());
+        Set<Long> livePostIds = postRepository.findCountsByPostIdIn(postIds).stream()
+                .map(PostCountsDto::getPostId)
+                .collect(Collectors.toSet());
+
+        //stripe 모드 게시글은 stripe 마다 따로 반영 (한 번에 다루는 변경 수가 stripe 크기로 제한됨)
+        for (LikeShard shard : shards) {
+            try {
+                flush(shard, livePostIds.contains(shard.postId()));
+            } catch (DataAccessException e) {
+                //반영하지 못한 변경은 pending 에 남아 다음 주기에 재시도 (insert ignore 라 중복 반영돼도 같음)
+                log.error("post like flush failed, retry on next flush: postId={}, stripe={}, {}",
+                        shard.postId(), shard.stripe(), e.getMessage());
+            }
+        }
+    }
+
+    //graceful shutdown 시 남은 변경 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(LikeShard shard, boolean live) {
+
+        Map<Long, Boolean> pending = postLikeStore.getPending(shard);
+        if (live && !pending.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> write(shard.postId(), pending));
+        }
+        postLikeStore.acknowledge(shard, pending);
+    }
+
+    private void write(Long postId, Map<Long, Boolean> pending) {
+
+        List<Long> liked = new ArrayList<>();
+        List<Long> unliked = new ArrayList<>();
+        pending.forEach((userId, like) -> (like ? liked : unliked).add(userId));
+
+        int delta = 0;
+        for (List<Long> chunk : chunks(liked)) {
+            delta += insert(postId, chunk);
+        }
+        for (List<Long> chunk : chunks(unliked)) {
+            delta -= delete(postId, chunk);
+        }
+
+        if (delta != 0) {
+            jdbcTemplate.update(COUNT_SQL, delta, postId);
+        }
+    }
+
+    //insert ignore 라 이미 있는 행, 탈퇴한 사용자의 행은 건너뛰고 실제로 추가된 행 수만 반환
+    private int insert(Long postId, List<Long> userIds) {
+
+        String sql = "insert ignore into post_like (user_id, post_id) values "
+                + String.join(", ", Collections.nCopies(userIds.size(), "(?, ?)"));
+        Object[] args = new Object[userIds.size() * 2];
+        for (int i = 0; i < userIds.size(); i++) {
+            args[i * 2] = userIds.get(i);
+            args[i * 2 + 1] = postId;
+        }
+        return jdbcTemplate.update(sql, args);
+    }
+
+    private int delete(Long postId, List<Long> userIds) {
+
+        String sql = "delete from post_like where post_id = ? and user_id in ("
+                + String.join(", ", Collections.nCopies(userIds.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(userIds.size() + 1);
+        args.add(postId);
+        args.addAll(userIds);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            chunks.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return chunks;
+    }
+}
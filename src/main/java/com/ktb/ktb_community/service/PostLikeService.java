@@ -1,14 +1,17 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.cache.HotPostDetector;
+import com.ktb.ktb_community.common.cache.LikedPostCache;
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostLikeStore.LikeState;
+import com.ktb.ktb_community.common.cache.PostLikeStore.Toggle;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
 import com.ktb.ktb_community.dto.PostLikeResponseDto;
-import com.ktb.ktb_community.entity.Post;
-import com.ktb.ktb_community.entity.PostLike;
-import com.ktb.ktb_community.entity.User;
-import com.ktb.ktb_community.exception.DuplicatedException;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.PostLikeRepository;
 import com.ktb.ktb_community.repository.PostRepository;
-import com.ktb.ktb_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,48 +25,95 @@ public class PostLikeService {
 
     private final PostLikeRepository postLikeRepository;
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final PostLikeStore postLikeStore;
+    private final HotPostDetector hotPostDetector;
+    private final LikedPostCache likedPostCache;
+    private final PostVersionStore postVersionStore;
+    private final PostTrendingIndex postTrendingIndex;
+    private final PostEventHub postEventHub;
 
     @Transactional
-    public PostLikeResponseDto createLike (Long postId, String userId) {
+    public PostLikeResponseDto createLike (Long postId, Long userId) {
+        return toggle(postId, userId, true);
+    }
+
+    @Transactional
+    public PostLikeResponseDto deleteLike (Long postId, Long userId) {
+        return toggle(postId, userId, false);
+    }
 
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+    //Redis 의 좋아요 set 에 먼저 기록하고 post_like 반영은 PostLikeFlusher 가 모아서 처리
+    //같은 요청이 여러 번 와도 결과가 같음 (SADD/SREM, DB 는 insert ignore)
+    private PostLikeResponseDto toggle(Long postId, Long userId, boolean liked) {
 
-        Optional<PostLike> optionalPostLike = postLikeRepository.findByPost_PostIdAndUser_UserId(postId, Long.valueOf(userId));
+        //요청이 몰리는 게시글은 좋아요 set 을 여러 stripe 로 나눔
+        hotPostDetector.record(postId);
 
-        if(optionalPostLike.isPresent()) {
-            throw new DuplicatedException("postLike", "already liked");
+        Toggle result = postLikeStore.toggle(postId, userId, liked)
+                .or(() -> loadLikers(postId) ? postLikeStore.toggle(postId, userId, liked) : Optional.empty())
+                //Redis 를 쓸 수 없으면 DB 에 바로 반영
+                .orElseGet(() -> liked ? likeInDb(postId, userId) : unlikeInDb(postId, userId));
+        if (result.likeCount() < 0) {
+            result = new Toggle(result.changed(), findStripedLikeCount(postId, userId));
         }
 
-        PostLike postLike = PostLike.builder()
-                .post(post)
-                .user(user)
-                .build();
+        likedPostCache.put(userId, postId, liked);
+        if (result.changed()) {
+            postVersionStore.bump(postId);
+            postTrendingIndex.liked(postId, liked);
+            postEventHub.publishLikeCount(postId, result.likeCount());
+        }
 
-        postLikeRepository.save(postLike);
+        return new PostLikeResponseDto(result.likeCount(), liked);
+    }
 
-        Integer count =  postLikeRepository.countByPost_PostId(postId);
+    //좋아요 set 이 없으면 DB 의 좋아요 목록으로 적재, 적재하지 못하면 false
+    private boolean loadLikers(Long postId) {
 
-        return new PostLikeResponseDto(count, true);
-    }
+        String generation = postLikeStore.generation(postId);
+        if (generation == null) {
+            return false;
+        }
 
-    @Transactional
-    public PostLikeResponseDto deleteLike (Long postId, String userId) {
+        //없는 게시글, 삭제된 게시글의 set 은 만들지 않음
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("POST_NOT_FOUND");
+        }
+        return postLikeStore.load(postId, generation, postLikeRepository.findUserIdsByPostId(postId));
+    }
 
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+    //stripe 모드 게시글에서 다른 stripe 가 적재되지 않았으면 적재 후 합계, 적재하지 못하면 DB 카운터
+    private int findStripedLikeCount(Long postId, Long userId) {
+        if (loadLikers(postId)) {
+            Optional<LikeState> state = postLikeStore.getState(userId, postId);
+            if (state.isPresent()) {
+                return state.get().likeCount();
+            }
+        }
+        return findLikeCount(postId);
+    }
 
-        Optional<PostLike> optionalPostLike = postLikeRepository.findByPost_PostIdAndUser_UserId(postId, Long.valueOf(userId));
+    //PK 충돌은 insert ignore 로 흡수, 실제로 추가됐을 때만 카운터 증가
+    private Toggle likeInDb(Long postId, Long userId) {
 
-        if(optionalPostLike.isEmpty()){
-            throw new NotFoundException("POST_LIKE_NOT_FOUND");
+        boolean inserted = postLikeRepository.insertIgnore(postId, userId) == 1;
+        if (inserted) {
+            postRepository.incrementLikeCount(postId);
         }
+        return new Toggle(inserted, findLikeCount(postId));
+    }
 
-        postLikeRepository.delete(optionalPostLike.get());
+    private Toggle unlikeInDb(Long postId, Long userId) {
 
-        Integer count =  postLikeRepository.countByPost_PostId(postId);
+        boolean deleted = postLikeRepository.deleteByPostIdAndUserId(postId, userId) == 1;
+        if (deleted) {
+            postRepository.decrementLikeCount(postId);
+        }
+        return new Toggle(deleted, findLikeCount(postId));
+    }
 
-        return new PostLikeResponseDto(count, false);
+    //카운터 UPDATE 가 행을 잠근 뒤 읽으므로 동시 요청이 반영된 값
+    private int findLikeCount(Long postId) {
+        return postRepository.findLikeCountByPostId(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
     }
 }
@@ -1,25 +1,49 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.batch.PostCascadeDeleteLauncher;
+import com.ktb.ktb_community.common.cache.CachedPostDetail;
+import com.ktb.ktb_community.common.cache.CachedPostSummary;
+import com.ktb.ktb_community.common.cache.CommentPageCache;
+import com.ktb.ktb_community.common.cache.LikedPostCache;
+import com.ktb.ktb_community.common.cache.PostDetailCache;
+import com.ktb.ktb_community.common.cache.PostFeedIndex;
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostSummaryCache;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.common.util.ConstraintUtils;
+import com.ktb.ktb_community.common.util.HashUtils;
 import com.ktb.ktb_community.dto.*;
 import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.PostBody;
 import com.ktb.ktb_community.entity.PostImage;
-import com.ktb.ktb_community.entity.PostLike;
 import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.*;
+import com.ktb.ktb_community.search.BigramTokenizer;
+import com.ktb.ktb_community.search.PostSearchIndex;
+import com.ktb.ktb_community.search.PostSearchIndexer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Slice;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -30,13 +54,27 @@ public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostImageRepository postImageRepository;
+    private final PostBodyRepository postBodyRepository;
     private final PostLikeRepository postLikeRepository;
-    private final CommentRepository commentRepository;
+    private final ViewCountService viewCountService;
+    private final PostDetailCache postDetailCache;
+    private final PostFeedIndex postFeedIndex;
+    private final PostTrendingIndex postTrendingIndex;
+    private final PostSummaryCache postSummaryCache;
+    private final LikedPostCache likedPostCache;
+    private final PostLikeStore postLikeStore;
+    private final PostVersionStore postVersionStore;
+    private final PostSearchIndex postSearchIndex;
+    private final PostSearchIndexer postSearchIndexer;
+    private final CommentPageCache commentPageCache;
+    private final PostCascadeDeleteLauncher postCascadeDeleteLauncher;
+    private final PostEventHub postEventHub;
 
     @Transactional
-    public PostResponseDto create(PostRequestDto requestDto, String userId) {
+    public PostResponseDto create(PostRequestDto requestDto, Long userId) {
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
+        //작성자는 id 만 가진 프록시 (응답에 작성자 프로필을 담지 않으므로 로딩하지 않음)
+        User user = userRepository.getReferenceById(userId);
         List<ImageResponseDto> images = new ArrayList<>();
 
         Post post = Post.builder()
@@ -45,58 +83,162 @@ public class PostService {
                 .user(user)
                 .build();
 
-        Long postId = postRepository.save(post).getPostId();
-        Integer commentCount = commentRepository.countByPost_PostId(postId);
+        //IDENTITY 라 save 시점에 INSERT, 토큰의 사용자 행이 없으면 작성자 FK 위반 (나머지 위반은 그대로)
+        try {
+            postRepository.save(post);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtils.isViolated(e, Post.USER_FK)) {
+                throw new NotFoundException("USER_NOT_FOUND");
+            }
+            throw e;
+        }
+        postBodyRepository.save(new PostBody(post, requestDto.getContent()));
+        postFeedIndex.add(post.getPostId());
+        postTrendingIndex.add(post.getPostId());
+        postSearchIndexer.indexed(post.getPostId(), requestDto.getTitle(), requestDto.getContent());
 
-        return PostResponseDto.from(post,0, false, images, Boolean.TRUE, commentCount);
+        return PostResponseDto.created(post, requestDto.getContent(), images);
     }
 
-    @Transactional
-    public PostResponseDto getPostById(Long postId, String userId) {
+    public PostResponseDto getPostById(Long postId, Long userId) {
+
+        //캐시 히트: 카운터, 작성자 프로필만 조회 (게시글 존재 확인 겸용)
+        //캐시 미스: 게시글, 이미지 조회 후 캐시 (조회 전 세대를 읽어 그 사이 무효화되면 저장하지 않음)
+        CachedPostDetail detail;
+        PostLiveDto live;
+
+        Optional<CachedPostDetail> cached = postDetailCache.get(postId);
+        if (cached.isPresent()) {
+            detail = cached.get();
+            live = postRepository.findLiveByPostId(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+        } else {
+            String generation = postDetailCache.generation(postId);
+            Post post = postRepository.findDetailByPostId(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+            List<ImageResponseDto> dtoList = postImageRepository.findAllByPost_PostId(postId).stream()
+                    .map(PostImage::getImage)
+                    .map(ImageResponseDto::from)
+                    .toList();
+
+            //본문 테이블이 생기기 전 게시글은 preview 가 전체 본문
+            String content = postBodyRepository.findById(postId)
+                    .map(PostBody::getContent)
+                    .orElse(post.getPreview());
+
+            detail = CachedPostDetail.of(post, content, dtoList);
+            live = PostLiveDto.of(post);
+            postDetailCache.put(detail, generation);
+        }
 
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
-        Integer likeCount = postLikeRepository.countByPost_PostId(postId);
-        List<PostImage> postImageList = postImageRepository.findAllByPost_PostId(postId);
-        Optional<PostLike> optionalPostLike =  postLikeRepository.findByPost_PostIdAndUser_UserId(postId, Long.valueOf(userId));
-        boolean isLiked = false;
+        //사용자별 값은 캐시하지 않고 매 요청마다 계산
+        //좋아요 set 이 적재된 게시글은 Redis 가 기준 (post_like 는 flush 주기만큼 늦음)
+        Optional<PostLikeStore.LikeState> likeState = postLikeStore.getState(userId, postId);
+        boolean isLiked = likeState.map(PostLikeStore.LikeState::liked)
+                .orElseGet(() -> postLikeRepository.findByPost_PostIdAndUser_UserId(postId, userId).isPresent());
+        Boolean isAuthor = detail.getAuthorId().equals(userId);
 
-        List<ImageResponseDto> dtoList = postImageList.stream()
-                .map(PostImage::getImage)
-                .map(ImageResponseDto::from)
-                .toList();
+        countView(postId);
+
+        PostResponseDto responseDto = PostResponseDto.from(detail, live, isLiked, isAuthor);
+        responseDto.setViewCount(live.getViewCount() + (int) viewCountService.getPendingCount(postId));
+        likeState.ifPresent(state -> responseDto.setLikeCount(state.likeCount()));
+        return responseDto;
+    }
+
+    //조회수는 버퍼에 모았다가 주기적으로 반영
+    //ETag 가 같아 304 로 응답하는 조회도 여기서 집계
+    public void countView(Long postId) {
+        viewCountService.increment(postId);
+    }
 
-        Boolean isAuthor = Boolean.FALSE;
-        if(post.getUser().getUserId().equals(Long.valueOf(userId))) {
-            isAuthor = Boolean.TRUE;
+    //상세 ETag: 수정 시각 + 게시글 버전 + 사용자 (isLiked, isAuthor 가 사용자별)
+    //조회수는 포함하지 않음 (조회할 때마다 ETag 가 바뀌지 않도록)
+    //캐시된 상세가 없거나 Redis 를 쓸 수 없으면 null (일반 조회)
+    public String getPostEtag(Long postId, Long userId) {
+
+        Optional<CachedPostDetail> cached = postDetailCache.get(postId);
+        if (cached.isEmpty()) {
+            return null;
         }
-        post.incrementViewCount();
-        Integer commentCount = commentRepository.countByPost_PostId(postId);
 
+        long updatedAt = cached.get().getUpdatedAt().getTime();
+        return postVersionStore.getVersion(postId)
+                .map(version -> "\"post-" + postId + "-" + updatedAt + "-" + version + "-" + userId + "\"")
+                .orElse(null);
+    }
+
+    //피드 ETag: 인덱스의 페이지 id 목록 + 각 게시글 버전 + 사용자
+    //인덱스로 응답할 수 없는 페이지는 null (일반 조회)
+    public String getPostsEtag(Integer cursor, int size, Long userId) {
 
-        if(optionalPostLike.isPresent()) {
-            isLiked = true;
+        Optional<List<Long>> indexedIds = postFeedIndex.findPage(cursor == null ? null : Long.valueOf(cursor), size + 1);
+        if (indexedIds.isEmpty()) {
+            return null;
         }
 
-        return PostResponseDto.from(post, likeCount, isLiked, dtoList, isAuthor, commentCount);
+        List<Long> ids = indexedIds.get();
+        return postVersionStore.getVersions(ids)
+                .map(versions -> {
+                    StringBuilder source = new StringBuilder().append(userId).append('|').append(size);
+                    ids.forEach(id -> source.append('|').append(id).append(':').append(versions.get(id)));
+                    return "\"feed-" + HashUtils.sha256Hex(source.toString()) + "\"";
+                })
+                .orElse(null);
     }
 
-    public PostPageResponseDto getPosts(Integer cursor, int size){
+    public PostPageResponseDto getPosts(Integer cursor, int size, Long userId){
 
-        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "postId"));
+        Long cursorId = cursor == null ? null : Long.valueOf(cursor);
 
+        //최신 N 개 윈도우 안의 페이지는 피드 인덱스 + 요약 캐시로 응답
+        Optional<List<Long>> indexedIds = postFeedIndex.findPage(cursorId, size + 1);
+        PostPageResponseDto page = indexedIds.isPresent()
+                ? getPostsFromIndex(indexedIds.get(), size)
+                : getPostsFromDb(cursorId, size);
 
-        Slice<Post> postSlice = (cursor == null)
-                ? postRepository.findAllByOrderByPostIdDesc(pageable)
-                : postRepository.findByPostIdLessThanOrderByPostIdDesc(Long.valueOf(cursor), pageable);
+        fillIsLiked(page.getPostList(), userId);
+        return page;
+    }
 
-        List<PostResponseDto> postresponseDtoList = postSlice.getContent().stream()
-                .map(post->{
-                    Integer likeCount = postLikeRepository.countByPost_PostId(post.getPostId());
-                    Integer commentCount = commentRepository.countByPost_PostId(post.getPostId());
+    //인기순 (시간 감쇠 점수), cursor 는 이전 페이지 마지막 게시글의 (score, postId)
+    //랭킹을 읽을 수 없으면 최신순으로 응답
+    public PostPageResponseDto getHotPosts(Double score, Integer cursor, int size, Long userId) {
 
+        Long cursorId = cursor == null ? null : Long.valueOf(cursor);
 
-                    return PostResponseDto.from(post, likeCount, null, null, null, commentCount);
-                })
+        Optional<List<PostTrendingIndex.Entry>> entries = postTrendingIndex.findPage(score, cursorId, size + 1);
+        if (entries.isEmpty()) {
+            return getPosts(cursor, size, userId);
+        }
+
+        PostPageResponseDto page = getPostsFromIndex(entries.get().stream().map(PostTrendingIndex.Entry::postId).toList(), size);
+        if (page.getCursor().getNextCursor() != null) {
+            Map<Long, Double> scores = entries.get().stream()
+                    .collect(Collectors.toMap(PostTrendingIndex.Entry::postId, PostTrendingIndex.Entry::score));
+            Long nextCursor = page.getCursor().getNextCursor();
+            page.setCursor(new CursorDto(nextCursor, page.getCursor().isHasNext(), scores.get(nextCursor)));
+        }
+
+        fillIsLiked(page.getPostList(), userId);
+        return page;
+    }
+
+    //제목 + 본문 검색, 피드와 같은 cursor(postId) 페이징
+    public PostPageResponseDto searchPosts(String query, Integer cursor, int size, Long userId) {
+
+        List<Long> ids = postSearchIndex.search(BigramTokenizer.tokenize(query),
+                cursor == null ? null : Long.valueOf(cursor), size + 1);
+
+        PostPageResponseDto page = getPostsFromIndex(ids, size);
+        fillIsLiked(page.getPostList(), userId);
+        return page;
+    }
+
+    private PostPageResponseDto getPostsFromDb(Long cursorId, int size) {
+
+        Slice<PostFeedDto> feedSlice = postRepository.findFeed(cursorId, size);
+
+        List<PostResponseDto> postresponseDtoList = feedSlice.getContent().stream()
+                .map(PostResponseDto::from)
                 .toList();
 
         Long nextCursor = null;
@@ -104,37 +246,146 @@ public class PostService {
             nextCursor = postresponseDtoList.get(postresponseDtoList.size() - 1).getPostId();
         }
 
-        CursorDto cursorDto = new CursorDto(nextCursor, postSlice.hasNext());
+        CursorDto cursorDto = new CursorDto(nextCursor, feedSlice.hasNext());
         return new PostPageResponseDto(postresponseDtoList, cursorDto);
     }
 
-    @Transactional
-    public PostResponseDto updatePost(PostRequestDto postRequestDto, Long postId, String userId) {
+    private PostPageResponseDto getPostsFromIndex(List<Long> ids, int size) {
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+        //size + 1 개를 조회해서 다음 페이지 존재 여부 확인
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
 
-        if(!post.getUser().getEmail().equals(user.getEmail())) {
-            throw new NoPermissionException("NO_PERMISSION");
+        if (pageIds.isEmpty()) {
+            return new PostPageResponseDto(List.of(), new CursorDto(null, false));
         }
 
-        post.update(postRequestDto.getTitle(), postRequestDto.getContent());
+        //요약 캐시 미스만 DB 에서 채움
+        Map<Long, CachedPostSummary> summaries = new HashMap<>(postSummaryCache.getAll(pageIds));
+        List<Long> missingIds = pageIds.stream()
+                .filter(id -> !summaries.containsKey(id))
+                .toList();
 
-        return PostResponseDto.from(postRepository.save(post));
+        if (!missingIds.isEmpty()) {
+            //조회 도중 수정/삭제되면 이전 요약을 저장하지 않도록 세대를 먼저 읽음
+            Map<Long, String> generations = postSummaryCache.generations(missingIds);
+            List<CachedPostSummary> loaded = postRepository.findFeedByIds(missingIds).stream()
+                    .map(CachedPostSummary::of)
+                    .toList();
+            loaded.forEach(summary -> summaries.put(summary.getPostId(), summary));
+            postSummaryCache.putAll(loaded, generations);
+        }
+
+        //카운터, 작성자 프로필은 캐시하지 않고 한 번의 IN 쿼리로 조회
+        Map<Long, PostLiveDto> lives = postRepository.findLiveByPostIdIn(pageIds).stream()
+                .collect(Collectors.toMap(PostLiveDto::getPostId, Function.identity()));
+
+        //인덱스 반영 전에 삭제된 게시글은 제외
+        List<PostResponseDto> postresponseDtoList = pageIds.stream()
+                .filter(id -> summaries.containsKey(id) && lives.containsKey(id))
+                .map(id -> PostResponseDto.from(summaries.get(id), lives.get(id)))
+                .toList();
+
+        CursorDto cursorDto = new CursorDto(pageIds.get(pageIds.size() - 1), hasNext);
+        return new PostPageResponseDto(postresponseDtoList, cursorDto);
     }
 
-    @Transactional
-    public void deletePostById(Long postId, String userId) {
+    //좋아요 수, 여부: 좋아요 set 이 적재된 게시글은 Redis 값으로
+    //나머지는 DB 카운터 + 사용자별 캐시, 미스만 IN 쿼리 1회
+    private void fillIsLiked(List<PostResponseDto> posts, Long userId) {
+
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = posts.stream().map(PostResponseDto::getPostId).toList();
+        Map<Long, PostLikeStore.LikeState> likeStates = postLikeStore.getStates(userId, postIds);
+        Map<Long, Boolean> likedByPostId = new HashMap<>();
+        likeStates.forEach((postId, state) -> likedByPostId.put(postId, state.liked()));
+        likedByPostId.putAll(likedPostCache.getAll(userId, postIds.stream()
+                .filter(id -> !likeStates.containsKey(id))
+                .toList()));
+
+        List<Long> missingIds = postIds.stream()
+                .filter(id -> !likedByPostId.containsKey(id))
+                .toList();
+
+        if (!missingIds.isEmpty()) {
+            Set<Long> likedIds = new HashSet<>(postLikeRepository.findLikedPostIds(userId, missingIds));
+            Map<Long, Boolean> loaded = new HashMap<>();
+            missingIds.forEach(id -> loaded.put(id, likedIds.contains(id)));
+            likedPostCache.fill(userId, loaded);
+            likedByPostId.putAll(loaded);
+        }
+
+        posts.forEach(post -> {
+            post.setIsLiked(likedByPostId.get(post.getPostId()));
+            PostLikeStore.LikeState state = likeStates.get(post.getPostId());
+            if (state != null) {
+                post.setLikeCount(state.likeCount());
+            }
+        });
+    }
 
-        userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOT_FOUND"));
-        Post post = postRepository.findById(postId).orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+    //새 댓글, 좋아요 수 변경 구독 (SSE)
+    public SseEmitter subscribeEvents(Long postId, Long userId) {
 
-        if(!post.getUser().getUserId().equals(Long.valueOf(userId))) {
-            throw new NoPermissionException("NO_PERMISSION");
+        if (!postRepository.existsById(postId)) {
+            throw new NotFoundException("POST_NOT_FOUND");
         }
+        return postEventHub.subscribe(postId, userId);
+    }
+
+    @Transactional
+    public PostResponseDto updatePost(PostRequestDto postRequestDto, Long postId, Long userId) {
 
-        postRepository.delete(post);
+        //작성자일 때만 수정되는 UPDATE 한 번으로 권한 확인 (엔티티 로딩 없음)
+        int updated = postRepository.updateByOwner(postId, userId, postRequestDto.getTitle(),
+                Post.previewOf(postRequestDto.getContent()), Timestamp.valueOf(LocalDateTime.now()));
+        if (updated == 0) {
+            throw ownershipFailure(postId);
+        }
+
+        if (postBodyRepository.updateContent(postId, postRequestDto.getContent()) == 0) {
+            postBodyRepository.save(new PostBody(postRepository.getReferenceById(postId), postRequestDto.getContent()));
+        }
+        postDetailCache.evict(postId);
+        postSummaryCache.evict(postId);
+        postVersionStore.bump(postId);
+        postSearchIndexer.indexed(postId, postRequestDto.getTitle(), postRequestDto.getContent());
+
+        //응답은 작성자, 카운터를 포함한 projection 한 번
+        PostFeedDto row = postRepository.findFeedByIds(List.of(postId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("POST_NOT_FOUND"));
+        return PostResponseDto.from(row, postRequestDto.getContent());
     }
 
+    @Transactional
+    public void deletePostById(Long postId, Long userId) {
+
+        //tombstone 만 남기고 하위 행과 게시글 행은 배치로 삭제
+        int deleted = postRepository.softDeleteByOwner(postId, userId, Timestamp.valueOf(LocalDateTime.now()));
+        if (deleted == 0) {
+            throw ownershipFailure(postId);
+        }
 
+        postCascadeDeleteLauncher.launchAfterCommit(postId);
+        postDetailCache.evict(postId);
+        postSummaryCache.evict(postId);
+        postFeedIndex.remove(postId);
+        postTrendingIndex.remove(postId);
+        postSearchIndexer.removed(postId);
+        postVersionStore.bump(postId);
+        commentPageCache.evict(postId);
+        postLikeStore.evict(postId);
+    }
+
+    //조건부 UPDATE 가 0 행일 때 원인 구분 (없는 게시글 / 다른 사용자의 게시글)
+    private RuntimeException ownershipFailure(Long postId) {
+        if (postRepository.findOwnerIdByPostId(postId).isPresent()) {
+            return new NoPermissionException("NO_PERMISSION");
+        }
+        return new NotFoundException("POST_NOT_FOUND");
+    }
 }
@@ -1,21 +1,24 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.Security.PasswordHasher;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.common.cache.UserNameFilter;
+import com.ktb.ktb_community.common.cache.UserNameFilter.Field;
+import com.ktb.ktb_community.common.util.ConstraintUtils;
 import com.ktb.ktb_community.dto.UserRequestDto;
 import com.ktb.ktb_community.dto.UserResponseDto;
 import com.ktb.ktb_community.entity.User;
 import com.ktb.ktb_community.exception.DuplicatedException;
-import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
+import com.ktb.ktb_community.repository.PostRepository;
 import com.ktb.ktb_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.security.Principal;
-import java.util.Objects;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,68 +26,90 @@ import java.util.Objects;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserNameFilter userNameFilter;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PostRepository postRepository;
+    private final PostVersionStore postVersionStore;
 
     @Transactional
     public Long createUser(UserRequestDto userRequestDto) {
 
-        //이메일 검증 및 닉네임 검증
-        if(userRepository.findByEmail(userRequestDto.getEmail()).isPresent()) {
+        //이메일 검증 및 닉네임 검증 (동시 가입은 unique 제약으로 최종 확인)
+        if(emailTaken(userRequestDto.getEmail(), null)) {
             throw new DuplicatedException("email", "duplicated");
         }
-        if(userRepository.findByNickname(userRequestDto.getNickname()).isPresent()) {
+        if(nicknameTaken(userRequestDto.getNickname(), null)) {
             throw new DuplicatedException("nickname", "duplicated");
         }
 
         User user = User.builder()
                 .email(userRequestDto.getEmail())
                 .nickname(userRequestDto.getNickname())
-                .password(passwordEncoder.encode(userRequestDto.getPassword()))
+                .password(passwordHasher.hash(userRequestDto.getPassword()))
                 .profileImageUrl(userRequestDto.getProfileImageUrl())
                 .build();
 
-        return userRepository.save(user).getUserId();
+        Long userId;
+        try {
+            userId = userRepository.save(user).getUserId();
+        } catch (DataIntegrityViolationException e) {
+            throw duplicated(e);
+        }
+        userNameFilter.add(user.getEmail(), user.getNickname());
+
+        return userId;
     }
 
-    public UserResponseDto getUserInfo(String userId){
+    public UserResponseDto getUserInfo(Long userId){
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new NotFoundException("USER_NOTFOUND"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("USER_NOTFOUND"));
         return UserResponseDto.from(user);
     }
 
     @Transactional
-    public UserResponseDto updateUser(UserRequestDto userRequestDto, Principal principal) {
+    public UserResponseDto updateUser(UserRequestDto userRequestDto, Long userId) {
 
-        //권한 검증
-        User user = userRepository.findById(Long.valueOf(principal.getName())).orElseThrow(() -> new NotFoundException("USER_NOTFOUND"));
-
-        if(!Objects.equals(user.getUserId(), Long.valueOf(principal.getName()))) {
-            throw new NoPermissionException("USER_NO_PERMISSION");
-        }
+        //본인 정보만 수정 (userId 는 인증된 principal 에서)
+        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("USER_NOTFOUND"));
 
-        if(userRepository.findByEmail(userRequestDto.getEmail()).isPresent()) {
+        //본인이 쓰던 값은 그대로 둘 수 있음
+        if(emailTaken(userRequestDto.getEmail(), userId)) {
             throw new DuplicatedException("email", "duplicated");
         }
-        if(userRepository.findByNickname(userRequestDto.getNickname()).isPresent()){
+        if(nicknameTaken(userRequestDto.getNickname(), userId)){
             throw new DuplicatedException("nickname", "duplicated");
         }
 
         user.updateUser(userRequestDto.getEmail(), userRequestDto.getNickname(), userRequestDto.getProfileImageUrl());
 
-        return UserResponseDto.from(userRepository.save(user));
+        //UPDATE 를 바로 실행해서 unique 제약 위반을 여기서 확인
+        User updated;
+        try {
+            updated = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicated(e);
+        }
+        userNameFilter.add(updated.getEmail(), updated.getNickname());
+        //게시글 상세, 피드 응답에 작성자 프로필이 포함되므로 ETag 도 바뀌도록
+        postVersionStore.bumpAll(postRepository.findPostIdsByUserId(userId));
+
+        return UserResponseDto.from(updated);
     }
 
     @Transactional
-    public void deleteUser(String userId) {
+    public void deleteUser(Long userId) {
 
-        User user = userRepository.findById(Long.valueOf(userId)).orElseThrow(() -> new IllegalArgumentException("email not found"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("email not found"));
 
         user.softDelete();
+        //탈퇴한 계정의 RT 폐기 (모든 기기 로그아웃)
+        refreshTokenStore.revokeAllAfterCommit(userId);
     }
 
     public boolean checkEmail(String email) {
 
-        boolean result = userRepository.findByEmail(email).isEmpty();
+        boolean result = !emailTaken(email, null);
 
         if(result) {
             return true;
@@ -95,7 +120,7 @@ public class UserService {
 
     public boolean checkNickname(String nickname) {
 
-        boolean result = userRepository.findByNickname(nickname).isEmpty();
+        boolean result = !nicknameTaken(nickname, null);
 
         if(result) {
             return true;
@@ -103,4 +128,34 @@ public class UserService {
             throw new DuplicatedException("nickname", "duplicated");
         }
     }
+
+    //Bloom filter 에 없으면 DB 조회 없이 사용 가능, 있을 수 있으면 exists 쿼리로 확인
+    private boolean emailTaken(String email, Long exceptUserId) {
+        if (!userNameFilter.mightContain(Field.EMAIL, email)) {
+            return false;
+        }
+        return exceptUserId == null
+                ? userRepository.existsByEmail(email)
+                : userRepository.existsByEmailAndUserIdNot(email, exceptUserId);
+    }
+
+    private boolean nicknameTaken(String nickname, Long exceptUserId) {
+        if (!userNameFilter.mightContain(Field.NICKNAME, nickname)) {
+            return false;
+        }
+        return exceptUserId == null
+                ? userRepository.existsByNickname(nickname)
+                : userRepository.existsByNicknameAndUserIdNot(nickname, exceptUserId);
+    }
+
+    //확인 이후 같은 값이 먼저 저장된 경우, 위반한 unique 제약 이름으로 이메일인지 닉네임인지 구분 (나머지 위반은 그대로)
+    private RuntimeException duplicated(DataIntegrityViolationException e) {
+        if (ConstraintUtils.isViolated(e, User.EMAIL_UNIQUE)) {
+            return new DuplicatedException("email", "duplicated");
+        }
+        if (ConstraintUtils.isViolated(e, User.NICKNAME_UNIQUE)) {
+            return new DuplicatedException("nickname", "duplicated");
+        }
+        return e;
+    }
 }
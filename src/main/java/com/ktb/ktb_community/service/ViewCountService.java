@@ -0,0 +1,104 @@
+package com.ktb.ktb_community.service;
+
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//조회수 write-behind 버퍼
+//조회마다 UPDATE 하지 않고 메모리에 모았다가 주기적으로 batch UPDATE 로 반영
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCountService {
+
+    private static final String FLUSH_SQL =
+            "update post set view_count = coalesce(view_count, 0) + ? where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostTrendingIndex postTrendingIndex;
+
+    //게시글별 LongAdder 로 같은 게시글에 대한 동시 증가도 경합 없이 처리
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    //직전 flush 에서 map 에서 제거된 카운터
+    //제거 직전에 참조를 얻은 요청의 증가분을 다음 flush 에서 한 번 더 회수
+    private Map<Long, LongAdder> retired = new HashMap<>();
+
+    //DB 반영에 실패해 다음 flush 로 넘어간 증가분
+    private final Map<Long, Long> failed = new HashMap<>();
+
+    public void increment(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    //아직 DB 에 반영되지 않은 조회수
+    public long getPendingCount(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${post.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+
+        Map<Long, Long> deltas = new HashMap<>(failed);
+        failed.clear();
+
+        retired.forEach((postId, adder) -> addDelta(deltas, postId, adder.sumThenReset()));
+
+        Map<Long, LongAdder> nextRetired = new HashMap<>();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                addDelta(deltas, postId, delta);
+            } else if (pending.remove(postId, adder)) {
+                //한 주기 동안 조회가 없던 게시글은 map 에서 제거
+                nextRetired.put(postId, adder);
+            }
+        });
+        retired = nextRetired;
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> args.add(new Object[]{delta, postId}));
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+        } catch (RuntimeException e) {
+            //실패한 증가분은 버리지 않고 다음 flush 에서 다시 시도
+            log.error("view count flush failed, retry on next flush: {}", e.getMessage());
+            failed.putAll(deltas);
+            return;
+        }
+
+        //DB 에 반영된 조회수만 인기 점수에 반영
+        postTrendingIndex.viewed(deltas);
+    }
+
+    //graceful shutdown 시 버퍼에 남은 조회수 반영
+    //두 번째 flush 는 첫 flush 에서 제거된 카운터까지 회수
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        flush();
+    }
+
+    private void addDelta(Map<Long, Long> deltas, Long postId, long delta) {
+        if (delta > 0) {
+            deltas.merge(postId, delta, Long::sum);
+        }
+    }
+}
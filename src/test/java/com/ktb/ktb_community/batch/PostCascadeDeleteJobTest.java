@@ -0,0 +1,227 @@
+package com.ktb.ktb_community.batch;
+
+import com.ktb.ktb_community.common.config.QuerydslConfig;
+import com.ktb.ktb_community.entity.Comment;
+import com.ktb.ktb_community.entity.Image;
+import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.PostBody;
+import com.ktb.ktb_community.entity.PostImage;
+import com.ktb.ktb_community.entity.PostLike;
+import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.repository.CommentRepository;
+import com.ktb.ktb_community.repository.ImageRepository;
+import com.ktb.ktb_community.repository.PostBodyRepository;
+import com.ktb.ktb_community.repository.PostImageRepository;
+import com.ktb.ktb_community.repository.PostLikeRepository;
+import com.ktb.ktb_community.repository.PostRepository;
+import com.ktb.ktb_community.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.JobRepositoryTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.batch.BatchAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//삭제 요청된 게시글의 댓글, 좋아요, 이미지 연결과 게시글 행이 job 한 번으로 모두 지워지는지
+//chunk 크기를 작게 두어 여러 chunk 에 걸쳐 지워지는 경로도 확인
+@SpringBatchTest
+@DataJpaTest(properties = "batch.post-delete.chunk-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(BatchAutoConfiguration.class)
+@Import({QuerydslConfig.class, PostCascadeDeleteJobConfig.class, JobMetadataRetention.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostCascadeDeleteJobTest {
+
+    private static final int CHILD_COUNT = 5;
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private JobRepositoryTestUtils jobRepositoryTestUtils;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private JobMetadataRetention jobMetadataRetention;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostBodyRepository postBodyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private PostImageRepository postImageRepository;
+
+    private Long postId;
+    private Long otherPostId;
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(new User("author@test.com", "password", "author", null));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < CHILD_COUNT; i++) {
+            users.add(userRepository.save(new User("user" + i + "@test.com", "password", "user" + i, null)));
+        }
+
+        Post post = createPost(author, users);
+        Post otherPost = createPost(author, users);
+        postId = post.getPostId();
+        otherPostId = otherPost.getPostId();
+
+        //삭제 요청된 게시글
+        jdbcTemplate.update("update post set deleted_at = current_timestamp where post_id = ?", postId);
+    }
+
+    private Post createPost(User author, List<User> users) {
+        Post post = postRepository.save(Post.builder().title("title").content("content").user(author).build());
+        postBodyRepository.save(new PostBody(post, "content"));
+        for (User user : users) {
+            commentRepository.save(new Comment("comment", user, post));
+            postLikeRepository.save(new PostLike(user, post));
+            Image image = imageRepository.save(new Image("https://image.test/" + user.getUserId(), author));
+            postImageRepository.save(new PostImage(post, image));
+        }
+        return post;
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRepositoryTestUtils.removeJobExecutions();
+        postImageRepository.deleteAllInBatch();
+        postLikeRepository.deleteAllInBatch();
+        commentRepository.deleteAllInBatch();
+        postBodyRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        imageRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private JobParameters params(Long postId) {
+        return new JobParametersBuilder()
+                .addLong(PostCascadeDeleteJobConfig.POST_ID, postId)
+                .toJobParameters();
+    }
+
+    private int count(String table, Long postId) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where post_id = ?", Integer.class, postId);
+    }
+
+    @Test
+    @DisplayName("게시글 삭제 job - 댓글, 좋아요, 이미지 연결, 본문, 게시글 행 모두 삭제")
+    void cascadeDelete() throws Exception {
+        // when
+        JobExecution execution = jobLauncherTestUtils.launchJob(params(postId));
+
+        // then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(count("comment", postId)).isZero();
+        assertThat(count("post_like", postId)).isZero();
+        assertThat(count("post_image", postId)).isZero();
+        assertThat(count("post_body", postId)).isZero();
+        assertThat(count("post", postId)).isZero();
+        //여러 chunk 로 나누어 삭제
+        assertThat(execution.getStepExecutions())
+                .filteredOn(step -> step.getStepName().equals("postCommentDeleteStep"))
+                .singleElement()
+                .satisfies(step -> {
+                    assertThat(step.getWriteCount()).isEqualTo(CHILD_COUNT);
+                    assertThat(step.getCommitCount()).isGreaterThan(1);
+                });
+    }
+
+    @Test
+    @DisplayName("게시글 삭제 job - 다른 게시글의 행과 이미지 파일 행은 그대로")
+    void cascadeDelete_KeepsOthers() throws Exception {
+        // when
+        jobLauncherTestUtils.launchJob(params(postId));
+
+        // then
+        assertThat(count("comment", otherPostId)).isEqualTo(CHILD_COUNT);
+        assertThat(count("post_like", otherPostId)).isEqualTo(CHILD_COUNT);
+        assertThat(count("post_image", otherPostId)).isEqualTo(CHILD_COUNT);
+        assertThat(count("post", otherPostId)).isEqualTo(1);
+        assertThat(imageRepository.count()).isEqualTo(CHILD_COUNT * 2L);
+    }
+
+    @Test
+    @DisplayName("게시글 삭제 job - 삭제 요청되지 않은 게시글 행은 남김")
+    void cascadeDelete_NotDeletedPost() throws Exception {
+        // when
+        JobExecution execution = jobLauncherTestUtils.launchJob(params(otherPostId));
+
+        // then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(count("post", otherPostId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("메타데이터 보관 - 완료된 인스턴스만 삭제")
+    void purgeCompletedInstances() throws Exception {
+        // given
+        jobLauncherTestUtils.launchJob(params(postId));
+
+        // when
+        int purged = jobMetadataRetention.purgeCompletedInstances(
+                PostCascadeDeleteJobConfig.JOB_NAME, LocalDateTime.now().plusMinutes(1), 10);
+
+        // then
+        assertThat(purged).isEqualTo(1);
+        assertThat(jobExplorer.getJobInstances(PostCascadeDeleteJobConfig.JOB_NAME, 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("메타데이터 보관 - 보관 기간이 지나지 않은 인스턴스는 남김")
+    void purgeCompletedInstances_WithinRetention() throws Exception {
+        // given
+        jobLauncherTestUtils.launchJob(params(postId));
+
+        // when
+        int purged = jobMetadataRetention.purgeCompletedInstances(
+                PostCascadeDeleteJobConfig.JOB_NAME, LocalDateTime.now().minusDays(1), 10);
+
+        // then
+        assertThat(purged).isZero();
+        assertThat(jobExplorer.getJobInstances(PostCascadeDeleteJobConfig.JOB_NAME, 0, 10)).hasSize(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ktb.ktb_community.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StaleJobExecutionCleanerTest {
+
+    private static final String JOB_NAME = "job";
+
+    @Mock
+    private JobExplorer jobExplorer;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @InjectMocks
+    private StaleJobExecutionCleaner staleJobExecutionCleaner;
+
+    private JobExecution createExecution(LocalDateTime startedAt, LocalDateTime stepUpdatedAt) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, JOB_NAME), 1L, new JobParameters());
+        execution.setStatus(BatchStatus.STARTED);
+        execution.setCreateTime(startedAt);
+        execution.setStartTime(startedAt);
+        execution.setLastUpdated(startedAt);
+        StepExecution stepExecution = execution.createStepExecution("step");
+        stepExecution.setStatus(BatchStatus.STARTED);
+        stepExecution.setStartTime(startedAt);
+        stepExecution.setLastUpdated(stepUpdatedAt);
+        return execution;
+    }
+
+    @Test
+    @DisplayName("오래 전에 시작했어도 chunk 가 최근에 commit 된 실행은 그대로 둠")
+    void failStaleExecutions_RecentHeartbeat() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        JobExecution execution = createExecution(now.minusHours(3), now.minusMinutes(1));
+        when(jobExplorer.findRunningJobExecutions(JOB_NAME)).thenReturn(Set.of(execution));
+
+        // when
+        staleJobExecutionCleaner.failStaleExecutions(JOB_NAME, 60);
+
+        // then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.STARTED);
+        verify(jobRepository, never()).update(any(JobExecution.class));
+        verify(jobRepository, never()).update(any(StepExecution.class));
+    }
+
+    @Test
+    @DisplayName("staleMinutes 동안 진행 기록이 없는 실행은 FAILED 로 정리")
+    void failStaleExecutions_NoHeartbeat() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        JobExecution execution = createExecution(now.minusHours(3), now.minusHours(2));
+        when(jobExplorer.findRunningJobExecutions(JOB_NAME)).thenReturn(Set.of(execution));
+
+        // when
+        staleJobExecutionCleaner.failStaleExecutions(JOB_NAME, 60);
+
+        // then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(execution.getStepExecutions()).allSatisfy(step -> assertThat(step.getStatus()).isEqualTo(BatchStatus.FAILED));
+        verify(jobRepository, times(1)).update(execution);
+        verify(jobRepository, times(1)).update(any(StepExecution.class));
+    }
+}
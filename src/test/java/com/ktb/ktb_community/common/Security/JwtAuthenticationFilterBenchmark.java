@@ -0,0 +1,78 @@
+package com.ktb.ktb_community.common.Security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//인증 필터 1회 통과 시간 (ns/op), ./gradlew benchmark 로 실행 (기본 test 에서는 제외)
+//  verified-cache 없음 : 요청마다 HMAC 검증 + claim 파싱 1회
+//  verified-cache 있음 : 반복 요청은 토큰 문자열로 캐시 조회만
+@Tag("benchmark")
+class JwtAuthenticationFilterBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilterBenchmark.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("인증 필터 지연 시간 - 검증 캐시 유무 비교")
+    void filterLatency() throws Exception {
+        // given
+        JwtProvider uncached = JwtProviderTest.jwtProvider(3_600_000, 0);
+        JwtProvider cached = JwtProviderTest.jwtProvider(3_600_000, 10_000);
+        String token = uncached.createAccessToken("42");
+
+        // when
+        double uncachedNs = measure(new JwtAuthenticationFilter(uncached), token);
+        double cachedNs = measure(new JwtAuthenticationFilter(cached), token);
+
+        // then
+        log.info("jwt filter: uncached {} ns/op, cached {} ns/op",
+                String.format("%.0f", uncachedNs), String.format("%.0f", cachedNs));
+        //캐시 조회가 HMAC 검증 + JSON 파싱보다 확실히 빨라야 캐시를 둘 의미가 있음
+        //벽시계 측정이라 부하에 흔들리지 않도록 2배 여유를 두고 비교 (기본 test 에서는 제외된 benchmark)
+        assertThat(cachedNs).isLessThan(uncachedNs / 2);
+    }
+
+    private double measure(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < WARMUP; i++) {
+            run(filter, request, response);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(filter, request, response);
+        }
+        double nsPerOp = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("42");
+        return nsPerOp;
+    }
+
+    private void run(JwtAuthenticationFilter filter, MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        //OncePerRequestFilter 가 같은 요청을 건너뛰지 않도록 표시 제거
+        request.clearAttributes();
+        filter.doFilter(request, response, chain);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ktb.ktb_community.common.Security;
+
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtProviderTest {
+
+    static final String SECRET = Encoders.BASE64.encode("test-secret-key-for-hs256-must-be-32-bytes!".getBytes(StandardCharsets.UTF_8));
+
+    static JwtProvider jwtProvider(long accessTokenValidityInMs, long verifiedCacheMaxSize) {
+        JwtProvider jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "accessTokenValidityInMs", accessTokenValidityInMs);
+        ReflectionTestUtils.setField(jwtProvider, "refreshTokenValidityInMs", accessTokenValidityInMs * 2);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        jwtProvider.init();
+        return jwtProvider;
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 서명, 만료 확인 후 사용자 id, 발급/만료 시각 반환")
+    void verify_ReturnsTypedClaims() {
+        // given
+        JwtProvider jwtProvider = jwtProvider(60_000, 100);
+        String token = jwtProvider.createAccessToken("42");
+
+        // when
+        Optional<JwtClaims> claims = jwtProvider.verify(token);
+
+        // then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().userId()).isEqualTo(42L);
+        assertThat(claims.get().expiresAt()).isAfter(claims.get().issuedAt());
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 같은 토큰은 캐시된 claim 반환")
+    void verify_CachedOnRepeat() {
+        // given
+        JwtProvider jwtProvider = jwtProvider(60_000, 100);
+        String token = jwtProvider.createAccessToken("42");
+
+        // when
+        JwtClaims first = jwtProvider.verify(token).orElseThrow();
+        JwtClaims second = jwtProvider.verify(token).orElseThrow();
+
+        // then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 위조, 만료, 형식 오류 토큰은 empty (캐시 여부와 무관)")
+    void verify_Invalid() {
+        // given
+        JwtProvider jwtProvider = jwtProvider(60_000, 100);
+        JwtProvider expiredProvider = jwtProvider(-1_000, 100);
+        String token = jwtProvider.createAccessToken("42");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // when & then
+        assertThat(jwtProvider.verify(tampered)).isEmpty();
+        assertThat(jwtProvider.verify("not-a-jwt")).isEmpty();
+        assertThat(expiredProvider.verify(expiredProvider.createAccessToken("42"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 캐시된 서명에 다른 payload 를 붙인 토큰은 캐시로 통과하지 않음")
+    void verify_CachedSignatureWithOtherPayload() {
+        // given
+        JwtProvider jwtProvider = jwtProvider(60_000, 100);
+        String token = jwtProvider.createAccessToken("42");
+        String other = jwtProvider.createAccessToken("7");
+        jwtProvider.verify(token).orElseThrow();
+
+        //다른 토큰의 header.payload + 캐시된 토큰의 서명
+        String forged = other.substring(0, other.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+        // when & then
+        assertThat(jwtProvider.verify(forged)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 캐시 크기가 0 이면 매번 파싱")
+    void verify_CacheDisabled() {
+        // given
+        JwtProvider jwtProvider = jwtProvider(60_000, 0);
+        String token = jwtProvider.createAccessToken("7");
+
+        // when
+        JwtClaims first = jwtProvider.verify(token).orElseThrow();
+        JwtClaims second = jwtProvider.verify(token).orElseThrow();
+
+        // then
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+}
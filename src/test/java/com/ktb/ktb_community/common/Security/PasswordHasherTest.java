@@ -0,0 +1,84 @@
+package com.ktb.ktb_community.common.Security;
+
+import com.ktb.ktb_community.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHasherTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("비밀번호 해시 - 전용 스레드에서 해시/검증, 실행 시간 기록")
+    void hashAndMatches() {
+        // given
+        passwordHasher = new PasswordHasher(meterRegistry, 2, 4, 4, 250, 5000);
+
+        // when
+        String encoded = passwordHasher.hash("password");
+
+        // then
+        assertThat(encoded).startsWith("$2a$04$");
+        assertThat(passwordHasher.matches("password", encoded)).isTrue();
+        assertThat(passwordHasher.matches("wrong", encoded)).isFalse();
+        assertThat(meterRegistry.get(PasswordHasher.DURATION_TIMER).tag("operation", "match").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("비밀번호 해시 - 스레드와 큐가 가득 차면 기다리지 않고 503 으로 거절")
+    void queueFull_RejectedFast() throws Exception {
+        // given
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 1, 4, 250, 5000);
+        Timer timer = meterRegistry.get(PasswordHasher.DURATION_TIMER).tag("operation", "hash").timer();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        //스레드 1개를 붙잡고 큐 1칸을 채움
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.execute(timer, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.execute(timer, () -> true));
+        while (meterRegistry.get("password.hash.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when & then
+        assertThrows(ServiceUnavailableException.class, () -> passwordHasher.hash("password"));
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("비밀번호 해시 - cost 를 지정하지 않으면 기동 시 측정해서 최소 10 이상")
+    void calibrate_AtLeastDefaultStrength() {
+        // when
+        passwordHasher = new PasswordHasher(meterRegistry, 1, 1, 0, 1, 5000);
+
+        // then
+        assertThat(passwordHasher.getStrength()).isEqualTo(10);
+    }
+}
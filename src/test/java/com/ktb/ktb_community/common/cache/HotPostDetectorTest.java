@@ -0,0 +1,86 @@
+package com.ktb.ktb_community.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotPostDetectorTest {
+
+    @Mock
+    private PostLikeStore postLikeStore;
+
+    private HotPostDetector hotPostDetector;
+
+    @BeforeEach
+    void setUp() {
+        //주기당 5회 이상이면 전환, 2회 미만이 2 주기 연속이면 해제
+        hotPostDetector = new HotPostDetector(postLikeStore, 5, 2, 2);
+    }
+
+    private void record(Long postId, int times) {
+        for (int i = 0; i < times; i++) {
+            hotPostDetector.record(postId);
+        }
+    }
+
+    @Test
+    @DisplayName("한 주기에 요청이 임계값 이상인 게시글만 stripe 모드로 전환")
+    void evaluate_PromotesHotPost() {
+        // given
+        when(postLikeStore.getStripedPostIds()).thenReturn(Set.of());
+        record(1L, 5);
+        record(2L, 4);
+
+        // when
+        hotPostDetector.evaluate();
+
+        // then
+        verify(postLikeStore, times(1)).refreshStripes();
+        verify(postLikeStore, times(1)).promote(1L);
+        verify(postLikeStore, never()).promote(2L);
+    }
+
+    @Test
+    @DisplayName("이미 stripe 모드인 게시글은 다시 전환하지 않음")
+    void evaluate_AlreadyStriped() {
+        // given
+        when(postLikeStore.getStripedPostIds()).thenReturn(Set.of(1L));
+        record(1L, 10);
+
+        // when
+        hotPostDetector.evaluate();
+
+        // then
+        verify(postLikeStore, never()).promote(anyLong());
+        verify(postLikeStore, never()).demote(anyLong());
+    }
+
+    @Test
+    @DisplayName("stripe 모드 게시글은 한산한 주기가 연속으로 이어져야 해제")
+    void evaluate_DemotesAfterCoolDown() {
+        // given
+        when(postLikeStore.getStripedPostIds()).thenReturn(Set.of(1L));
+
+        // when
+        record(1L, 1);
+        hotPostDetector.evaluate();
+        //중간에 다시 몰리면 처음부터 다시 셈
+        record(1L, 3);
+        hotPostDetector.evaluate();
+        hotPostDetector.evaluate();
+        verify(postLikeStore, never()).demote(anyLong());
+        hotPostDetector.evaluate();
+
+        // then
+        verify(postLikeStore, times(1)).demote(1L);
+    }
+}
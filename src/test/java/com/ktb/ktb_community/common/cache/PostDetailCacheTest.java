@@ -0,0 +1,171 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.ktb_community.dto.ImageResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostDetailCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PostDetailCache postDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        postDetailCache = new PostDetailCache(redisTemplate, objectMapper, listenerContainer, 100, 60, 600);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private CachedPostDetail createDetail(Long postId) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new CachedPostDetail(postId, "제목", "내용", now, now,
+                1L, List.of(new ImageResponseDto("images/a.png")));
+    }
+
+    //세대가 generation 일 때의 저장 결과 (1 저장, 0 세대 불일치)
+    private void stubPut(Long postId, String generation, long result) {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of("post:detail:{" + postId + "}", "post:detail:{" + postId + "}:gen")),
+                eq(generation), anyString(), eq("600"))).thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("캐시 저장 - 세대가 같으면 L2 에 TTL 과 함께 저장 후 L1 저장")
+    void put_WritesBothLevels() {
+        // given
+        stubPut(1L, "0", 1L);
+
+        // when
+        postDetailCache.put(createDetail(1L), "0");
+
+        // then
+        assertThat(postDetailCache.get(1L)).isPresent();
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("캐시 저장 - 조회 도중 무효화되어 세대가 바뀌었으면 L1, L2 모두 저장하지 않음")
+    void put_StaleGenerationSkipped() {
+        // given
+        stubPut(6L, "0", 0L);
+        when(valueOperations.get("post:detail:{6}")).thenReturn(null);
+
+        // when
+        postDetailCache.put(createDetail(6L), "0");
+
+        // then
+        assertThat(postDetailCache.get(6L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("세대 조회 - 키가 없으면 0, Redis 장애 시 null (저장하지 않음)")
+    void generation() {
+        // given
+        when(valueOperations.get("post:detail:{7}:gen")).thenReturn(null);
+        when(valueOperations.get("post:detail:{8}:gen")).thenThrow(new RedisConnectionFailureException("down"));
+
+        // when & then
+        assertThat(postDetailCache.generation(7L)).isEqualTo("0");
+        assertThat(postDetailCache.generation(8L)).isNull();
+        postDetailCache.put(createDetail(8L), null);
+        verify(redisTemplate, never()).execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("캐시 조회 - L1 미스, L2 히트 시 L1 에 채움")
+    void get_L2HitFillsL1() throws Exception {
+        // given
+        String json = objectMapper.writeValueAsString(createDetail(2L));
+        when(valueOperations.get("post:detail:{2}")).thenReturn(json);
+
+        // when
+        Optional<CachedPostDetail> first = postDetailCache.get(2L);
+        Optional<CachedPostDetail> second = postDetailCache.get(2L);
+
+        // then
+        assertThat(first).isPresent();
+        assertThat(first.get().getTitle()).isEqualTo("제목");
+        assertThat(first.get().getImages()).extracting(ImageResponseDto::getUrl).containsExactly("images/a.png");
+        assertThat(second).isPresent();
+        verify(valueOperations, times(1)).get("post:detail:{2}");
+    }
+
+    @Test
+    @DisplayName("캐시 조회 - Redis 장애 시 캐시 미스로 처리")
+    void get_RedisFailureIsMiss() {
+        // given
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // when & then
+        assertThat(postDetailCache.get(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시 무효화 - 세대를 올리고 L2 삭제 후 다른 노드에 무효화 메시지 발행")
+    void evict_DeletesAndPublishes() {
+        // given
+        stubPut(4L, "0", 1L);
+        postDetailCache.put(createDetail(4L), "0");
+
+        // when
+        postDetailCache.evict(4L);
+
+        // then
+        verify(redisTemplate, times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of("post:detail:{4}", "post:detail:{4}:gen")), eq("600"));
+        verify(redisTemplate, times(1)).convertAndSend("post:detail:invalidate", "4");
+        when(valueOperations.get("post:detail:{4}")).thenReturn(null);
+        assertThat(postDetailCache.get(4L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무효화 메시지 수신 - L1 에서 제거")
+    void onMessage_InvalidatesL1() {
+        // given
+        stubPut(5L, "0", 1L);
+        postDetailCache.put(createDetail(5L), "0");
+        when(valueOperations.get("post:detail:{5}")).thenReturn(null);
+
+        // when
+        postDetailCache.onMessage(new DefaultMessage(
+                "post:detail:invalidate".getBytes(StandardCharsets.UTF_8),
+                "5".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThat(postDetailCache.get(5L)).isEmpty();
+        verify(valueOperations, times(1)).get("post:detail:{5}");
+    }
+}
@@ -0,0 +1,89 @@
+package com.ktb.ktb_community.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostSummaryCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private PostSummaryCache postSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        postSummaryCache = new PostSummaryCache(redisTemplate, new ObjectMapper(), 600);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private CachedPostSummary createSummary(Long postId) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new CachedPostSummary(postId, "제목", "내용", now, now);
+    }
+
+    @Test
+    @DisplayName("세대 조회 - hash tag 키를 MGET 한 번으로, 키가 없으면 0")
+    void generations() {
+        // given
+        when(valueOperations.multiGet(List.of("post:summary:{1}:gen", "post:summary:{2}:gen")))
+                .thenReturn(Arrays.asList("3", null));
+
+        // when
+        Map<Long, String> generations = postSummaryCache.generations(List.of(1L, 2L));
+
+        // then
+        assertThat(generations).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "3", 2L, "0"));
+    }
+
+    @Test
+    @DisplayName("캐시 저장 - 세대를 읽지 못한 게시글은 저장하지 않음")
+    void putAll_SkipsWithoutGeneration() {
+        // given
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+        Map<Long, String> generations = postSummaryCache.generations(List.of(1L));
+
+        // when
+        postSummaryCache.putAll(List.of(createSummary(1L)), generations);
+
+        // then
+        assertThat(generations).isEmpty();
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("캐시 무효화 - 세대를 올리고 삭제 (적재 중인 이전 요약도 버려짐)")
+    void evict_BumpsGeneration() {
+        // when
+        postSummaryCache.evict(4L);
+
+        // then
+        verify(redisTemplate, times(1)).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of("post:summary:{4}", "post:summary:{4}:gen")), eq("600"));
+    }
+}
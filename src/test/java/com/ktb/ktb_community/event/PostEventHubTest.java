@@ -0,0 +1,55 @@
+package com.ktb.ktb_community.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.ktb_community.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class PostEventHubTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PostEventHub postEventHub;
+
+    @BeforeEach
+    void setUp() {
+        postEventHub = new PostEventHub(redisTemplate, new ObjectMapper(), listenerContainer, userRepository,
+                60_000, 32, 1, 5_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postEventHub.shutdown();
+    }
+
+    @Test
+    @DisplayName("구독 - 사용자당 연결 수를 넘으면 가장 오래된 연결을 닫음")
+    void subscribe_ClosesOldestOverLimit() {
+        // when
+        postEventHub.subscribe(1L, 7L);
+        postEventHub.subscribe(2L, 7L);
+        postEventHub.subscribe(2L, 7L);
+        postEventHub.subscribe(2L, 8L);
+
+        // then
+        assertThat(postEventHub.subscriberCount(1L)).isZero();
+        assertThat(postEventHub.subscriberCount(2L)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,136 @@
+package com.ktb.ktb_community.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostEventSubscriberTest {
+
+    //전송 내용을 기록하는 emitter
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+
+    //drain 을 바로 실행하지 않고 모아 두는 executor
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final AtomicInteger closeCount = new AtomicInteger();
+
+    private RecordingEmitter emitter;
+    private PostEventSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        subscriber = new PostEventSubscriber(1L, 1L, emitter, 2, tasks::add, closeCount::incrementAndGet);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차면 가장 오래된 이벤트를 버리고 순서대로 전송")
+    void offer_DropsOldestWhenFull() {
+        // when
+        subscriber.offer(SseEmitter.event().data("1"));
+        subscriber.offer(SseEmitter.event().data("2"));
+        subscriber.offer(SseEmitter.event().data("3"));
+        runTasks();
+
+        // then
+        assertThat(subscriber.getDroppedCount()).isEqualTo(1);
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(emitter.sent.get(0)).contains("data:2");
+        assertThat(emitter.sent.get(1)).contains("data:3");
+    }
+
+    @Test
+    @DisplayName("drain 은 구독자당 하나만 예약")
+    void offer_SchedulesSingleDrain() {
+        // when
+        subscriber.offer(SseEmitter.event().data("1"));
+        subscriber.offer(SseEmitter.event().data("2"));
+
+        // then
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("전송 실패 시 구독 종료, 이후 이벤트는 무시")
+    void send_FailureClosesSubscriber() {
+        // given
+        emitter.broken = true;
+
+        // when
+        subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        runTasks();
+        subscriber.offer(SseEmitter.event().data("after"));
+
+        // then
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(closeCount.get()).isEqualTo(1);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("소켓 쓰기에서 막힌 전송은 write timeout 후 끊고 dispatch 스레드를 돌려받음")
+    void abortIfStalled_ReleasesDispatchThread() throws Exception {
+        // given
+        CountDownLatch sending = new CountDownLatch(1);
+        SseEmitter blocking = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                sending.countDown();
+                try {
+                    //응답하지 않는 클라이언트
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    throw new IOException("write interrupted", e);
+                }
+            }
+        };
+        List<Runnable> dispatch = new ArrayList<>();
+        PostEventSubscriber stalled = new PostEventSubscriber(1L, 2L, blocking, 2, dispatch::add, closeCount::incrementAndGet);
+        stalled.offer(SseEmitter.event().data("1"));
+        Thread dispatcher = new Thread(dispatch.get(0));
+        dispatcher.start();
+        sending.await();
+
+        // when
+        boolean beforeTimeout = stalled.abortIfStalled(TimeUnit.MINUTES.toNanos(1));
+        boolean afterTimeout = stalled.abortIfStalled(0);
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertThat(beforeTimeout).isFalse();
+        assertThat(afterTimeout).isTrue();
+        assertThat(dispatcher.isAlive()).isFalse();
+        assertThat(stalled.isClosed()).isTrue();
+        assertThat(stalled.abortIfStalled(0)).isFalse();
+    }
+}
@@ -0,0 +1,356 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.common.config.QuerydslConfig;
+import com.ktb.ktb_community.common.util.ConstraintUtils;
+import com.ktb.ktb_community.dto.CommentResponseDto;
+import com.ktb.ktb_community.dto.CommentRowDto;
+import com.ktb.ktb_community.entity.Comment;
+import com.ktb.ktb_community.entity.Image;
+import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.PostImage;
+import com.ktb.ktb_community.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//용도별 fetch plan 의 쿼리 수 확인
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QuerydslConfig.class)
+@ActiveProfiles("test")
+class FetchPlanTest {
+
+    private static final int COMMENTER_COUNT = 10;
+    private static final int IMAGE_COUNT = 3;
+    private static final int REPLY_COUNT = 5;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostImageRepository postImageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long postId;
+    private Long authorId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User("author@test.com", "password", "author", null);
+        entityManager.persist(author);
+        authorId = author.getUserId();
+
+        Post post = Post.builder().title("title").content("content").user(author).build();
+        entityManager.persist(post);
+        postId = post.getPostId();
+
+        //댓글마다 다른 작성자
+        Comment firstComment = null;
+        for (int i = 0; i < COMMENTER_COUNT; i++) {
+            User commenter = new User("commenter" + i + "@test.com", "password", "commenter" + i, null);
+            entityManager.persist(commenter);
+            Comment comment = new Comment("comment" + i, commenter, post);
+            entityManager.persist(comment);
+            comment.startThread();
+            if (firstComment == null) {
+                firstComment = comment;
+            }
+        }
+
+        //첫 댓글에만 답글
+        for (int i = 0; i < REPLY_COUNT; i++) {
+            entityManager.persist(new Comment("reply" + i, author, post, firstComment.getCommentId(), i + 1));
+        }
+        ReflectionTestUtils.setField(firstComment, "replyCount", REPLY_COUNT);
+        ReflectionTestUtils.setField(firstComment, "lastReplySeq", REPLY_COUNT);
+
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            Image image = new Image("https://image/" + i, author);
+            entityManager.persist(image);
+            entityManager.persist(new PostImage(post, image));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("게시글 상세 - 게시글과 작성자를 쿼리 1회로 조회")
+    void detail_SingleStatement() {
+        // when
+        Post post = postRepository.findDetailByPostId(postId).orElseThrow();
+        String nickname = post.getUser().getNickname();
+
+        // then
+        assertThat(nickname).isEqualTo("author");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("댓글 작성 - 작성자, 게시글 프록시를 초기화하지 않고 INSERT 1회로 응답, 캐시 행 생성")
+    void createComment_DoesNotLoadUser() {
+        // given
+        User author = entityManager.getReference(User.class, authorId);
+        Post post = entityManager.getReference(Post.class, postId);
+
+        // when
+        Comment comment = new Comment("new", author, post);
+        entityManager.persist(comment);
+        CommentResponseDto response = CommentResponseDto.created(comment);
+        CommentRowDto row = CommentRowDto.from(comment);
+
+        // then
+        assertThat(response.getIsAuthor()).isTrue();
+        assertThat(row.getUserId()).isEqualTo(authorId);
+        assertThat(Hibernate.isInitialized(author)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("댓글 작성 - 없는 사용자면 작성자 FK 위반으로 구분")
+    void createComment_MissingUserViolatesUserFk() {
+        // given
+        User missing = entityManager.getReference(User.class, -1L);
+        Post post = entityManager.getReference(Post.class, postId);
+
+        // when
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> commentRepository.saveAndFlush(new Comment("new", missing, post)));
+
+        // then
+        assertThat(ConstraintUtils.isViolated(exception, Comment.USER_FK)).isTrue();
+        assertThat(ConstraintUtils.isViolated(exception, Post.USER_FK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원가입 - 이미 있는 이메일이면 이메일 unique 제약 위반으로 구분")
+    void createUser_DuplicateEmailViolatesEmailUnique() {
+        // when
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(new User("author@test.com", "password", "other", null)));
+
+        // then
+        assertThat(ConstraintUtils.isViolated(exception, User.EMAIL_UNIQUE)).isTrue();
+        assertThat(ConstraintUtils.isViolated(exception, User.NICKNAME_UNIQUE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("회원가입 - 이미 있는 닉네임이면 닉네임 unique 제약 위반으로 구분")
+    void createUser_DuplicateNicknameViolatesNicknameUnique() {
+        // when
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(new User("other@test.com", "password", "author", null)));
+
+        // then
+        assertThat(ConstraintUtils.isViolated(exception, User.NICKNAME_UNIQUE)).isTrue();
+        assertThat(ConstraintUtils.isViolated(exception, User.EMAIL_UNIQUE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - fetch plan 없이는 작성자 수만큼 추가 쿼리 (N + 1)")
+    void commentPage_WithoutFetchPlan() {
+        // when
+        List<Comment> comments = entityManager
+                .createQuery("select c from Comment c where c.post.postId = :postId and c.replySeq = 0 order by c.commentId", Comment.class)
+                .setParameter("postId", postId)
+                .getResultList();
+        comments.forEach(comment -> comment.getUser().getNickname());
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L + COMMENTER_COUNT);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - 작성자 조인 projection 으로 쿼리 1회")
+    void commentPage_SingleStatement() {
+        // when
+        Slice<CommentRowDto> page = commentRepository.findCommentPage(postId, null, 20, 0);
+
+        // then
+        assertThat(page.getContent()).hasSize(COMMENTER_COUNT);
+        assertThat(page.getContent()).extracting(CommentRowDto::getNickname).contains("commenter0", "commenter9");
+        assertThat(page.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - 삭제 요청된 게시글이면 댓글이 남아 있어도 빈 페이지")
+    void commentPage_DeletedPost() {
+        // given
+        postRepository.softDeleteByOwner(postId, authorId, new Timestamp(System.currentTimeMillis()));
+
+        // when
+        Slice<CommentRowDto> page = commentRepository.findCommentPage(postId, null, 20, 2);
+
+        // then
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - cursor 이후 댓글만, 다음 페이지 여부 확인")
+    void commentPage_Cursor() {
+        // given
+        Slice<CommentRowDto> firstPage = commentRepository.findCommentPage(postId, null, 4, 0);
+
+        // when
+        Slice<CommentRowDto> nextPage = commentRepository.findCommentPage(postId, firstPage.getContent().get(3).getCommentId(), 4, 0);
+
+        // then
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(nextPage.getContent()).extracting(CommentRowDto::getNickname)
+                .containsExactly("commenter4", "commenter5", "commenter6", "commenter7");
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - 최상위 댓글 1회 + 답글이 있는 스레드의 첫 답글 몇 개 1회")
+    void commentPage_WithReplyPreview() {
+        // when
+        Slice<CommentRowDto> page = commentRepository.findCommentPage(postId, null, 3, 2);
+
+        // then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.hasNext()).isTrue();
+        CommentRowDto first = page.getContent().get(0);
+        assertThat(first.getReplyCount()).isEqualTo(REPLY_COUNT);
+        assertThat(first.getReplies()).extracting(CommentRowDto::getContent).containsExactly("reply0", "reply1");
+        assertThat(page.getContent().get(1).getReplies()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - 답글이 있는 스레드가 여러 개여도 스레드별로 잘라 한 번에 조회")
+    void commentPage_ReplyPreviewPerThread() {
+        // given
+        Comment secondRoot = entityManager
+                .createQuery("select c from Comment c where c.content = 'comment1'", Comment.class)
+                .getSingleResult();
+        User author = entityManager.find(User.class, authorId);
+        Post post = entityManager.find(Post.class, postId);
+        for (int i = 0; i < REPLY_COUNT; i++) {
+            entityManager.persist(new Comment("second" + i, author, post, secondRoot.getCommentId(), i + 1));
+        }
+        ReflectionTestUtils.setField(secondRoot, "replyCount", REPLY_COUNT);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        Slice<CommentRowDto> page = commentRepository.findCommentPage(postId, null, 3, 2);
+
+        // then
+        assertThat(page.getContent().get(0).getReplies()).extracting(CommentRowDto::getContent)
+                .containsExactly("reply0", "reply1");
+        assertThat(page.getContent().get(1).getReplies()).extracting(CommentRowDto::getContent)
+                .containsExactly("second0", "second1");
+        assertThat(page.getContent().get(2).getReplies()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 - 앞 순번 답글이 삭제돼도 남아 있는 첫 답글 몇 개")
+    void commentPage_ReplyPreviewSkipsDeleted() {
+        // given
+        entityManager.createQuery("delete from Comment c where c.content in ('reply0', 'reply1')").executeUpdate();
+
+        // when
+        Slice<CommentRowDto> page = commentRepository.findCommentPage(postId, null, 1, 2);
+
+        // then
+        assertThat(page.getContent().get(0).getReplies()).extracting(CommentRowDto::getContent)
+                .containsExactly("reply2", "reply3");
+    }
+
+    @Test
+    @DisplayName("답글 목록 - 순번 cursor 이후 답글만")
+    void replyPage_Cursor() {
+        // given
+        Long rootId = commentRepository.findCommentPage(postId, null, 1, 0).getContent().get(0).getCommentId();
+
+        // when
+        Slice<CommentRowDto> page = commentRepository.findReplyPage(rootId, 2, 10);
+
+        // then
+        assertThat(page.getContent()).extracting(CommentRowDto::getContent).containsExactly("reply2", "reply3", "reply4");
+        assertThat(page.getContent()).extracting(CommentRowDto::getReplySeq).containsExactly(3, 4, 5);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("답글 순번 발급 - UPDATE 로 답글 수, 순번만 증가하고 최상위 댓글의 수정 시각은 그대로")
+    void issueReplySeq_KeepsRootUpdatedAt() {
+        // given
+        Long rootId = commentRepository.findCommentPage(postId, null, 1, 0).getContent().get(0).getCommentId();
+        CommentRowDto before = commentRepository.findCommentRow(rootId).orElseThrow();
+
+        // when
+        int updated = commentRepository.incrementReplySeq(rootId);
+        Integer replySeq = commentRepository.findLastReplySeq(rootId).orElseThrow();
+
+        // then
+        CommentRowDto after = commentRepository.findCommentRow(rootId).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(replySeq).isEqualTo(REPLY_COUNT + 1);
+        assertThat(after.getReplyCount()).isEqualTo(REPLY_COUNT + 1);
+        assertThat(after.getUpdatedAt()).isEqualTo(before.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("댓글 단건 - Comment.page fetch plan 으로 작성자까지 쿼리 1회")
+    void comment_SingleStatement() {
+        // given
+        Long commentId = commentRepository.findCommentPage(postId, null, 1, 0).getContent().get(0).getCommentId();
+        statistics.clear();
+
+        // when
+        Comment comment = commentRepository.findWithUserByCommentId(commentId).orElseThrow();
+
+        // then
+        assertThat(comment.getUser().getNickname()).isEqualTo("commenter0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("게시글 이미지 - 이미지까지 쿼리 1회, 업로더는 로딩하지 않음")
+    void postImages_SingleStatement() {
+        // when
+        List<PostImage> postImages = postImageRepository.findAllByPost_PostId(postId);
+        postImages.forEach(postImage -> postImage.getImage().getImageUrl());
+
+        // then
+        assertThat(postImages).hasSize(IMAGE_COUNT);
+        assertThat(Hibernate.isInitialized(postImages.get(0).getImage().getUser())).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,149 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.common.cache.HotPostDetector;
+import com.ktb.ktb_community.common.cache.LikedPostCache;
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.common.config.QuerydslConfig;
+import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.event.PostEventHub;
+import com.ktb.ktb_community.service.PostLikeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//여러 스레드가 한 게시글에 좋아요/취소를 반복해도 카운터와 post_like 행 수가 일치하는지
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuerydslConfig.class, PostLikeService.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostLikeConcurrencyTest {
+
+    private static final int USER_COUNT = 20;
+    private static final int REPEAT = 5;
+
+    @Autowired
+    private PostLikeService postLikeService;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    //Redis 없이 DB 경로로 실행 (generation() 이 null 이라 바로 DB 에 반영)
+    @MockitoBean
+    private PostLikeStore postLikeStore;
+
+    @MockitoBean
+    private HotPostDetector hotPostDetector;
+
+    @MockitoBean
+    private LikedPostCache likedPostCache;
+
+    @MockitoBean
+    private PostVersionStore postVersionStore;
+
+    @MockitoBean
+    private PostTrendingIndex postTrendingIndex;
+
+    @MockitoBean
+    private PostEventHub postEventHub;
+
+    private Long postId;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(new User("author@test.com", "password", "author", null));
+        postId = postRepository.save(Post.builder().title("title").content("content").user(author).build()).getPostId();
+        for (int i = 0; i < USER_COUNT; i++) {
+            userIds.add(userRepository.save(new User("liker" + i + "@test.com", "password", "liker" + i, null)).getUserId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        postLikeRepository.deleteAllInBatch();
+        postRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 중복 좋아요가 동시에 와도 한 번만 반영")
+    void concurrentLikes_CountedOnce() throws Exception {
+        // when
+        hammer((postId, userId) -> postLikeService.createLike(postId, userId));
+
+        // then
+        assertThat(postRepository.findLikeCountByPostId(postId)).contains(USER_COUNT);
+        assertThat(postLikeRepository.count()).isEqualTo(USER_COUNT);
+    }
+
+    @Test
+    @DisplayName("동시에 중복 취소가 와도 카운터가 음수나 중복 차감 없이 0")
+    void concurrentUnlikes_CountedOnce() throws Exception {
+        // given
+        for (Long userId : userIds) {
+            postLikeService.createLike(postId, userId);
+        }
+
+        // when
+        hammer((postId, userId) -> postLikeService.deleteLike(postId, userId));
+
+        // then
+        assertThat(postRepository.findLikeCountByPostId(postId)).contains(0);
+        assertThat(postLikeRepository.count()).isZero();
+    }
+
+    //모든 사용자가 REPEAT 번씩 동시에 요청
+    private void hammer(BiConsumer<Long, Long> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < REPEAT; i++) {
+                for (Long userId : userIds) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        action.accept(postId, userId);
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                //실패한 요청이 있으면 예외로 드러나도록
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.ktb.ktb_community.repository;
+
+import com.ktb.ktb_community.common.config.QuerydslConfig;
+import com.ktb.ktb_community.dto.PostCountsDto;
+import com.ktb.ktb_community.dto.PostFeedDto;
+import com.ktb.ktb_community.dto.PostLiveDto;
+import com.ktb.ktb_community.entity.Comment;
+import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.PostBody;
+import com.ktb.ktb_community.entity.PostLike;
+import com.ktb.ktb_community.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QuerydslConfig.class)
+@ActiveProfiles("test")
+class PostRepositoryTest {
+
+    private static final int POST_COUNT = 30;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private final List<Post> posts = new ArrayList<>();
+    private Long readerId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User("author@test.com", "password", "author", null);
+        User reader = new User("reader@test.com", "password", "reader", null);
+        entityManager.persist(author);
+        entityManager.persist(reader);
+        readerId = reader.getUserId();
+
+        for (int i = 0; i < POST_COUNT; i++) {
+            Post post = Post.builder().title("title" + i).content("content" + i).user(author).build();
+            entityManager.persist(post);
+            posts.add(post);
+
+            //짝수 게시글에만 좋아요 2개, 댓글 i 개
+            if (i % 2 == 0) {
+                entityManager.persist(new PostLike(author, post));
+                entityManager.persist(new PostLike(reader, post));
+                postRepository.incrementLikeCount(post.getPostId());
+                postRepository.incrementLikeCount(post.getPostId());
+            }
+            for (int j = 0; j < i; j++) {
+                entityManager.persist(new Comment("comment" + j, reader, post));
+                postRepository.incrementCommentCount(post.getPostId());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20, 50})
+    @DisplayName("피드 조회 - 페이지 크기와 무관하게 쿼리 1회")
+    void findFeed_SingleStatementPerPage(int size) {
+        // when
+        Slice<PostFeedDto> firstPage = postRepository.findFeed(null, size);
+        long firstPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Slice<PostFeedDto> nextPage = postRepository.findFeed(firstPage.getContent().get(0).getPostId(), size);
+        long nextPageStatements = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(firstPage.getContent()).hasSize(Math.min(size, POST_COUNT));
+        assertThat(nextPage.getContent()).isNotEmpty();
+        assertThat(firstPageStatements).isEqualTo(1L);
+        assertThat(nextPageStatements).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("피드 조회 - 좋아요 수, 댓글 수, 작성자 정보 포함")
+    void findFeed_ProjectsCountsAndAuthor() {
+        // when
+        Slice<PostFeedDto> page = postRepository.findFeed(null, POST_COUNT);
+
+        // then
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getContent()).hasSize(POST_COUNT);
+
+        PostFeedDto newest = page.getContent().get(0);
+        assertThat(newest.getPostId()).isEqualTo(posts.get(POST_COUNT - 1).getPostId());
+        assertThat(newest.getNickname()).isEqualTo("author");
+        assertThat(newest.getLikeCount()).isEqualTo(0);
+        assertThat(newest.getCommentCount()).isEqualTo(POST_COUNT - 1);
+
+        PostFeedDto oldest = page.getContent().get(POST_COUNT - 1);
+        assertThat(oldest.getLikeCount()).isEqualTo(2);
+        assertThat(oldest.getCommentCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("피드 조회 - cursor 보다 작은 id 만 조회")
+    void findFeed_Cursor() {
+        // given
+        Long cursor = posts.get(10).getPostId();
+
+        // when
+        Slice<PostFeedDto> page = postRepository.findFeed(cursor, 5);
+
+        // then
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).extracting(PostFeedDto::getPostId)
+                .containsExactly(
+                        posts.get(9).getPostId(),
+                        posts.get(8).getPostId(),
+                        posts.get(7).getPostId(),
+                        posts.get(6).getPostId(),
+                        posts.get(5).getPostId());
+    }
+
+    @Test
+    @DisplayName("id 목록으로 피드 행, 카운터, 카운터 + 작성자 조회 - 각각 쿼리 1회")
+    void findFeedByIds_SingleStatement() {
+        // given
+        List<Long> ids = List.of(posts.get(0).getPostId(), posts.get(1).getPostId(), posts.get(2).getPostId());
+
+        // when
+        List<PostFeedDto> rows = postRepository.findFeedByIds(ids);
+        List<PostCountsDto> counts = postRepository.findCountsByPostIdIn(ids);
+        List<PostLiveDto> lives = postRepository.findLiveByPostIdIn(ids);
+
+        // then
+        assertThat(rows).extracting(PostFeedDto::getPostId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(counts).extracting(PostCountsDto::getPostId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(lives).extracting(PostLiveDto::getNickname).containsOnly("author");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("최신 게시글 id 조회 - 피드 인덱스 재구성용")
+    void findRecentPostIds() {
+        // when
+        List<Long> ids = postRepository.findRecentPostIds(PageRequest.of(0, 3));
+        List<Long> newer = postRepository.findPostIdsGreaterThan(posts.get(POST_COUNT - 3).getPostId());
+
+        // then
+        assertThat(ids).containsExactly(
+                posts.get(POST_COUNT - 1).getPostId(),
+                posts.get(POST_COUNT - 2).getPostId(),
+                posts.get(POST_COUNT - 3).getPostId());
+        assertThat(newer).containsExactly(
+                posts.get(POST_COUNT - 1).getPostId(),
+                posts.get(POST_COUNT - 2).getPostId());
+    }
+
+    @Test
+    @DisplayName("좋아요 한 게시글 id 일괄 조회 - 쿼리 1회")
+    void findLikedPostIds_SingleStatement() {
+        // given
+        List<Long> ids = posts.subList(0, 6).stream().map(Post::getPostId).toList();
+
+        // when
+        List<Long> likedIds = postLikeRepository.findLikedPostIds(readerId, ids);
+
+        // then
+        assertThat(likedIds).containsExactlyInAnyOrder(
+                posts.get(0).getPostId(),
+                posts.get(2).getPostId(),
+                posts.get(4).getPostId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("피드 조회 - 긴 게시글은 preview 만 조회")
+    void findFeed_ReturnsPreviewOnly() {
+        // given
+        String longContent = "가".repeat(Post.PREVIEW_LENGTH * 10);
+        User author = entityManager.find(User.class, readerId);
+        Post post = Post.builder().title("long").content(longContent).user(author).build();
+        entityManager.persist(post);
+        entityManager.persist(new PostBody(post, longContent));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        PostFeedDto newest = postRepository.findFeed(null, 1).getContent().get(0);
+
+        // then
+        assertThat(newest.getPostId()).isEqualTo(post.getPostId());
+        assertThat(newest.getContent()).hasSize(Post.PREVIEW_LENGTH);
+        assertThat(entityManager.find(PostBody.class, post.getPostId()).getContent()).isEqualTo(longContent);
+    }
+
+    @Test
+    @DisplayName("삭제 요청된 게시글 - 조회에서 제외, 정리 대상 조회에는 포함")
+    void softDeletedPost_HiddenUntilSwept() {
+        // given
+        Post newest = posts.get(POST_COUNT - 1);
+        postRepository.softDeleteByOwner(newest.getPostId(), newest.getUser().getUserId(),
+                Timestamp.valueOf(LocalDateTime.now()));
+        entityManager.clear();
+
+        // when
+        PostFeedDto first = postRepository.findFeed(null, 1).getContent().get(0);
+        List<Long> deletedIds = postRepository.findDeletedPostIdsBefore(
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(1)), 10);
+
+        // then
+        assertThat(first.getPostId()).isEqualTo(posts.get(POST_COUNT - 2).getPostId());
+        assertThat(postRepository.findById(newest.getPostId())).isEmpty();
+        assertThat(deletedIds).containsExactly(newest.getPostId());
+    }
+
+    @Test
+    @DisplayName("작성자 조건부 수정/삭제 - 작성자가 아니면 0 행, 엔티티 로딩 없이 쿼리 1회")
+    void conditionalWriteByOwner() {
+        // given
+        Post target = posts.get(0);
+        Long authorId = entityManager.find(Post.class, target.getPostId()).getUser().getUserId();
+        entityManager.clear();
+        statistics.clear();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // when
+        int byOther = postRepository.updateByOwner(target.getPostId(), readerId, "hijacked", "hijacked", now);
+        int byAuthor = postRepository.updateByOwner(target.getPostId(), authorId, "edited", "edited", now);
+        long updateStatements = statistics.getPrepareStatementCount();
+        int deletedByOther = postRepository.softDeleteByOwner(target.getPostId(), readerId, now);
+
+        // then
+        assertThat(byOther).isZero();
+        assertThat(byAuthor).isEqualTo(1);
+        assertThat(updateStatements).isEqualTo(2L);
+        assertThat(deletedByOther).isZero();
+        assertThat(postRepository.findOwnerIdByPostId(target.getPostId())).contains(authorId);
+        assertThat(postRepository.findById(target.getPostId()).orElseThrow().getTitle()).isEqualTo("edited");
+    }
+}
@@ -0,0 +1,104 @@
+package com.ktb.ktb_community.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex();
+
+    private void index(long postId, String text) {
+        postSearchIndex.index(postId, BigramTokenizer.tokenize(text));
+    }
+
+    private List<Long> search(String query, Long cursor, int limit) {
+        return postSearchIndex.search(BigramTokenizer.tokenize(query), cursor, limit);
+    }
+
+    @Test
+    @DisplayName("토큰화 - 한글은 bigram, 영문/숫자는 소문자 단어")
+    void tokenize() {
+        // when
+        Set<String> terms = BigramTokenizer.tokenize("Spring 게시판에서 2024!");
+
+        // then
+        assertThat(terms).containsExactlyInAnyOrder("spring", "게시", "시판", "판에", "에서", "2024");
+    }
+
+    @Test
+    @DisplayName("검색 - 조사가 붙은 단어도 매칭, 모든 term 을 포함한 게시글만 최신순")
+    void search_AllTermsNewestFirst() {
+        // given
+        index(1L, "자유 게시판에서 만나요");
+        index(2L, "공지 게시판 이용 안내");
+        index(3L, "게시글 작성 방법");
+
+        // when
+        List<Long> result = search("게시판", null, 10);
+
+        // then
+        assertThat(result).containsExactly(2L, 1L);
+        assertThat(search("공지 게시판", null, 10)).containsExactly(2L);
+        assertThat(search("없는단어", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("검색 - cursor 미만 id 만 limit 개")
+    void search_Cursor() {
+        // given
+        for (long postId = 1; postId <= 10; postId++) {
+            index(postId, "spring 게시판 " + postId);
+        }
+
+        // when
+        List<Long> result = search("Spring", 8L, 3);
+
+        // then
+        assertThat(result).containsExactly(7L, 6L, 5L);
+    }
+
+    @Test
+    @DisplayName("수정, 삭제 - 이전 term 은 더 이상 매칭되지 않음")
+    void reindexAndRemove() {
+        // given
+        index(1L, "자바 스프링");
+        index(2L, "자바 코틀린");
+
+        // when
+        index(1L, "파이썬 장고");
+        postSearchIndex.remove(2L);
+
+        // then
+        assertThat(search("자바", null, 10)).isEmpty();
+        assertThat(search("장고", null, 10)).containsExactly(1L);
+        assertThat(postSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스냅샷 - 저장 후 읽어서 같은 결과로 검색")
+    void snapshotRoundTrip(@TempDir Path tempDir) throws Exception {
+        // given
+        index(1L, "자유 게시판에서 만나요");
+        index(2L, "Spring Boot 게시판");
+        Path path = tempDir.resolve("index.snapshot");
+
+        // when
+        new PostSearchIndexSnapshot(1234L, postSearchIndex.export()).write(path);
+        PostSearchIndexSnapshot snapshot = PostSearchIndexSnapshot.read(path).orElseThrow();
+
+        PostSearchIndex restored = new PostSearchIndex();
+        snapshot.termsByPost().forEach(restored::index);
+
+        // then
+        assertThat(snapshot.createdAt()).isEqualTo(1234L);
+        assertThat(restored.search(BigramTokenizer.tokenize("게시판"), null, 10)).containsExactly(2L, 1L);
+        assertThat(restored.search(BigramTokenizer.tokenize("boot"), null, 10)).containsExactly(2L);
+    }
+}
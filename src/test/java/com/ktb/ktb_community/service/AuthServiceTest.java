@@ -0,0 +1,110 @@
+package com.ktb.ktb_community.service;
+
+import com.ktb.ktb_community.common.Security.JwtClaims;
+import com.ktb.ktb_community.common.Security.JwtProvider;
+import com.ktb.ktb_community.common.Security.LoginRequestDto;
+import com.ktb.ktb_community.common.Security.LoginResponseDto;
+import com.ktb.ktb_community.common.Security.PasswordHasher;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore;
+import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.exception.NoPermissionException;
+import com.ktb.ktb_community.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Test
+    @DisplayName("로그인 - 성공, RT 를 사용자 세션으로 저장")
+    void login_Success() {
+        // given
+        LoginRequestDto requestDto = new LoginRequestDto();
+        requestDto.setEmail("test@test.com");
+        requestDto.setPassword("password");
+        User user = User.builder().email("test@test.com").password("encoded").nickname("test").build();
+        ReflectionTestUtils.setField(user, "userId", 1L);
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password", "encoded")).thenReturn(true);
+        when(jwtProvider.createAccessToken("1")).thenReturn("access");
+        when(jwtProvider.createRefreshToken("1")).thenReturn("refresh");
+
+        // when
+        LoginResponseDto responseDto = authService.login(requestDto);
+
+        // then
+        assertThat(responseDto.getAccessToken()).isEqualTo("access");
+        verify(refreshTokenStore, times(1)).save(1L, "refresh");
+    }
+
+    @Test
+    @DisplayName("AT 재발급 - RT 의 사용자로 발급, 저장되지 않았거나 서명이 틀린 RT 는 거절")
+    void reissueAccessToken() {
+        // given
+        JwtClaims claims = new JwtClaims(1L, Instant.now(), Instant.now().plusSeconds(60));
+        when(jwtProvider.verify("refresh")).thenReturn(Optional.of(claims));
+        when(jwtProvider.verify("revoked")).thenReturn(Optional.of(claims));
+        when(jwtProvider.verify("forged")).thenReturn(Optional.empty());
+        when(refreshTokenStore.isActive(1L, "refresh")).thenReturn(true);
+        when(refreshTokenStore.isActive(1L, "revoked")).thenReturn(false);
+        when(jwtProvider.createAccessToken("1")).thenReturn("access");
+
+        // when & then
+        assertThat(authService.reissueAccessToken("refresh").getAccessToken()).isEqualTo("access");
+        assertThrows(NoPermissionException.class, () -> authService.reissueAccessToken("revoked"));
+        assertThrows(NoPermissionException.class, () -> authService.reissueAccessToken("forged"));
+    }
+
+    @Test
+    @DisplayName("로그아웃 - 저장되지 않은 RT 면 실패")
+    void logout_Fail_UnknownToken() {
+        // given
+        JwtClaims claims = new JwtClaims(1L, Instant.now(), Instant.now().plusSeconds(60));
+        when(jwtProvider.verify("unknown")).thenReturn(Optional.of(claims));
+        when(refreshTokenStore.revoke(1L, "unknown")).thenReturn(false);
+
+        // when & then
+        assertThrows(NoPermissionException.class, () -> authService.logout("unknown"));
+    }
+
+    @Test
+    @DisplayName("전체 로그아웃 - 사용자의 모든 RT 를 한 번에 폐기")
+    void logoutAll() {
+        // given
+        when(refreshTokenStore.revokeAll(1L)).thenReturn(3L);
+
+        // when
+        long revoked = authService.logoutAll(1L);
+
+        // then
+        assertThat(revoked).isEqualTo(3L);
+    }
+}
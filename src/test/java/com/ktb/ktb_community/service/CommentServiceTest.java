@@ -1,15 +1,24 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.cache.CommentPageCache;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.dto.CommentOwnershipDto;
+import com.ktb.ktb_community.dto.CommentPageResponseDto;
 import com.ktb.ktb_community.dto.CommentRequestDto;
 import com.ktb.ktb_community.dto.CommentResponseDto;
+import com.ktb.ktb_community.dto.CommentRowDto;
+import com.ktb.ktb_community.dto.UserProfileDto;
 import com.ktb.ktb_community.entity.Comment;
 import com.ktb.ktb_community.entity.Post;
 import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.CommentRepository;
 import com.ktb.ktb_community.repository.PostRepository;
 import com.ktb.ktb_community.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,14 +26,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +60,18 @@ class CommentServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private PostVersionStore postVersionStore;
+
+    @Mock
+    private PostTrendingIndex postTrendingIndex;
+
+    @Mock
+    private CommentPageCache commentPageCache;
+
+    @Mock
+    private PostEventHub postEventHub;
+
     private User user;
     private Post post;
 
@@ -69,15 +99,16 @@ class CommentServiceTest {
     }
 
     @Test
-    @DisplayName("댓글 생성 - 성공")
+    @DisplayName("댓글 생성 - 성공 (작성자, 게시글 SELECT 없음)")
     void createComment_Success() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         Long postId = 1L;
         CommentRequestDto requestDto = createCommentRequestDto("새로운 댓글 내용");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+        when(postRepository.incrementCommentCount(postId)).thenReturn(1);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(postRepository.getReferenceById(postId)).thenReturn(post);
 
         // when
         CommentResponseDto responseDto = commentService.create(requestDto, userId, postId);
@@ -86,34 +117,93 @@ class CommentServiceTest {
         assertThat(responseDto).isNotNull();
         assertThat(responseDto.getContent()).isEqualTo("새로운 댓글 내용");
         assertThat(responseDto.getIsAuthor()).isTrue();
+        assertThat(responseDto.getUser()).isNull();
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(postRepository, times(1)).incrementCommentCount(postId);
+        verify(postVersionStore, times(1)).bump(postId);
+        verify(postTrendingIndex, times(1)).commented(postId, 1);
+        verify(postEventHub, times(1)).publishComment(eq(postId), any(Comment.class));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("답글 생성 - 답글의 답글도 최상위 댓글 아래 다음 순번으로 생성, 최상위 댓글 엔티티는 수정하지 않음")
+    void createReply_Success() {
+        // given
+        Long postId = 1L;
+        Comment firstReply = new Comment("첫 답글", user, post, 10L, 1);
+        ReflectionTestUtils.setField(firstReply, "commentId", 11L);
+
+        CommentRequestDto requestDto = createCommentRequestDto("답글의 답글");
+        requestDto.setParentId(11L);
+
+        when(postRepository.incrementCommentCount(postId)).thenReturn(1);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(postRepository.getReferenceById(postId)).thenReturn(post);
+        when(commentRepository.findById(11L)).thenReturn(Optional.of(firstReply));
+        when(commentRepository.incrementReplySeq(10L)).thenReturn(1);
+        when(commentRepository.findLastReplySeq(10L)).thenReturn(Optional.of(2));
+
+        // when
+        CommentResponseDto responseDto = commentService.create(requestDto, 1L, postId);
+
+        // then
+        assertThat(responseDto.getParentId()).isEqualTo(10L);
+        verify(commentRepository, times(1)).save(argThat(comment -> comment.getReplySeq() == 2));
+        verify(postRepository, times(1)).incrementCommentCount(postId);
+        verify(commentPageCache, times(1)).evict(postId);
     }
 
     @Test
     @DisplayName("댓글 생성 - 실패 (사용자를 찾을 수 없음)")
     void createComment_Fail_UserNotFound() {
         // given
-        String userId = "999";
+        Long userId = 999L;
         Long postId = 1L;
         CommentRequestDto requestDto = createCommentRequestDto("새로운 댓글 내용");
 
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(postRepository.incrementCommentCount(postId)).thenReturn(1);
+        when(userRepository.getReferenceById(999L)).thenReturn(user);
+        when(postRepository.getReferenceById(postId)).thenReturn(post);
+        //작성자 행이 없으면 INSERT 가 작성자 FK 위반
+        when(commentRepository.save(any(Comment.class))).thenThrow(violation("PUBLIC.FK_COMMENT_USER"));
 
         // when & then
-        assertThrows(NotFoundException.class, () -> commentService.create(requestDto, userId, postId));
-        verify(commentRepository, never()).save(any(Comment.class));
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> commentService.create(requestDto, userId, postId));
+        assertThat(exception.getMessage()).isEqualTo("USER_NOT_FOUND");
+        verify(postVersionStore, never()).bump(anyLong());
+    }
+
+    @Test
+    @DisplayName("댓글 생성 - 작성자 FK 가 아닌 제약 위반은 그대로 전달")
+    void createComment_Fail_OtherConstraint() {
+        // given
+        CommentRequestDto requestDto = createCommentRequestDto("새로운 댓글 내용");
+
+        when(postRepository.incrementCommentCount(1L)).thenReturn(1);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(postRepository.getReferenceById(1L)).thenReturn(post);
+        when(commentRepository.save(any(Comment.class))).thenThrow(violation("fk_comment_post"));
+
+        // when & then
+        assertThrows(DataIntegrityViolationException.class, () -> commentService.create(requestDto, 1L, 1L));
+    }
+
+    private DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation", new SQLException(), constraintName));
     }
 
     @Test
     @DisplayName("댓글 생성 - 실패 (게시글을 찾을 수 없음)")
     void createComment_Fail_PostNotFound() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         Long postId = 999L;
         CommentRequestDto requestDto = createCommentRequestDto("새로운 댓글 내용");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(999L)).thenReturn(Optional.empty());
+        //삭제되었거나 없는 게시글이면 댓글 수 UPDATE 가 0 행
+        when(postRepository.incrementCommentCount(999L)).thenReturn(0);
 
         // when & then
         assertThrows(NotFoundException.class, () -> commentService.create(requestDto, userId, postId));
@@ -121,78 +211,283 @@ class CommentServiceTest {
     }
 
     @Test
-    @DisplayName("댓글 수정 - 성공")
+    @DisplayName("댓글 수정 - 성공 (조건부 UPDATE, 엔티티 로딩 없음)")
     void updateComment_Success() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         Long commentId = 1L;
         CommentRequestDto requestDto = createCommentRequestDto("수정된 댓글 내용");
-        Comment existingComment = new Comment("원본 내용", user, post);
-        Comment spyComment = spy(existingComment);
+        CommentRowDto row = new CommentRowDto(commentId, 1L, "수정된 댓글 내용", null, null, commentId, 0, 0,
+                1L, user.getEmail(), user.getNickname(), null, null);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(spyComment));
+        when(commentRepository.updateContentByOwner(eq(commentId), eq(1L), eq("수정된 댓글 내용"), any())).thenReturn(1);
+        when(commentRepository.findCommentRow(commentId)).thenReturn(Optional.of(row));
 
         // when
         CommentResponseDto responseDto = commentService.update(requestDto, userId, commentId);
 
         // then
         assertThat(responseDto.getContent()).isEqualTo("수정된 댓글 내용");
-        verify(spyComment, times(1)).update("수정된 댓글 내용");
+        verify(commentPageCache, times(1)).updated(row);
+        verify(commentRepository, never()).findById(any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("댓글 수정 - 실패 (권한 없음)")
     void updateComment_Fail_NoPermission() {
         // given
-        String otherUserId = "2";
+        Long otherUserId = 2L;
         Long commentId = 1L;
         CommentRequestDto requestDto = createCommentRequestDto("수정된 댓글 내용");
-        User otherUser = User.builder().email("other@test.com").password("p").nickname("other").build();
-        ReflectionTestUtils.setField(otherUser, "userId", 2L);
-        Comment existingComment = new Comment("원본 내용", user, post);
 
-        when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(existingComment));
+        when(commentRepository.updateContentByOwner(eq(commentId), eq(2L), any(), any())).thenReturn(0);
+        when(commentRepository.findOwnerIdByCommentId(commentId)).thenReturn(Optional.of(1L));
 
         // when & then
         assertThrows(NoPermissionException.class, () -> commentService.update(requestDto, otherUserId, commentId));
+        verify(commentPageCache, never()).updated(any());
+    }
+
+    @Test
+    @DisplayName("댓글 수정 - 실패 (댓글을 찾을 수 없음)")
+    void updateComment_Fail_CommentNotFound() {
+        // given
+        Long commentId = 999L;
+        CommentRequestDto requestDto = createCommentRequestDto("수정된 댓글 내용");
+
+        when(commentRepository.updateContentByOwner(eq(commentId), eq(1L), any(), any())).thenReturn(0);
+        when(commentRepository.findOwnerIdByCommentId(commentId)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> commentService.update(requestDto, 1L, commentId));
     }
 
     @Test
     @DisplayName("댓글 삭제 - 성공")
     void deleteComment_Success() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         Long commentId = 1L;
-        Comment existingComment = new Comment("삭제될 댓글", user, post);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(existingComment));
+        when(commentRepository.findOwnershipByCommentId(commentId))
+                .thenReturn(Optional.of(new CommentOwnershipDto(commentId, 1L, 1L, commentId, 0, 0)));
+        when(commentRepository.deleteByOwner(commentId, 1L)).thenReturn(1);
 
         // when
         Boolean result = commentService.deleteCommentById(commentId, userId);
 
         // then
         assertTrue(result);
-        verify(commentRepository, times(1)).delete(existingComment);
+        verify(commentRepository, never()).tombstoneByOwner(any(), any(), any());
+        verify(postRepository, times(1)).decrementCommentCount(1L);
+        verify(commentPageCache, times(1)).deleted(1L, commentId);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 - 답글이 달린 최상위 댓글은 tombstone 으로 남기고 다른 사용자의 답글은 유지")
+    void deleteComment_WithReplies_Tombstone() {
+        // given
+        Long commentId = 10L;
+
+        when(commentRepository.findOwnershipByCommentId(commentId))
+                .thenReturn(Optional.of(new CommentOwnershipDto(commentId, 1L, 1L, commentId, 0, 2)));
+        when(commentRepository.deleteByOwner(commentId, 1L)).thenReturn(0);
+        when(commentRepository.tombstoneByOwner(eq(commentId), eq(1L), any())).thenReturn(1);
+
+        // when
+        commentService.deleteCommentById(commentId, 1L);
+
+        // then
+        verify(postRepository, times(1)).decrementCommentCount(1L);
+        verify(commentPageCache, times(1)).evict(1L);
+        verify(postTrendingIndex, times(1)).commented(1L, -1);
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 - 실패 (확인 이후 다른 요청이 먼저 삭제)")
+    void deleteComment_Fail_AlreadyDeleted() {
+        // given
+        Long commentId = 10L;
+
+        when(commentRepository.findOwnershipByCommentId(commentId))
+                .thenReturn(Optional.of(new CommentOwnershipDto(commentId, 1L, 1L, commentId, 0, 2)));
+        when(commentRepository.deleteByOwner(commentId, 1L)).thenReturn(0);
+        when(commentRepository.tombstoneByOwner(eq(commentId), eq(1L), any())).thenReturn(0);
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> commentService.deleteCommentById(commentId, 1L));
+        verify(postRepository, never()).decrementCommentCount(any());
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 - 답글을 지우면 최상위 댓글의 답글 수 차감, 빈 tombstone 정리")
+    void deleteComment_Reply() {
+        // given
+        Long replyId = 11L;
+
+        when(commentRepository.findOwnershipByCommentId(replyId))
+                .thenReturn(Optional.of(new CommentOwnershipDto(replyId, 1L, 1L, 10L, 1, 0)));
+        when(commentRepository.deleteByOwner(replyId, 1L)).thenReturn(1);
+
+        // when
+        commentService.deleteCommentById(replyId, 1L);
+
+        // then
+        verify(commentRepository, times(1)).decrementReplyCount(10L);
+        verify(commentRepository, times(1)).deleteEmptyTombstone(10L);
+        verify(commentRepository, never()).tombstoneByOwner(any(), any(), any());
+        verify(commentPageCache, times(1)).evict(1L);
+        verify(postRepository, times(1)).decrementCommentCount(1L);
     }
 
     @Test
     @DisplayName("댓글 삭제 - 실패 (권한 없음)")
     void deleteComment_Fail_NoPermission() {
         // given
-        String otherUserId = "2";
+        Long otherUserId = 2L;
         Long commentId = 1L;
-        User otherUser = User.builder().email("other@test.com").password("p").nickname("other").build();
-        ReflectionTestUtils.setField(otherUser, "userId", 2L);
-        Comment existingComment = new Comment("삭제될 댓글", user, post);
 
-        when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
-        when(commentRepository.findById(commentId)).thenReturn(Optional.of(existingComment));
+        when(commentRepository.findOwnershipByCommentId(commentId))
+                .thenReturn(Optional.of(new CommentOwnershipDto(commentId, 1L, 1L, commentId, 0, 0)));
 
         // when & then
         assertThrows(NoPermissionException.class, () -> commentService.deleteCommentById(commentId, otherUserId));
-        verify(commentRepository, never()).delete(any(Comment.class));
+        verify(commentRepository, never()).deleteByOwner(any(), any());
+    }
+
+    private CommentRowDto createCommentRow(long commentId, long authorId) {
+        return new CommentRowDto(commentId, 1L, "댓글" + commentId, null, null, commentId, 0, 0,
+                authorId, "user" + authorId + "@test.com", "user" + authorId, null, null);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - projection 한 번으로 조회, 댓글이 있으면 게시글 확인 생략")
+    void getComments_Success() {
+        // given
+        Long postId = 1L;
+        int size = 2;
+        Slice<CommentRowDto> slice = new SliceImpl<>(
+                List.of(createCommentRow(10L, 1L), createCommentRow(11L, 2L)), PageRequest.of(0, size), true);
+
+        when(commentRepository.findCommentPage(postId, null, size, 0)).thenReturn(slice);
+
+        // when
+        CommentPageResponseDto response = commentService.getCommentsByPostId(postId, null, size, 1L);
+
+        // then
+        assertThat(response.getCommentList()).extracting(CommentResponseDto::getIsAuthor).containsExactly(true, false);
+        assertThat(response.getCommentList().get(1).getUser().getNickname()).isEqualTo("user2");
+        assertThat(response.getCursor().getNextCursor()).isEqualTo(11L);
+        assertThat(response.getCursor().isHasNext()).isTrue();
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - 빈 페이지면 게시글 존재 확인")
+    void getComments_EmptyPage() {
+        // given
+        Long postId = 1L;
+        when(commentRepository.findCommentPage(postId, null, 20, 0)).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        when(postRepository.existsById(postId)).thenReturn(true);
+
+        // when
+        CommentPageResponseDto response = commentService.getCommentsByPostId(postId, null, 20, 1L);
+
+        // then
+        assertThat(response.getCommentList()).isEmpty();
+        assertThat(response.getCursor().isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - 실패 (게시글을 찾을 수 없음)")
+    void getComments_Fail_PostNotFound() {
+        // given
+        Long postId = 999L;
+        when(commentRepository.findCommentPage(postId, null, 20, 0)).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        when(postRepository.existsById(postId)).thenReturn(false);
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> commentService.getCommentsByPostId(postId, null, 20, 1L));
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - 캐시 hit 이면 댓글 DB 조회 없이 작성자 프로필만 조회")
+    void getComments_CacheHit() {
+        // given
+        Long postId = 1L;
+        Slice<CommentRowDto> cached = new SliceImpl<>(
+                List.of(createCommentRow(12L, 2L).withoutProfile(), createCommentRow(13L, 1L).withoutProfile()),
+                PageRequest.of(0, 2), false);
+        when(commentPageCache.findPage(postId, 11L, 2)).thenReturn(Optional.of(cached));
+        //캐시 적재 이후 작성자가 닉네임을 바꿈
+        when(userRepository.findProfilesByUserIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                new UserProfileDto(1L, "user1@test.com", "바뀐닉네임", null),
+                new UserProfileDto(2L, "user2@test.com", "user2", null)));
+
+        // when
+        CommentPageResponseDto response = commentService.getCommentsByPostId(postId, 11, 2, 1L);
+
+        // then
+        assertThat(response.getCommentList()).extracting(CommentResponseDto::getIsAuthor).containsExactly(false, true);
+        assertThat(response.getCommentList()).extracting(comment -> comment.getUser().getNickname())
+                .containsExactly("user2", "바뀐닉네임");
+        assertThat(response.getCursor().getNextCursor()).isEqualTo(13L);
+        assertThat(response.getCursor().isHasNext()).isFalse();
+        verifyNoInteractions(commentRepository, postRepository);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - tombstone 은 내용, 작성자 없이 답글 수와 함께 응답")
+    void getComments_Tombstone() {
+        // given
+        Long postId = 1L;
+        CommentRowDto tombstone = createCommentRow(12L, 1L);
+        tombstone.setContent(null);
+        tombstone.setReplyCount(2);
+        tombstone.setDeletedAt(new Timestamp(1000L));
+        when(commentPageCache.findPage(postId, 11L, 2)).thenReturn(Optional.of(
+                new SliceImpl<>(List.of(tombstone), PageRequest.of(0, 2), false)));
+
+        // when
+        CommentResponseDto response = commentService.getCommentsByPostId(postId, 11, 2, 1L).getCommentList().get(0);
+
+        // then
+        assertThat(response.getIsDeleted()).isTrue();
+        assertThat(response.getUser()).isNull();
+        assertThat(response.getIsAuthor()).isFalse();
+        assertThat(response.getReplyCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("댓글 목록 조회 - 첫 페이지 캐시 miss 면 window 만큼 조회해서 적재")
+    void getComments_CacheMiss_LoadsWindow() {
+        // given
+        Long postId = 1L;
+        List<CommentRowDto> rows = List.of(createCommentRow(10L, 1L), createCommentRow(11L, 2L), createCommentRow(12L, 1L));
+        when(commentPageCache.getWindowSize()).thenReturn(3);
+        when(commentPageCache.generation(postId)).thenReturn("7");
+        when(commentRepository.findCommentPage(postId, null, 3, 0)).thenReturn(new SliceImpl<>(rows, PageRequest.of(0, 3), false));
+
+        // when
+        CommentPageResponseDto response = commentService.getCommentsByPostId(postId, null, 2, 1L);
+
+        // then
+        assertThat(response.getCommentList()).extracting(CommentResponseDto::getCommentId).containsExactly(10L, 11L);
+        assertThat(response.getCursor().isHasNext()).isTrue();
+        verify(commentPageCache, times(1)).load(postId, "7", rows, false);
+    }
+
+    @Test
+    @DisplayName("답글 목록 조회 - 실패 (댓글을 찾을 수 없음)")
+    void getReplies_Fail_CommentNotFound() {
+        // given
+        Long commentId = 999L;
+        when(commentRepository.findReplyPage(commentId, null, 20)).thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+        when(commentRepository.existsById(commentId)).thenReturn(false);
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> commentService.getReplies(commentId, null, 20, 1L));
     }
 }
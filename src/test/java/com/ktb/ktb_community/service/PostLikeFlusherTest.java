@@ -0,0 +1,169 @@
+package com.ktb.ktb_community.service;
+
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostLikeStore.LikeShard;
+import com.ktb.ktb_community.dto.PostCountsDto;
+import com.ktb.ktb_community.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeFlusherTest {
+
+    private static final LikeShard SHARD = new LikeShard(10L, null);
+
+    @InjectMocks
+    private PostLikeFlusher postLikeFlusher;
+
+    @Mock
+    private PostLikeStore postLikeStore;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postLikeFlusher, "batchSize", 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runInTransaction() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private Map<Long, Boolean> pending(Object... userIdAndLiked) {
+        Map<Long, Boolean> pending = new LinkedHashMap<>();
+        for (int i = 0; i < userIdAndLiked.length; i += 2) {
+            pending.put((Long) userIdAndLiked[i], (Boolean) userIdAndLiked[i + 1]);
+        }
+        return pending;
+    }
+
+    @Test
+    @DisplayName("좋아요 flush - batch-size 단위 여러 행 INSERT/DELETE, 카운터는 실제 변경 행 수만큼")
+    void flush_MultiRowStatements() {
+        // given
+        Map<Long, Boolean> pending = pending(1L, true, 2L, true, 3L, true, 4L, false);
+        when(postLikeStore.getDirtyShards()).thenReturn(List.of(SHARD));
+        when(postRepository.findCountsByPostIdIn(Set.of(10L))).thenReturn(List.of(new PostCountsDto(10L, 0, 0, 0)));
+        when(postLikeStore.getPending(SHARD)).thenReturn(pending);
+        runInTransaction();
+        //INSERT 2번 (2행 + 1행) 중 실제 추가 1행씩, DELETE 1행 -> 카운터 +1
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        // when
+        postLikeFlusher.flush();
+
+        // then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(startsWith("insert ignore"), any(Object[].class));
+        verify(jdbcTemplate, times(1)).update(startsWith("delete"), any(Object[].class));
+        verify(jdbcTemplate).update(sql.capture(), eq(1), eq(10L));
+        assertThat(sql.getValue()).startsWith("update post set like_count");
+        verify(postLikeStore, times(1)).acknowledge(SHARD, pending);
+    }
+
+    @Test
+    @DisplayName("좋아요 flush - 삭제된 게시글의 변경은 DB 에 반영하지 않고 버림")
+    void flush_DeletedPost_Discarded() {
+        // given
+        Map<Long, Boolean> pending = pending(1L, true);
+        when(postLikeStore.getDirtyShards()).thenReturn(List.of(SHARD));
+        when(postRepository.findCountsByPostIdIn(Set.of(10L))).thenReturn(List.of());
+        when(postLikeStore.getPending(SHARD)).thenReturn(pending);
+
+        // when
+        postLikeFlusher.flush();
+
+        // then
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+        verify(postLikeStore, times(1)).acknowledge(SHARD, pending);
+    }
+
+    @Test
+    @DisplayName("좋아요 flush - DB 반영에 실패하면 pending 을 지우지 않고 다음 주기에 재시도")
+    void flush_FailureKeepsPending() {
+        // given
+        when(postLikeStore.getDirtyShards()).thenReturn(List.of(SHARD));
+        when(postRepository.findCountsByPostIdIn(Set.of(10L))).thenReturn(List.of(new PostCountsDto(10L, 0, 0, 0)));
+        when(postLikeStore.getPending(SHARD)).thenReturn(pending(1L, true));
+        doThrow(new DataAccessResourceFailureException("db down")).when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        postLikeFlusher.flush();
+
+        // then
+        verify(postLikeStore, never()).acknowledge(any(), any());
+    }
+
+    @Test
+    @DisplayName("좋아요 flush - 반영할 변경이 없으면 DB 조회 없음")
+    void flush_NothingDirty() {
+        // given
+        when(postLikeStore.getDirtyShards()).thenReturn(List.of());
+
+        // when
+        postLikeFlusher.flush();
+
+        // then
+        verifyNoInteractions(postRepository, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("좋아요 flush - stripe 모드 게시글은 stripe 별로 반영하고 게시글 조회는 한 번")
+    void flush_StripedPost_PerStripe() {
+        // given
+        LikeShard stripe0 = new LikeShard(10L, 0);
+        LikeShard stripe1 = new LikeShard(10L, 1);
+        Map<Long, Boolean> pending0 = pending(2L, true);
+        Map<Long, Boolean> pending1 = pending(3L, false);
+        when(postLikeStore.getDirtyShards()).thenReturn(List.of(stripe0, stripe1));
+        when(postRepository.findCountsByPostIdIn(Set.of(10L))).thenReturn(List.of(new PostCountsDto(10L, 0, 0, 0)));
+        when(postLikeStore.getPending(stripe0)).thenReturn(pending0);
+        when(postLikeStore.getPending(stripe1)).thenReturn(pending1);
+        runInTransaction();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        // when
+        postLikeFlusher.flush();
+
+        // then
+        verify(postRepository, times(1)).findCountsByPostIdIn(Set.of(10L));
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(postLikeStore).acknowledge(stripe0, pending0);
+        verify(postLikeStore).acknowledge(stripe1, pending1);
+    }
+}
@@ -1,28 +1,32 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.cache.HotPostDetector;
+import com.ktb.ktb_community.common.cache.LikedPostCache;
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
 import com.ktb.ktb_community.dto.PostLikeResponseDto;
-import com.ktb.ktb_community.entity.Post;
-import com.ktb.ktb_community.entity.PostLike;
-import com.ktb.ktb_community.entity.User;
-import com.ktb.ktb_community.exception.DuplicatedException;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.PostLikeRepository;
 import com.ktb.ktb_community.repository.PostRepository;
-import com.ktb.ktb_community.repository.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,42 +39,133 @@ class PostLikeServiceTest {
     private PostRepository postRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PostLikeRepository postLikeRepository;
 
     @Mock
-    private PostLikeRepository postLikeRepository;
+    private PostLikeStore postLikeStore;
+
+    @Mock
+    private HotPostDetector hotPostDetector;
+
+    @Mock
+    private LikedPostCache likedPostCache;
+
+    @Mock
+    private PostVersionStore postVersionStore;
+
+    @Mock
+    private PostTrendingIndex postTrendingIndex;
+
+    @Mock
+    private PostEventHub postEventHub;
+
+    @Test
+    @DisplayName("좋아요 추가 - 좋아요 set 이 적재된 게시글은 Redis 에만 기록 (DB 는 flush 에서 반영)")
+    void createLike_WriteBehind() {
+        // given
+        Long postId = 1L;
+
+        when(postLikeStore.toggle(postId, 1L, true)).thenReturn(Optional.of(new PostLikeStore.Toggle(true, 11)));
+
+        // when
+        PostLikeResponseDto response = postLikeService.createLike(postId, 1L);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(11);
+        assertThat(response.getIsLiked()).isTrue();
+        verifyNoInteractions(postLikeRepository, postRepository);
+        verify(postEventHub, times(1)).publishLikeCount(postId, 11);
+        verify(postVersionStore, times(1)).bump(postId);
+        verify(hotPostDetector, times(1)).record(postId);
+        verify(postTrendingIndex, times(1)).liked(postId, true);
+    }
+
+    @Test
+    @DisplayName("좋아요 추가 - 좋아요 set 이 없으면 DB 의 좋아요 목록으로 적재 후 기록")
+    void createLike_LoadsLikersThenWrites() {
+        // given
+        Long postId = 1L;
+
+        when(postLikeStore.toggle(postId, 1L, true))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new PostLikeStore.Toggle(true, 3)));
+        when(postLikeStore.generation(postId)).thenReturn("0");
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(postLikeRepository.findUserIdsByPostId(postId)).thenReturn(List.of(2L, 3L));
+        when(postLikeStore.load(postId, "0", List.of(2L, 3L))).thenReturn(true);
+
+        // when
+        PostLikeResponseDto response = postLikeService.createLike(postId, 1L);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(3);
+        verify(postLikeRepository, never()).insertIgnore(anyLong(), anyLong());
+        verify(postRepository, never()).incrementLikeCount(anyLong());
+    }
+
+    @Test
+    @DisplayName("좋아요 추가 - stripe 모드에서 다른 stripe 가 적재되지 않았으면 적재 후 합계 반환")
+    void createLike_Striped_LoadsOtherStripes() {
+        // given
+        Long postId = 1L;
+
+        when(postLikeStore.toggle(postId, 1L, true)).thenReturn(Optional.of(new PostLikeStore.Toggle(true, -1)));
+        when(postLikeStore.generation(postId)).thenReturn("8:0,0,0,0,0,0,0,0");
+        when(postRepository.existsById(postId)).thenReturn(true);
+        when(postLikeRepository.findUserIdsByPostId(postId)).thenReturn(List.of(2L, 3L));
+        when(postLikeStore.load(postId, "8:0,0,0,0,0,0,0,0", List.of(2L, 3L))).thenReturn(true);
+        when(postLikeStore.getState(1L, postId)).thenReturn(Optional.of(new PostLikeStore.LikeState(3, true)));
+
+        // when
+        PostLikeResponseDto response = postLikeService.createLike(postId, 1L);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(3);
+        verify(postEventHub, times(1)).publishLikeCount(postId, 3);
+        verify(postLikeStore, times(1)).toggle(postId, 1L, true);
+    }
+
+    @Test
+    @DisplayName("좋아요 추가 - 좋아요 set 적재 시 게시글이 없으면 실패")
+    void createLike_LoadFails_PostNotFound() {
+        // given
+        Long postId = 999L;
+
+        when(postLikeStore.generation(postId)).thenReturn("0");
+        when(postRepository.existsById(postId)).thenReturn(false);
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> postLikeService.createLike(postId, 1L));
+        verify(postLikeStore, never()).load(anyLong(), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("좋아요 취소 - 이미 취소된 좋아요는 변경 없이 현재 상태 반환")
+    void deleteLike_WriteBehind_Idempotent() {
+        // given
+        Long postId = 1L;
 
-    private User user;
-    private Post post;
-
-    @BeforeEach
-    void setUp() {
-        user = User.builder()
-                .email("test@test.com")
-                .password("password")
-                .nickname("testuser")
-                .build();
-        ReflectionTestUtils.setField(user, "userId", 1L);
-
-        post = Post.builder()
-                .title("테스트 제목")
-                .content("테스트 내용")
-                .user(user)
-                .build();
-        ReflectionTestUtils.setField(post, "postId", 1L);
+        when(postLikeStore.toggle(postId, 1L, false)).thenReturn(Optional.of(new PostLikeStore.Toggle(false, 4)));
+
+        // when
+        PostLikeResponseDto response = postLikeService.deleteLike(postId, 1L);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(4);
+        assertThat(response.getIsLiked()).isFalse();
+        verify(postVersionStore, never()).bump(anyLong());
+        verify(postEventHub, never()).publishLikeCount(anyLong(), anyInt());
     }
 
     @Test
-    @DisplayName("좋아요 추가 - 성공")
+    @DisplayName("좋아요 추가 - Redis 를 쓸 수 없으면 DB 에 insert ignore + 카운터 증가")
     void createLike_Success() {
         // given
         Long postId = 1L;
-        String userId = "1";
+        Long userId = 1L;
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.empty());
-        when(postLikeRepository.countByPost_PostId(postId)).thenReturn(10);
+        when(postLikeRepository.insertIgnore(postId, 1L)).thenReturn(1);
+        when(postRepository.findLikeCountByPostId(postId)).thenReturn(Optional.of(10));
 
         // when
         PostLikeResponseDto response = postLikeService.createLike(postId, userId);
@@ -78,24 +173,45 @@ class PostLikeServiceTest {
         // then
         assertThat(response.getLikeCount()).isEqualTo(10);
         assertThat(response.getIsLiked()).isTrue();
-        verify(postLikeRepository, times(1)).save(any(PostLike.class));
+        verify(postRepository, times(1)).incrementLikeCount(postId);
+        verify(postEventHub, times(1)).publishLikeCount(postId, 10);
+        verify(likedPostCache, times(1)).put(1L, postId, true);
+        verify(postVersionStore, times(1)).bump(postId);
     }
 
     @Test
-    @DisplayName("좋아요 추가 - 실패 (이미 좋아요 누름)")
-    void createLike_Fail_AlreadyLiked() {
+    @DisplayName("좋아요 추가 - 이미 좋아요 누른 경우 카운터 변경 없이 현재 상태 반환")
+    void createLike_AlreadyLiked_Idempotent() {
         // given
         Long postId = 1L;
-        String userId = "1";
-        PostLike existingLike = PostLike.builder().post(post).user(user).build();
+        Long userId = 1L;
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.of(existingLike));
+        when(postLikeRepository.insertIgnore(postId, 1L)).thenReturn(0);
+        when(postRepository.findLikeCountByPostId(postId)).thenReturn(Optional.of(10));
+
+        // when
+        PostLikeResponseDto response = postLikeService.createLike(postId, userId);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(10);
+        assertThat(response.getIsLiked()).isTrue();
+        verify(postRepository, never()).incrementLikeCount(anyLong());
+        verify(postVersionStore, never()).bump(anyLong());
+        verify(postEventHub, never()).publishLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("좋아요 추가 - 실패 (게시글을 찾을 수 없음)")
+    void createLike_Fail_PostNotFound() {
+        // given
+        Long postId = 999L;
+
+        when(postLikeRepository.insertIgnore(postId, 1L)).thenReturn(0);
+        when(postRepository.findLikeCountByPostId(postId)).thenReturn(Optional.empty());
 
         // when & then
-        assertThrows(DuplicatedException.class, () -> postLikeService.createLike(postId, userId));
-        verify(postLikeRepository, never()).save(any(PostLike.class));
+        assertThrows(NotFoundException.class, () -> postLikeService.createLike(postId, 1L));
+        verify(likedPostCache, never()).put(anyLong(), anyLong(), anyBoolean());
     }
 
     @Test
@@ -103,13 +219,10 @@ class PostLikeServiceTest {
     void deleteLike_Success() {
         // given
         Long postId = 1L;
-        String userId = "1";
-        PostLike existingLike = PostLike.builder().post(post).user(user).build();
+        Long userId = 1L;
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.of(existingLike));
-        when(postLikeRepository.countByPost_PostId(postId)).thenReturn(9);
+        when(postLikeRepository.deleteByPostIdAndUserId(postId, 1L)).thenReturn(1);
+        when(postRepository.findLikeCountByPostId(postId)).thenReturn(Optional.of(9));
 
         // when
         PostLikeResponseDto response = postLikeService.deleteLike(postId, userId);
@@ -117,22 +230,28 @@ class PostLikeServiceTest {
         // then
         assertThat(response.getLikeCount()).isEqualTo(9);
         assertThat(response.getIsLiked()).isFalse();
-        verify(postLikeRepository, times(1)).delete(existingLike);
+        verify(postRepository, times(1)).decrementLikeCount(postId);
+        verify(likedPostCache, times(1)).put(1L, postId, false);
+        verify(postEventHub, times(1)).publishLikeCount(postId, 9);
     }
 
     @Test
-    @DisplayName("좋아요 취소 - 실패 (좋아요를 누른 적 없음)")
-    void deleteLike_Fail_LikeNotFound() {
+    @DisplayName("좋아요 취소 - 좋아요를 누른 적 없으면 카운터 변경 없이 현재 상태 반환")
+    void deleteLike_NotLiked_Idempotent() {
         // given
         Long postId = 1L;
-        String userId = "1";
+        Long userId = 1L;
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.empty());
+        when(postLikeRepository.deleteByPostIdAndUserId(postId, 1L)).thenReturn(0);
+        when(postRepository.findLikeCountByPostId(postId)).thenReturn(Optional.of(9));
 
-        // when & then
-        assertThrows(NotFoundException.class, () -> postLikeService.deleteLike(postId, userId));
-        verify(postLikeRepository, never()).delete(any(PostLike.class));
+        // when
+        PostLikeResponseDto response = postLikeService.deleteLike(postId, userId);
+
+        // then
+        assertThat(response.getLikeCount()).isEqualTo(9);
+        assertThat(response.getIsLiked()).isFalse();
+        verify(postRepository, never()).decrementLikeCount(anyLong());
+        verify(postVersionStore, never()).bump(anyLong());
     }
 }
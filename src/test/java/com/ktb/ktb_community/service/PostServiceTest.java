@@ -1,13 +1,31 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.cache.CachedPostDetail;
+import com.ktb.ktb_community.common.cache.CachedPostSummary;
+import com.ktb.ktb_community.batch.PostCascadeDeleteLauncher;
+import com.ktb.ktb_community.common.cache.CommentPageCache;
+import com.ktb.ktb_community.common.cache.LikedPostCache;
+import com.ktb.ktb_community.common.cache.PostDetailCache;
+import com.ktb.ktb_community.common.cache.PostFeedIndex;
+import com.ktb.ktb_community.common.cache.PostLikeStore;
+import com.ktb.ktb_community.common.cache.PostSummaryCache;
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.dto.PostFeedDto;
+import com.ktb.ktb_community.dto.PostLiveDto;
 import com.ktb.ktb_community.dto.PostPageResponseDto;
 import com.ktb.ktb_community.dto.PostRequestDto;
 import com.ktb.ktb_community.dto.PostResponseDto;
 import com.ktb.ktb_community.entity.Post;
+import com.ktb.ktb_community.entity.PostBody;
 import com.ktb.ktb_community.entity.User;
+import com.ktb.ktb_community.event.PostEventHub;
 import com.ktb.ktb_community.exception.NoPermissionException;
 import com.ktb.ktb_community.exception.NotFoundException;
 import com.ktb.ktb_community.repository.*;
+import com.ktb.ktb_community.search.PostSearchIndex;
+import com.ktb.ktb_community.search.PostSearchIndexer;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,22 +33,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,15 +69,54 @@ class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
-    @Mock
-    private CommentRepository commentRepository;
-
     @Mock
     private PostLikeRepository postLikeRepository;
 
     @Mock
     private PostImageRepository postImageRepository;
 
+    @Mock
+    private PostBodyRepository postBodyRepository;
+
+    @Mock
+    private ViewCountService viewCountService;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Mock
+    private PostFeedIndex postFeedIndex;
+
+    @Mock
+    private PostTrendingIndex postTrendingIndex;
+
+    @Mock
+    private PostSummaryCache postSummaryCache;
+
+    @Mock
+    private LikedPostCache likedPostCache;
+
+    @Mock
+    private PostLikeStore postLikeStore;
+
+    @Mock
+    private PostVersionStore postVersionStore;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PostSearchIndexer postSearchIndexer;
+
+    @Mock
+    private CommentPageCache commentPageCache;
+
+    @Mock
+    private PostCascadeDeleteLauncher postCascadeDeleteLauncher;
+
+    @Mock
+    private PostEventHub postEventHub;
+
     private User user;
     private Post post;
 
@@ -85,12 +148,11 @@ class PostServiceTest {
     @DisplayName("게시글 생성 - 성공")
     void createPost_Success() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         PostRequestDto requestDto = createPostRequestDto("테스트 제목", "테스트 내용");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(postRepository.save(any(Post.class))).thenReturn(post);
-        lenient().when(commentRepository.countByPost_PostId(anyLong())).thenReturn(0);
 
         // when
         PostResponseDto responseDto = postService.create(requestDto, userId);
@@ -100,23 +162,43 @@ class PostServiceTest {
         assertThat(responseDto.getTitle()).isEqualTo("테스트 제목");
         assertThat(responseDto.getContent()).isEqualTo("테스트 내용");
         assertThat(responseDto.getIsAuthor()).isTrue();
+        assertThat(responseDto.getUser()).isNull();
 
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findById(anyLong());
         verify(postRepository, times(1)).save(any(Post.class));
+        verify(postBodyRepository, times(1)).save(any(PostBody.class));
+        verify(postSearchIndexer, times(1)).indexed(any(), eq("테스트 제목"), eq("테스트 내용"));
     }
 
     @Test
     @DisplayName("게시글 생성 - 실패 (사용자를 찾을 수 없음)")
     void createPost_Fail_UserNotFound() {
         // given
-        String userId = "999";
+        Long userId = 999L;
+        PostRequestDto requestDto = createPostRequestDto("테스트 제목", "테스트 내용");
+
+        when(userRepository.getReferenceById(999L)).thenReturn(user);
+        //작성자 행이 없으면 INSERT 가 작성자 FK 위반
+        when(postRepository.save(any(Post.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation", new SQLException(), "fk_post_user")));
+
+        // when & then
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> postService.create(requestDto, userId));
+        assertThat(exception.getMessage()).isEqualTo("USER_NOT_FOUND");
+        verify(postBodyRepository, never()).save(any(PostBody.class));
+    }
+
+    @Test
+    @DisplayName("게시글 생성 - 작성자 FK 가 아닌 제약 위반 (길이 초과 등) 은 그대로 전달")
+    void createPost_Fail_OtherConstraint() {
+        // given
         PostRequestDto requestDto = createPostRequestDto("테스트 제목", "테스트 내용");
 
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(postRepository.save(any(Post.class))).thenThrow(new DataIntegrityViolationException("value too long"));
 
         // when & then
-        assertThrows(NotFoundException.class, () -> postService.create(requestDto, userId));
-        verify(postRepository, never()).save(any(Post.class));
+        assertThrows(DataIntegrityViolationException.class, () -> postService.create(requestDto, 1L));
     }
 
     @Test
@@ -124,14 +206,15 @@ class PostServiceTest {
     void getPostById_Success() {
         // given
         Long postId = 1L;
-        String userId = "1";
-        Post spyPost = spy(post);
+        Long userId = 1L;
+        ReflectionTestUtils.setField(post, "likeCount", 5);
+        ReflectionTestUtils.setField(post, "commentCount", 3);
+        when(viewCountService.getPendingCount(postId)).thenReturn(2L);
 
-        when(postRepository.findById(postId)).thenReturn(Optional.of(spyPost));
-        when(postLikeRepository.countByPost_PostId(postId)).thenReturn(5);
+        when(postRepository.findDetailByPostId(postId)).thenReturn(Optional.of(post));
+        when(postBodyRepository.findById(postId)).thenReturn(Optional.of(new PostBody(post, "테스트 내용 전체")));
         when(postImageRepository.findAllByPost_PostId(postId)).thenReturn(Collections.emptyList());
         when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.empty());
-        when(commentRepository.countByPost_PostId(postId)).thenReturn(3);
 
         // when
         PostResponseDto responseDto = postService.getPostById(postId, userId);
@@ -139,10 +222,92 @@ class PostServiceTest {
         // then
         assertThat(responseDto).isNotNull();
         assertThat(responseDto.getPostId()).isEqualTo(postId);
+        assertThat(responseDto.getContent()).isEqualTo("테스트 내용 전체");
         assertThat(responseDto.getLikeCount()).isEqualTo(5);
         assertThat(responseDto.getCommentCount()).isEqualTo(3);
         assertThat(responseDto.getIsAuthor()).isTrue();
-        verify(spyPost, times(1)).incrementViewCount();
+        assertThat(responseDto.getViewCount()).isEqualTo(2);
+        verify(viewCountService, times(1)).increment(postId);
+        verify(postDetailCache, times(1)).put(any(CachedPostDetail.class), any());
+    }
+
+    @Test
+    @DisplayName("게시글 단건 조회 - 본문 테이블이 없는 기존 게시글은 preview 사용")
+    void getPostById_LegacyPostWithoutBody() {
+        // given
+        Long postId = 1L;
+
+        when(postRepository.findDetailByPostId(postId)).thenReturn(Optional.of(post));
+        when(postBodyRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postImageRepository.findAllByPost_PostId(postId)).thenReturn(Collections.emptyList());
+        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 1L)).thenReturn(Optional.empty());
+
+        // when
+        PostResponseDto responseDto = postService.getPostById(postId, 1L);
+
+        // then
+        assertThat(responseDto.getContent()).isEqualTo(post.getPreview());
+    }
+
+    @Test
+    @DisplayName("게시글 단건 조회 - 캐시 히트 시 카운터, 작성자 프로필만 조회")
+    void getPostById_CacheHit() {
+        // given
+        Long postId = 1L;
+        Long userId = 2L;
+        CachedPostDetail detail = CachedPostDetail.of(post, "테스트 내용", Collections.emptyList());
+
+        when(postDetailCache.get(postId)).thenReturn(Optional.of(detail));
+        //캐시 이후 작성자가 닉네임을 바꿈
+        when(postRepository.findLiveByPostId(postId)).thenReturn(Optional.of(
+                new PostLiveDto(postId, 10, 5, 3, user.getEmail(), "바뀐닉네임", null)));
+        when(postLikeRepository.findByPost_PostIdAndUser_UserId(postId, 2L)).thenReturn(Optional.empty());
+
+        // when
+        PostResponseDto responseDto = postService.getPostById(postId, userId);
+
+        // then
+        assertThat(responseDto.getTitle()).isEqualTo("테스트 제목");
+        assertThat(responseDto.getViewCount()).isEqualTo(10);
+        assertThat(responseDto.getLikeCount()).isEqualTo(5);
+        assertThat(responseDto.getCommentCount()).isEqualTo(3);
+        assertThat(responseDto.getIsAuthor()).isFalse();
+        assertThat(responseDto.getIsLiked()).isFalse();
+        assertThat(responseDto.getUser().getNickname()).isEqualTo("바뀐닉네임");
+        verify(postRepository, never()).findDetailByPostId(anyLong());
+        verify(postImageRepository, never()).findAllByPost_PostId(anyLong());
+    }
+
+    @Test
+    @DisplayName("게시글 단건 조회 - 좋아요 set 이 적재된 게시글은 Redis 의 좋아요 수, 여부 사용")
+    void getPostById_LikeStateFromStore() {
+        // given
+        Long postId = 1L;
+        CachedPostDetail detail = CachedPostDetail.of(post, "테스트 내용", Collections.emptyList());
+
+        when(postDetailCache.get(postId)).thenReturn(Optional.of(detail));
+        when(postRepository.findLiveByPostId(postId)).thenReturn(Optional.of(createLive(postId, 10, 5, 3)));
+        when(postLikeStore.getState(2L, postId)).thenReturn(Optional.of(new PostLikeStore.LikeState(42, true)));
+
+        // when
+        PostResponseDto responseDto = postService.getPostById(postId, 2L);
+
+        // then
+        assertThat(responseDto.getLikeCount()).isEqualTo(42);
+        assertThat(responseDto.getIsLiked()).isTrue();
+        verify(postLikeRepository, never()).findByPost_PostIdAndUser_UserId(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("게시글 단건 조회 - 캐시 히트지만 삭제된 게시글")
+    void getPostById_CacheHit_PostDeleted() {
+        // given
+        Long postId = 1L;
+        when(postDetailCache.get(postId)).thenReturn(Optional.of(CachedPostDetail.of(post, "테스트 내용", Collections.emptyList())));
+        when(postRepository.findLiveByPostId(postId)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> postService.getPostById(postId, 1L));
     }
 
     @Test
@@ -150,33 +315,56 @@ class PostServiceTest {
     void getPostById_Fail_PostNotFound() {
         // given
         Long postId = 999L;
-        String userId = "1";
+        Long userId = 1L;
 
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postRepository.findDetailByPostId(postId)).thenReturn(Optional.empty());
 
         // when & then
         assertThrows(NotFoundException.class, () -> postService.getPostById(postId, userId));
     }
 
     @Test
-    @DisplayName("게시글 수정 - 성공")
+    @DisplayName("게시글 수정 - 성공 (조건부 UPDATE, 엔티티 로딩 없음)")
     void updatePost_Success() {
         // given
         Long postId = 1L;
-        String userId = "1";
-        Post spyPost = spy(post);
+        Long userId = 1L;
         PostRequestDto requestDto = createPostRequestDto("수정된 제목", "수정된 내용");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(spyPost));
-        when(postRepository.save(any(Post.class))).thenReturn(spyPost);
+        when(postRepository.updateByOwner(eq(postId), eq(1L), eq("수정된 제목"), eq("수정된 내용"), any())).thenReturn(1);
+        when(postBodyRepository.updateContent(postId, "수정된 내용")).thenReturn(1);
+        when(postRepository.findFeedByIds(List.of(postId))).thenReturn(List.of(createFeedRow(postId)));
 
         // when
-        postService.updatePost(requestDto, postId, userId);
+        PostResponseDto responseDto = postService.updatePost(requestDto, postId, userId);
 
         // then
-        verify(spyPost, times(1)).update("수정된 제목", "수정된 내용");
-        verify(postRepository, times(1)).save(spyPost);
+        assertThat(responseDto.getContent()).isEqualTo("수정된 내용");
+        assertThat(responseDto.getUser().getNickname()).isEqualTo(user.getNickname());
+        verify(postBodyRepository, never()).save(any(PostBody.class));
+        verify(postDetailCache, times(1)).evict(postId);
+        verify(postVersionStore, times(1)).bump(postId);
+        verifyNoInteractions(userRepository);
+        verify(postRepository, never()).findDetailByPostId(any());
+    }
+
+    @Test
+    @DisplayName("게시글 수정 - 본문 행이 없는 기존 게시글은 본문 새로 저장")
+    void updatePost_LegacyPostWithoutBody() {
+        // given
+        Long postId = 1L;
+        PostRequestDto requestDto = createPostRequestDto("수정된 제목", "수정된 내용");
+
+        when(postRepository.updateByOwner(eq(postId), eq(1L), any(), any(), any())).thenReturn(1);
+        when(postBodyRepository.updateContent(postId, "수정된 내용")).thenReturn(0);
+        when(postRepository.getReferenceById(postId)).thenReturn(post);
+        when(postRepository.findFeedByIds(List.of(postId))).thenReturn(List.of(createFeedRow(postId)));
+
+        // when
+        postService.updatePost(requestDto, postId, 1L);
+
+        // then
+        verify(postBodyRepository, times(1)).save(argThat(body -> body.getContent().equals("수정된 내용")));
     }
 
     @Test
@@ -184,15 +372,15 @@ class PostServiceTest {
     void updatePost_Fail_PostNotFound() {
         // given
         Long postId = 999L;
-        String userId = "1";
+        Long userId = 1L;
         PostRequestDto requestDto = createPostRequestDto("수정된 제목", "수정된 내용");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postRepository.updateByOwner(eq(postId), eq(1L), any(), any(), any())).thenReturn(0);
+        when(postRepository.findOwnerIdByPostId(postId)).thenReturn(Optional.empty());
 
         // when & then
         assertThrows(NotFoundException.class, () -> postService.updatePost(requestDto, postId, userId));
-        verify(postRepository, never()).save(any(Post.class));
+        verify(postBodyRepository, never()).updateContent(any(), any());
     }
 
     @Test
@@ -200,17 +388,15 @@ class PostServiceTest {
     void updatePost_Fail_NoPermission() {
         // given
         Long postId = 1L;
-        User otherUser = User.builder().email("other@test.com").password("p").nickname("other").build();
-        ReflectionTestUtils.setField(otherUser, "userId", 2L);
-        String otherUserId = "2";
+        Long otherUserId = 2L;
         PostRequestDto requestDto = createPostRequestDto("수정된 제목", "수정된 내용");
 
-        when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+        when(postRepository.updateByOwner(eq(postId), eq(2L), any(), any(), any())).thenReturn(0);
+        when(postRepository.findOwnerIdByPostId(postId)).thenReturn(Optional.of(1L));
 
         // when & then
         assertThrows(NoPermissionException.class, () -> postService.updatePost(requestDto, postId, otherUserId));
-        verify(postRepository, never()).save(any(Post.class));
+        verify(postDetailCache, never()).evict(any());
     }
 
     @Test
@@ -218,16 +404,23 @@ class PostServiceTest {
     void deletePost_Success() {
         // given
         Long postId = 1L;
-        String userId = "1";
+        Long userId = 1L;
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.softDeleteByOwner(eq(postId), eq(1L), any())).thenReturn(1);
 
         // when
         postService.deletePostById(postId, userId);
 
         // then
-        verify(postRepository, times(1)).delete(post);
+        verify(postCascadeDeleteLauncher, times(1)).launchAfterCommit(postId);
+        verify(postRepository, never()).delete(any(Post.class));
+        verify(postRepository, never()).findOwnerIdByPostId(any());
+        verify(postDetailCache, times(1)).evict(postId);
+        verify(postSummaryCache, times(1)).evict(postId);
+        verify(postFeedIndex, times(1)).remove(postId);
+        verify(postTrendingIndex, times(1)).remove(postId);
+        verify(postSearchIndexer, times(1)).removed(postId);
+        verify(commentPageCache, times(1)).evict(postId);
     }
 
     @Test
@@ -235,14 +428,14 @@ class PostServiceTest {
     void deletePost_Fail_PostNotFound() {
         // given
         Long postId = 999L;
-        String userId = "1";
+        Long userId = 1L;
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(postRepository.findById(postId)).thenReturn(Optional.empty());
+        when(postRepository.softDeleteByOwner(eq(postId), eq(1L), any())).thenReturn(0);
+        when(postRepository.findOwnerIdByPostId(postId)).thenReturn(Optional.empty());
 
         // when & then
         assertThrows(NotFoundException.class, () -> postService.deletePostById(postId, userId));
-        verify(postRepository, never()).delete(any(Post.class));
+        verify(postCascadeDeleteLauncher, never()).launchAfterCommit(any());
     }
 
     @Test
@@ -250,16 +443,24 @@ class PostServiceTest {
     void deletePost_Fail_NoPermission() {
         // given
         Long postId = 1L;
-        User otherUser = User.builder().email("other@test.com").password("p").nickname("other").build();
-        ReflectionTestUtils.setField(otherUser, "userId", 2L);
-        String otherUserId = "2";
+        Long otherUserId = 2L;
 
-        when(userRepository.findById(2L)).thenReturn(Optional.of(otherUser));
-        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+        when(postRepository.softDeleteByOwner(eq(postId), eq(2L), any())).thenReturn(0);
+        when(postRepository.findOwnerIdByPostId(postId)).thenReturn(Optional.of(1L));
 
         // when & then
         assertThrows(NoPermissionException.class, () -> postService.deletePostById(postId, otherUserId));
-        verify(postRepository, never()).delete(any(Post.class));
+        verify(postCascadeDeleteLauncher, never()).launchAfterCommit(any());
+    }
+
+    private PostLiveDto createLive(long postId, int viewCount, int likeCount, int commentCount) {
+        return new PostLiveDto(postId, viewCount, likeCount, commentCount,
+                user.getEmail(), user.getNickname(), user.getProfileImageUrl());
+    }
+
+    private PostFeedDto createFeedRow(long postId) {
+        return new PostFeedDto(postId, "t", "c", null, null, 0,
+                user.getEmail(), user.getNickname(), user.getProfileImageUrl(), 0, 0);
     }
 
     @Test
@@ -267,27 +468,24 @@ class PostServiceTest {
     void getPosts_FirstPage() {
         // given
         int size = 20;
-        PageRequest pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "postId"));
-        List<Post> posts = LongStream.rangeClosed(81, 100)
-                .mapToObj(i -> {
-                    Post p = Post.builder().title("t").content("c").user(user).build();
-                    ReflectionTestUtils.setField(p, "postId", i);
-                    return p;
-                })
+        List<PostFeedDto> rows = LongStream.rangeClosed(81, 100)
+                .mapToObj(this::createFeedRow)
                 .collect(Collectors.toList());
-        Collections.reverse(posts);
-        Slice<Post> postSlice = new SliceImpl<>(posts, pageable, true);
+        Collections.reverse(rows);
+        Slice<PostFeedDto> feedSlice = new SliceImpl<>(rows, PageRequest.of(0, size), true);
 
-        when(postRepository.findAllByOrderByPostIdDesc(pageable)).thenReturn(postSlice);
+        when(postRepository.findFeed(null, size)).thenReturn(feedSlice);
 
         // when
-        PostPageResponseDto response = postService.getPosts(null, size);
+        PostPageResponseDto response = postService.getPosts(null, size, 1L);
 
         // then
         assertThat(response.getPostList().size()).isEqualTo(size);
         assertThat(response.getCursor().getNextCursor()).isEqualTo(81L);
         assertThat(response.getCursor().isHasNext()).isTrue();
-        verify(postRepository, times(1)).findAllByOrderByPostIdDesc(pageable);
+        verify(postRepository, times(1)).findFeed(null, size);
+        verify(postLikeRepository, times(1)).findLikedPostIds(eq(1L), anyList());
+        verify(postLikeRepository, never()).findByPost_PostIdAndUser_UserId(anyLong(), anyLong());
     }
 
     @Test
@@ -296,19 +494,18 @@ class PostServiceTest {
         // given
         int cursor = 100;
         int size = 20;
-        PageRequest pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "postId"));
-        List<Post> posts = LongStream.rangeClosed(80, 99)
-                .mapToObj(i -> Post.builder().title("t").content("c").user(user).build())
+        List<PostFeedDto> rows = LongStream.rangeClosed(80, 99)
+                .mapToObj(this::createFeedRow)
                 .collect(Collectors.toList());
-        Slice<Post> postSlice = new SliceImpl<>(posts, pageable, true);
+        Slice<PostFeedDto> feedSlice = new SliceImpl<>(rows, PageRequest.of(0, size), true);
 
-        when(postRepository.findByPostIdLessThanOrderByPostIdDesc((long) cursor, pageable)).thenReturn(postSlice);
+        when(postRepository.findFeed((long) cursor, size)).thenReturn(feedSlice);
 
         // when
-        postService.getPosts(cursor, size);
+        postService.getPosts(cursor, size, 1L);
 
         // then
-        verify(postRepository, times(1)).findByPostIdLessThanOrderByPostIdDesc((long) cursor, pageable);
+        verify(postRepository, times(1)).findFeed((long) cursor, size);
     }
 
     @Test
@@ -317,18 +514,221 @@ class PostServiceTest {
         // given
         int cursor = 20;
         int size = 20;
-        PageRequest pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "postId"));
-        List<Post> posts = LongStream.rangeClosed(1, 19)
-                .mapToObj(i -> Post.builder().title("t").content("c").user(user).build())
+        List<PostFeedDto> rows = LongStream.rangeClosed(1, 19)
+                .mapToObj(this::createFeedRow)
                 .collect(Collectors.toList());
-        Slice<Post> postSlice = new SliceImpl<>(posts, pageable, false);
+        Slice<PostFeedDto> feedSlice = new SliceImpl<>(rows, PageRequest.of(0, size), false);
 
-        when(postRepository.findByPostIdLessThanOrderByPostIdDesc((long) cursor, pageable)).thenReturn(postSlice);
+        when(postRepository.findFeed((long) cursor, size)).thenReturn(feedSlice);
 
         // when
-        PostPageResponseDto response = postService.getPosts(cursor, size);
+        PostPageResponseDto response = postService.getPosts(cursor, size, 1L);
 
         // then
         assertThat(response.getCursor().isHasNext()).isFalse();
     }
+
+    @Test
+    @DisplayName("게시글 목록 조회 (페이징) - 피드 인덱스 사용, 요약 캐시 미스만 DB 조회")
+    void getPosts_FromIndex() {
+        // given
+        int size = 2;
+        CachedPostSummary cachedSummary = CachedPostSummary.of(createFeedRow(100L));
+
+        when(postFeedIndex.findPage(null, size + 1)).thenReturn(Optional.of(List.of(100L, 99L, 98L)));
+        when(postSummaryCache.getAll(List.of(100L, 99L))).thenReturn(Map.of(100L, cachedSummary));
+        when(postSummaryCache.generations(List.of(99L))).thenReturn(Map.of(99L, "0"));
+        when(postRepository.findFeedByIds(List.of(99L))).thenReturn(List.of(createFeedRow(99L)));
+        //요약 캐시 이후 작성자가 닉네임을 바꿈
+        when(postRepository.findLiveByPostIdIn(List.of(100L, 99L))).thenReturn(List.of(
+                new PostLiveDto(100L, 10, 5, 3, user.getEmail(), "바뀐닉네임", null),
+                createLive(99L, 1, 0, 0)));
+
+        // when
+        PostPageResponseDto response = postService.getPosts(null, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getPostId).containsExactly(100L, 99L);
+        assertThat(response.getPostList().get(0).getLikeCount()).isEqualTo(5);
+        assertThat(response.getPostList().get(0).getUser().getNickname()).isEqualTo("바뀐닉네임");
+        assertThat(response.getCursor().getNextCursor()).isEqualTo(99L);
+        assertThat(response.getCursor().isHasNext()).isTrue();
+        verify(postSummaryCache, times(1)).putAll(anyList(), eq(Map.of(99L, "0")));
+        verify(postRepository, never()).findFeed(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("인기 게시글 목록 조회 - 랭킹 순서대로, 다음 cursor 는 마지막 게시글의 점수와 id")
+    void getHotPosts_ScoreCursor() {
+        // given
+        int size = 2;
+        when(postTrendingIndex.findPage(12.5, 7L, size + 1)).thenReturn(Optional.of(List.of(
+                new PostTrendingIndex.Entry(3L, 12.5),
+                new PostTrendingIndex.Entry(9L, 8.0),
+                new PostTrendingIndex.Entry(4L, 8.0))));
+        when(postSummaryCache.getAll(List.of(3L, 9L))).thenReturn(Map.of());
+        when(postRepository.findFeedByIds(List.of(3L, 9L))).thenReturn(List.of(createFeedRow(3L), createFeedRow(9L)));
+        when(postRepository.findLiveByPostIdIn(List.of(3L, 9L))).thenReturn(List.of(
+                createLive(3L, 0, 0, 0),
+                createLive(9L, 0, 0, 0)));
+
+        // when
+        PostPageResponseDto response = postService.getHotPosts(12.5, 7, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getPostId).containsExactly(3L, 9L);
+        assertThat(response.getCursor().getNextCursor()).isEqualTo(9L);
+        assertThat(response.getCursor().getNextScore()).isEqualTo(8.0);
+        assertThat(response.getCursor().isHasNext()).isTrue();
+        verify(postFeedIndex, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("인기 게시글 목록 조회 - 랭킹을 읽을 수 없으면 최신순으로 응답")
+    void getHotPosts_FallbackToRecent() {
+        // given
+        int size = 1;
+        when(postTrendingIndex.findPage(null, null, size + 1)).thenReturn(Optional.empty());
+        when(postRepository.findFeed(null, size))
+                .thenReturn(new SliceImpl<>(List.of(createFeedRow(5L)), PageRequest.of(0, size), true));
+
+        // when
+        PostPageResponseDto response = postService.getHotPosts(null, null, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getPostId).containsExactly(5L);
+        assertThat(response.getCursor().getNextScore()).isNull();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 조회 (페이징) - 좋아요 여부는 캐시 미스만 IN 쿼리로 조회")
+    void getPosts_IsLiked() {
+        // given
+        int size = 3;
+        List<PostFeedDto> rows = List.of(createFeedRow(3L), createFeedRow(2L), createFeedRow(1L));
+        Slice<PostFeedDto> feedSlice = new SliceImpl<>(rows, PageRequest.of(0, size), false);
+
+        when(postRepository.findFeed(null, size)).thenReturn(feedSlice);
+        when(likedPostCache.getAll(1L, List.of(3L, 2L, 1L))).thenReturn(Map.of(3L, true));
+        when(postLikeRepository.findLikedPostIds(1L, List.of(2L, 1L))).thenReturn(List.of(1L));
+
+        // when
+        PostPageResponseDto response = postService.getPosts(null, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getIsLiked).containsExactly(true, false, true);
+        verify(likedPostCache, times(1)).fill(1L, Map.of(2L, false, 1L, true));
+    }
+
+    @Test
+    @DisplayName("게시글 목록 조회 (페이징) - 좋아요 set 이 적재된 게시글은 Redis 값으로 좋아요 수, 여부 덮어씀")
+    void getPosts_LikeStateFromStore() {
+        // given
+        int size = 2;
+        List<PostFeedDto> rows = List.of(createFeedRow(2L), createFeedRow(1L));
+        Slice<PostFeedDto> feedSlice = new SliceImpl<>(rows, PageRequest.of(0, size), false);
+
+        when(postRepository.findFeed(null, size)).thenReturn(feedSlice);
+        when(postLikeStore.getStates(1L, List.of(2L, 1L))).thenReturn(Map.of(2L, new PostLikeStore.LikeState(7, true)));
+        when(likedPostCache.getAll(1L, List.of(1L))).thenReturn(Map.of(1L, false));
+
+        // when
+        PostPageResponseDto response = postService.getPosts(null, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getLikeCount).containsExactly(7, 0);
+        assertThat(response.getPostList()).extracting(PostResponseDto::getIsLiked).containsExactly(true, false);
+        verify(postLikeRepository, never()).findLikedPostIds(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("게시글 ETag - 캐시된 상세가 없으면 null")
+    void getPostEtag_CacheMiss() {
+        // when
+        String etag = postService.getPostEtag(1L, 1L);
+
+        // then
+        assertThat(etag).isNull();
+        verifyNoInteractions(postVersionStore);
+    }
+
+    @Test
+    @DisplayName("게시글 ETag - 버전이 바뀌면 ETag 도 바뀜, 카운터 조회 없음")
+    void getPostEtag_ChangesWithVersion() {
+        // given
+        ReflectionTestUtils.setField(post, "updatedAt", new java.sql.Timestamp(1000L));
+        CachedPostDetail detail = CachedPostDetail.of(post, "테스트 내용", Collections.emptyList());
+
+        when(postDetailCache.get(1L)).thenReturn(Optional.of(detail));
+        when(postVersionStore.getVersion(1L)).thenReturn(Optional.of(10L), Optional.of(11L));
+
+        // when
+        String before = postService.getPostEtag(1L, 1L);
+        String after = postService.getPostEtag(1L, 1L);
+
+        // then
+        assertThat(before).isNotNull().isNotEqualTo(after);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("조회수 집계 - 304 응답에서도 버퍼에 적재, 게시글 조회 없음")
+    void countView() {
+        // when
+        postService.countView(1L);
+
+        // then
+        verify(viewCountService, times(1)).increment(1L);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("피드 ETag - 인덱스 페이지의 id, 버전, 사용자로 계산")
+    void getPostsEtag() {
+        // given
+        List<Long> ids = List.of(3L, 2L, 1L);
+        when(postFeedIndex.findPage(null, 3)).thenReturn(Optional.of(ids));
+        when(postVersionStore.getVersions(ids)).thenReturn(
+                Optional.of(Map.of(3L, 1L, 2L, 1L, 1L, 1L)),
+                Optional.of(Map.of(3L, 1L, 2L, 2L, 1L, 1L)));
+
+        // when
+        String etag = postService.getPostsEtag(null, 2, 1L);
+        String changed = postService.getPostsEtag(null, 2, 1L);
+
+        // then
+        assertThat(etag).startsWith("\"feed-").isNotEqualTo(changed);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("피드 ETag - 인덱스로 응답할 수 없는 페이지는 null")
+    void getPostsEtag_NotIndexed() {
+        // given
+        when(postFeedIndex.findPage(100L, 21)).thenReturn(Optional.empty());
+
+        // when
+        String etag = postService.getPostsEtag(100, 20, 1L);
+
+        // then
+        assertThat(etag).isNull();
+    }
+
+    @Test
+    @DisplayName("게시글 검색 - 검색 인덱스의 id 로 피드와 같은 페이지 구성")
+    void searchPosts() {
+        // given
+        int size = 1;
+        when(postSearchIndex.search(Set.of("게시", "시판"), null, size + 1)).thenReturn(List.of(5L, 3L));
+        when(postRepository.findFeedByIds(List.of(5L))).thenReturn(List.of(createFeedRow(5L)));
+        when(postRepository.findLiveByPostIdIn(List.of(5L))).thenReturn(List.of(createLive(5L, 0, 0, 0)));
+
+        // when
+        PostPageResponseDto response = postService.searchPosts("게시판", null, size, 1L);
+
+        // then
+        assertThat(response.getPostList()).extracting(PostResponseDto::getPostId).containsExactly(5L);
+        assertThat(response.getCursor().getNextCursor()).isEqualTo(5L);
+        assertThat(response.getCursor().isHasNext()).isTrue();
+    }
 }
@@ -1,19 +1,27 @@
 package com.ktb.ktb_community.service;
 
+import com.ktb.ktb_community.common.Security.PasswordHasher;
+import com.ktb.ktb_community.common.Security.RefreshTokenStore;
+import com.ktb.ktb_community.common.cache.PostVersionStore;
+import com.ktb.ktb_community.common.cache.UserNameFilter;
+import com.ktb.ktb_community.common.cache.UserNameFilter.Field;
 import com.ktb.ktb_community.dto.UserRequestDto;
 import com.ktb.ktb_community.entity.User;
 import com.ktb.ktb_community.exception.DuplicatedException;
+import com.ktb.ktb_community.repository.PostRepository;
 import com.ktb.ktb_community.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.security.Principal;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,7 +40,19 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserNameFilter userNameFilter;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostVersionStore postVersionStore;
 
     private UserRequestDto createUserRequestDto(String email, String nickname, String password, String imageUrl) {
         UserRequestDto requestDto = new UserRequestDto();
@@ -57,9 +77,10 @@ class UserServiceTest {
         ReflectionTestUtils.setField(user, "userId", 1L);
 
 
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByNickname(anyString())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(true);
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(userRepository.existsByNickname(anyString())).thenReturn(false);
+        when(passwordHasher.hash(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         // when
@@ -68,6 +89,7 @@ class UserServiceTest {
         // then
         assertThat(newUserId).isEqualTo(1L);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userNameFilter, times(1)).add("test@test.com", "testuser");
     }
 
     @Test
@@ -75,9 +97,8 @@ class UserServiceTest {
     void createUser_Fail_EmailDuplicated() {
         // given
         UserRequestDto requestDto = createUserRequestDto("test@test.com", "testuser", "password", null);
-        User existingUser = User.builder().email("test@test.com").password("p").nickname("n").build();
-
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(existingUser));
+        when(userNameFilter.mightContain(Field.EMAIL, "test@test.com")).thenReturn(true);
+        when(userRepository.existsByEmail("test@test.com")).thenReturn(true);
 
         // when & then
         assertThrows(DuplicatedException.class, () -> userService.createUser(requestDto));
@@ -89,10 +110,9 @@ class UserServiceTest {
     void createUser_Fail_NicknameDuplicated() {
         // given
         UserRequestDto requestDto = createUserRequestDto("test@test.com", "testuser", "password", null);
-        User existingUser = User.builder().email("exist@test.com").password("p").nickname("testuser").build();
-
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.empty());
-        when(userRepository.findByNickname("testuser")).thenReturn(Optional.of(existingUser));
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(true);
+        when(userRepository.existsByEmail("test@test.com")).thenReturn(false);
+        when(userRepository.existsByNickname("testuser")).thenReturn(true);
 
         // when & then
         assertThrows(DuplicatedException.class, () -> userService.createUser(requestDto));
@@ -100,7 +120,85 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("회원정보 수정 - 성공")
+    @DisplayName("회원가입 - 실패 (확인 이후 같은 이메일이 먼저 가입, unique 제약 위반)")
+    void createUser_Fail_UniqueViolation() {
+        // given
+        UserRequestDto requestDto = createUserRequestDto("test@test.com", "testuser", "password", null);
+
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(false);
+        when(passwordHasher.hash(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(violation("user.uk_user_email"));
+
+        // when & then
+        DuplicatedException exception = assertThrows(DuplicatedException.class, () -> userService.createUser(requestDto));
+        assertThat(exception.getField()).isEqualTo("email");
+        verify(userNameFilter, never()).add(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("회원가입 - 실패 (닉네임 unique 제약 위반은 오류 메시지에 이메일이 있어도 닉네임 중복)")
+    void createUser_Fail_NicknameUniqueViolation() {
+        // given
+        UserRequestDto requestDto = createUserRequestDto("test@test.com", "testuser", "password", null);
+
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(false);
+        when(passwordHasher.hash(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("Duplicate entry 'test@test.com' for key 'user.uk_user_nickname'",
+                        new SQLException(), "user.uk_user_nickname")));
+
+        // when & then
+        DuplicatedException exception = assertThrows(DuplicatedException.class, () -> userService.createUser(requestDto));
+        assertThat(exception.getField()).isEqualTo("nickname");
+    }
+
+    @Test
+    @DisplayName("회원가입 - 실패 (이메일, 닉네임 외 제약 위반은 그대로 전달)")
+    void createUser_Fail_OtherViolation() {
+        // given
+        UserRequestDto requestDto = createUserRequestDto("test@test.com", "testuser", "password", null);
+
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(false);
+        when(passwordHasher.hash(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(violation("user.ck_user_password"));
+
+        // when & then
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(requestDto));
+    }
+
+    private DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation", new SQLException(), constraintName));
+    }
+
+    @Test
+    @DisplayName("이메일 중복 확인 - Bloom filter 에 없으면 DB 조회 없이 사용 가능")
+    void checkEmail_FilterMiss_NoDbQuery() {
+        // given
+        when(userNameFilter.mightContain(Field.EMAIL, "new@test.com")).thenReturn(false);
+
+        // when
+        boolean usable = userService.checkEmail("new@test.com");
+
+        // then
+        assertThat(usable).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("닉네임 중복 확인 - Bloom filter 에 있을 수 있으면 exists 쿼리로 확인")
+    void checkNickname_FilterHit_ExistsQuery() {
+        // given
+        when(userNameFilter.mightContain(Field.NICKNAME, "testuser")).thenReturn(true);
+        when(userRepository.existsByNickname("testuser")).thenReturn(true);
+
+        // when & then
+        assertThrows(DuplicatedException.class, () -> userService.checkNickname("testuser"));
+        verify(userRepository, never()).findByNickname(anyString());
+    }
+
+    @Test
+    @DisplayName("회원정보 수정 - 성공, 작성한 게시글의 버전(ETag)도 변경")
     void updateUser_Success() {
         // given
         UserRequestDto requestDto = createUserRequestDto("new@test.com", "newuser", "password", "new_image_url");
@@ -108,26 +206,28 @@ class UserServiceTest {
         ReflectionTestUtils.setField(existingUser, "userId", 1L);
         User spyUser = spy(existingUser);
 
-        Principal principal = () -> "1";
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(spyUser));
-        when(userRepository.findByEmail("new@test.com")).thenReturn(Optional.empty());
-        when(userRepository.findByNickname("newuser")).thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class))).thenReturn(spyUser);
+        when(userNameFilter.mightContain(any(Field.class), anyString())).thenReturn(true);
+        when(userRepository.existsByEmailAndUserIdNot("new@test.com", 1L)).thenReturn(false);
+        when(userRepository.existsByNicknameAndUserIdNot("newuser", 1L)).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(spyUser);
+        when(postRepository.findPostIdsByUserId(1L)).thenReturn(List.of(10L, 11L));
 
         // when
-        userService.updateUser(requestDto, principal);
+        userService.updateUser(requestDto, 1L);
 
         // then
         verify(spyUser, times(1)).updateUser("new@test.com", "newuser", "new_image_url");
-        verify(userRepository, times(1)).save(spyUser);
+        verify(userRepository, times(1)).saveAndFlush(spyUser);
+        verify(userNameFilter, times(1)).add("new@test.com", "newuser");
+        verify(postVersionStore, times(1)).bumpAll(List.of(10L, 11L));
     }
 
     @Test
-    @DisplayName("회원 탈퇴(soft-delete) - 성공")
+    @DisplayName("회원 탈퇴(soft-delete) - 성공, 모든 세션 로그아웃")
     void deleteUser_Success() {
         // given
-        String userId = "1";
+        Long userId = 1L;
         User existingUser = User.builder().email("test@test.com").password("p").nickname("test").build();
         ReflectionTestUtils.setField(existingUser, "userId", 1L);
         User spyUser = spy(existingUser);
@@ -139,5 +239,6 @@ class UserServiceTest {
 
         // then
         verify(spyUser, times(1)).softDelete();
+        verify(refreshTokenStore, times(1)).revokeAllAfterCommit(userId);
     }
 }
@@ -0,0 +1,107 @@
+package com.ktb.ktb_community.service;
+
+import com.ktb.ktb_community.common.cache.PostTrendingIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountServiceTest {
+
+    @InjectMocks
+    private ViewCountService viewCountService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PostTrendingIndex postTrendingIndex;
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatchArgs() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("조회수 flush - 게시글별로 모아서 한 번의 batch UPDATE")
+    void flush_CoalescesIncrements() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            viewCountService.increment(1L);
+        }
+        viewCountService.increment(2L);
+
+        // when
+        viewCountService.flush();
+
+        // then
+        List<Object[]> args = captureBatchArgs();
+        assertThat(args).hasSize(2);
+        assertThat(args).anySatisfy(arg -> assertThat(arg).containsExactly(5L, 1L));
+        assertThat(args).anySatisfy(arg -> assertThat(arg).containsExactly(1L, 2L));
+        assertThat(viewCountService.getPendingCount(1L)).isZero();
+        verify(postTrendingIndex, times(1)).viewed(Map.of(1L, 5L, 2L, 1L));
+    }
+
+    @Test
+    @DisplayName("조회수 flush - 반영할 조회수가 없으면 UPDATE 하지 않음")
+    void flush_NothingPending() {
+        // when
+        viewCountService.flush();
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("조회수 flush - 실패한 증가분은 다음 flush 에서 재시도")
+    void flush_RetryOnFailure() {
+        // given
+        viewCountService.increment(1L);
+        viewCountService.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(new int[]{1});
+        viewCountService.flush();
+
+        // when
+        viewCountService.increment(1L);
+        viewCountService.flush();
+
+        // then
+        List<Object[]> args = captureBatchArgs();
+        assertThat(args).hasSize(1);
+        assertThat(args.get(0)).containsExactly(3L, 1L);
+        verify(postTrendingIndex, times(1)).viewed(Map.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("종료 시 버퍼에 남은 조회수 반영")
+    void flushOnShutdown() {
+        // given
+        viewCountService.increment(7L);
+
+        // when
+        viewCountService.flushOnShutdown();
+
+        // then
+        List<Object[]> args = captureBatchArgs();
+        assertThat(args.get(0)).containsExactly(1L, 7L);
+    }
+}